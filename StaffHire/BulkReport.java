@@ -0,0 +1,119 @@
+import java.util.ArrayList;                     // For the skip messages
+import java.util.List;                          // For List interface
+
+/**
+ * Report of a bulk change
+ * Counts the staff checked, matched by the filter, changed and skipped, and keeps
+ * the first MAX_MESSAGES reasons for skipping so a large change cannot use up memory
+ */
+public class BulkReport {
+    private static final int MAX_MESSAGES = 1000;   // Skip messages kept for the report
+
+    private final String action;            // What the change did, such as "Raise pay by 5%"
+    private int checked;                    // Staff checked against the filter
+    private int matched;                    // Staff the filter matched
+    private int changed;                    // Staff changed
+    private int skipped;                    // Matched staff the change could not be applied to
+    private boolean cancelled;              // true if the change was stopped early
+    private final List<String> messages = new ArrayList<>();  // First MAX_MESSAGES skip messages
+
+    /**
+     * Constructor - creates an empty report
+     *
+     * @param action What the change does, shown at the top of the report
+     */
+    public BulkReport(String action) {
+        this.action = action;
+    }
+
+    /**
+     * Counts staff checked against the filter
+     */
+    public synchronized void checked(int count) {
+        checked += count;
+    }
+
+    /**
+     * Counts a staff member the filter matched
+     */
+    public synchronized void matched() {
+        matched++;
+    }
+
+    /**
+     * Counts a staff member that was changed
+     */
+    public synchronized void changed() {
+        changed++;
+    }
+
+    /**
+     * Counts a matched staff member that was not changed and keeps the reason
+     *
+     * @param vacancyNumber The vacancy number of the staff member
+     * @param reason        Why the change could not be applied
+     */
+    public synchronized void skip(int vacancyNumber, String reason) {
+        skipped++;
+        if (messages.size() < MAX_MESSAGES) {
+            messages.add("Vacancy " + vacancyNumber + ": " + reason);
+        }
+    }
+
+    /**
+     * Marks the change as stopped early
+     */
+    public synchronized void cancelled() {
+        cancelled = true;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public synchronized int getChecked() {
+        return checked;
+    }
+
+    public synchronized int getMatched() {
+        return matched;
+    }
+
+    public synchronized int getChanged() {
+        return changed;
+    }
+
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Builds the text of the report
+     * Lists the kept skip messages after the counts
+     */
+    public synchronized String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(action).append('\n');
+        if (cancelled) {
+            summary.append("The change was cancelled, staff already changed keep the change.\n");
+        }
+        summary.append("Staff checked: ").append(checked).append('\n');
+        summary.append("Matched: ").append(matched).append('\n');
+        summary.append("Changed: ").append(changed).append('\n');
+        summary.append("Skipped: ").append(skipped).append('\n');
+        if (!messages.isEmpty()) {
+            summary.append('\n');
+            for (String message : messages) {
+                summary.append(message).append('\n');
+            }
+            if (skipped > messages.size()) {
+                summary.append("... and ").append(skipped - messages.size()).append(" more\n");
+            }
+        }
+        return summary.toString();
+    }
+}
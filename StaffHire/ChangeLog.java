@@ -0,0 +1,259 @@
+import java.time.Instant;                       // For entry timestamps
+import java.util.ArrayList;                     // For the batch of entries being written
+import java.util.List;                          // For List interface
+import java.util.concurrent.ArrayBlockingQueue; // For handing entries to the writer thread
+import java.util.concurrent.BlockingQueue;      // For BlockingQueue interface
+import java.util.concurrent.CountDownLatch;     // For waiting on flush()
+import java.util.concurrent.atomic.AtomicLong;  // For counting dropped entries
+
+/**
+ * Change log for staff setters
+ * Replaces the System.out.println in every setter. Each change is queued as an entry
+ * holding the event, vacancy number and new value, and a background thread writes the
+ * queued entries to System.out in batches. Nothing is built or queued for events below
+ * the current level, so with the level set to OFF a setter does no logging work at all.
+ * If the queue is full the entry is dropped instead of holding up the setter.
+ *
+ * The level is read from the recruitment.log property (off, warn or info, default info)
+ */
+public class ChangeLog {
+    /**
+     * How much is logged, from nothing to every change
+     */
+    public enum Level {
+        OFF,    // Nothing is logged
+        WARN,   // Only changes that were refused
+        INFO    // Every change
+    }
+
+    /**
+     * Events that setters and the service log, with the message shown for each
+     */
+    public enum Event {
+        VACANCY_NUMBER_CHANGED(Level.INFO, "Vacancy number has been changed to: "),
+        DESIGNATION_CHANGED(Level.INFO, "Designation has been changed to: "),
+        JOB_TYPE_CHANGED(Level.INFO, "Job type has been changed to: "),
+        STAFF_NAME_CHANGED(Level.INFO, "Staff name has been changed to: "),
+        JOINING_DATE_CHANGED(Level.INFO, "Join date has been changed to: "),
+        QUALIFICATION_CHANGED(Level.INFO, "Qualification has been changed to: "),
+        APPOINTED_BY_CHANGED(Level.INFO, "Appointed by has been changed to: "),
+        JOINED_CHANGED(Level.INFO, "Joined has been set to: "),
+        SALARY_CHANGED(Level.INFO, "Salary has been changed to: "),
+        WEEKLY_HOURS_CHANGED(Level.INFO, "Weekly fractional hours has been changed to: "),
+        WORKING_HOURS_CHANGED(Level.INFO, "Working hours have been changed to: "),
+        WAGES_CHANGED(Level.INFO, "Wages per hour have been changed to: "),
+        SHIFTS_CHANGED(Level.INFO, "Shifts have been changed to: "),
+        TERMINATED_CHANGED(Level.INFO, "Terminated has been changed to: "),
+        STAFF_TERMINATED(Level.INFO, "Staff has been terminated."),
+        SALARY_REFUSED(Level.WARN, "Cannot set salary as no staff is appointed yet."),
+        SHIFTS_REFUSED(Level.WARN, "Cannot change shifts as staff is not appointed or has been terminated."),
+        ALREADY_TERMINATED(Level.WARN, "Staff is already terminated."),
+        TOTALS_RECOUNTED(Level.WARN, "Staff totals were wrong and have been recounted: ");
+
+        final Level level;
+        final String message;
+
+        Event(Level level, String message) {
+            this.level = level;
+            this.message = message;
+        }
+    }
+
+    private static final int QUEUE_SIZE = 64 * 1024;   // Entries waiting to be written before new ones are dropped
+    private static final int BATCH_SIZE = 4096;        // Entries written together
+    private static final int NO_VACANCY = Integer.MIN_VALUE;  // Vacancy number of events about the whole staff list
+
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private static final AtomicLong dropped = new AtomicLong();  // Entries dropped because the queue was full
+    private static volatile Level level = parseLevel(System.getProperty("recruitment.log"));
+
+    // One queued change
+    private static class Entry {
+        final Event event;
+        final int vacancyNumber;
+        final Object value;         // New value, null for events without one
+        final long time;            // When the change was made, in milliseconds
+        final CountDownLatch flushed;  // Set for the marker queued by flush()
+
+        Entry(Event event, int vacancyNumber, Object value, CountDownLatch flushed) {
+            this.event = event;
+            this.vacancyNumber = vacancyNumber;
+            this.value = value;
+            this.time = System.currentTimeMillis();
+            this.flushed = flushed;
+        }
+    }
+
+    static {
+        Thread writer = new Thread(ChangeLog::writeEntries, "change-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ChangeLog::flush));  // Write what is left on exit
+    }
+
+    private ChangeLog() {
+    }
+
+    /**
+     * Sets how much is logged
+     */
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Checks whether events of the given level are logged
+     */
+    public static boolean isEnabled(Level eventLevel) {
+        return eventLevel != Level.OFF && eventLevel.compareTo(level) <= 0;
+    }
+
+    /**
+     * Logs an event that has no value
+     */
+    public static void log(Event event, int vacancyNumber) {
+        if (isEnabled(event.level)) {
+            enqueue(event, vacancyNumber, null);
+        }
+    }
+
+    /**
+     * Logs an event about the whole staff list rather than one staff member
+     */
+    public static void log(Event event, String value) {
+        if (isEnabled(event.level)) {
+            enqueue(event, NO_VACANCY, value);
+        }
+    }
+
+    /**
+     * Logs a change to a text value
+     */
+    public static void log(Event event, int vacancyNumber, String value) {
+        if (isEnabled(event.level)) {
+            enqueue(event, vacancyNumber, value);
+        }
+    }
+
+    /**
+     * Logs a change to a whole number value
+     */
+    public static void log(Event event, int vacancyNumber, int value) {
+        if (isEnabled(event.level)) {
+            enqueue(event, vacancyNumber, value);  // Only boxed once the level check has passed
+        }
+    }
+
+    /**
+     * Logs a change to a decimal value
+     */
+    public static void log(Event event, int vacancyNumber, double value) {
+        if (isEnabled(event.level)) {
+            enqueue(event, vacancyNumber, value);
+        }
+    }
+
+    /**
+     * Logs a change to a true/false value
+     */
+    public static void log(Event event, int vacancyNumber, boolean value) {
+        if (isEnabled(event.level)) {
+            enqueue(event, vacancyNumber, value);
+        }
+    }
+
+    /**
+     * Gets the number of entries dropped because the writer could not keep up
+     */
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Waits until every entry queued so far has been written
+     */
+    public static void flush() {
+        CountDownLatch flushed = new CountDownLatch(1);
+        try {
+            queue.put(new Entry(null, 0, null, flushed));
+            flushed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Queues an entry, dropping it if the queue is full
+    private static void enqueue(Event event, int vacancyNumber, Object value) {
+        if (!queue.offer(new Entry(event, vacancyNumber, value, null))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Runs on the writer thread, writing queued entries in batches
+    private static void writeEntries() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        StringBuilder text = new StringBuilder();
+        long droppedReported = 0;
+        while (true) {
+            try {
+                batch.add(queue.take());  // Wait for the next entry
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+
+            long droppedNow = dropped.get();
+            if (droppedNow != droppedReported) {
+                text.append("[WARN] ").append(droppedNow - droppedReported).append(" change log entries dropped")
+                    .append(System.lineSeparator());
+                droppedReported = droppedNow;
+            }
+            for (Entry entry : batch) {
+                if (entry.event != null) {
+                    appendEntry(text, entry);
+                }
+            }
+            if (text.length() > 0) {
+                System.out.print(text);  // One write for the whole batch
+                System.out.flush();
+                text.setLength(0);
+            }
+            for (Entry entry : batch) {
+                if (entry.flushed != null) {
+                    entry.flushed.countDown();
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    // Formats one entry as a line of text
+    private static void appendEntry(StringBuilder text, Entry entry) {
+        text.append('[').append(entry.event.level).append("] ")
+            .append(Instant.ofEpochMilli(entry.time));
+        if (entry.vacancyNumber != NO_VACANCY) {
+            text.append(" vacancy ").append(entry.vacancyNumber);
+        }
+        text.append(": ").append(entry.event.message);
+        if (entry.value != null) {
+            text.append(entry.value);
+        }
+        text.append(System.lineSeparator());
+    }
+
+    // Reads a level name, using INFO if it is missing or unknown
+    private static Level parseLevel(String name) {
+        if (name != null) {
+            for (Level candidate : Level.values()) {
+                if (candidate.name().equalsIgnoreCase(name.trim())) {
+                    return candidate;
+                }
+            }
+        }
+        return Level.INFO;
+    }
+}
@@ -0,0 +1,292 @@
+import java.nio.ByteBuffer;                     // For the off-heap string data
+import java.nio.charset.StandardCharsets;       // For encoding strings as UTF-8
+import java.util.AbstractList;                  // For exposing the store as a List
+import java.util.Arrays;                        // For growing the columns
+
+/**
+ * Columnar storage engine for staff records
+ * Keeps each staff field in its own primitive array (struct-of-arrays) and the
+ * staff names in an off-heap buffer, so a record costs a few dozen bytes and
+ * no objects for the garbage collector to trace. The other text fields repeat a
+ * few values, so only their FieldDictionary code is kept.
+ * It is exposed as a List of flyweight StaffHire views so RecruitmentSystem
+ * can use it in place of an ArrayList
+ */
+public class ColumnarStaffStore extends AbstractList<StaffHire> implements StaffRecordStore {
+    private static final int INITIAL_CAPACITY = 1024;        // Rows allocated up front
+    private static final int INITIAL_TEXT_BYTES = 64 * 1024;  // Off-heap string bytes allocated up front
+    private static final int NO_TEXT = -1;                    // Text offset for a null string
+    private static final int MAX_TEXT_BYTES = 0xFFFF;          // Longest string that fits the 2 byte length prefix
+
+    // Bits stored in the flags column
+    private static final byte FULL_TIME = 1;
+    private static final byte JOINED = 2;
+    private static final byte TERMINATED = 4;
+
+    private int size;                       // Number of records stored
+
+    // Primitive columns, one entry per row
+    private int[] vacancyNumbers;
+    private int[] joiningDays;              // Epoch days, JoiningDate.NO_DATE if there is none
+    private double[] salaries;
+    private int[] weeklyFractionalHours;
+    private int[] workingHours;
+    private double[] wagesPerHour;
+    private byte[] flags;
+
+    // Text slots, TEXT_FIELD_COUNT per row. The name slot points at a length-prefixed string in
+    // the text heap, the other slots hold FieldDictionary codes
+    private int[] textOffsets;
+    private ByteBuffer textHeap;            // Off-heap UTF-8 string data, appended to on every write
+
+    /**
+     * Constructor - creates an empty store
+     */
+    public ColumnarStaffStore() {
+        vacancyNumbers = new int[INITIAL_CAPACITY];
+        joiningDays = new int[INITIAL_CAPACITY];
+        salaries = new double[INITIAL_CAPACITY];
+        weeklyFractionalHours = new int[INITIAL_CAPACITY];
+        workingHours = new int[INITIAL_CAPACITY];
+        wagesPerHour = new double[INITIAL_CAPACITY];
+        flags = new byte[INITIAL_CAPACITY];
+        textOffsets = new int[INITIAL_CAPACITY * TEXT_FIELD_COUNT];
+        textHeap = ByteBuffer.allocateDirect(INITIAL_TEXT_BYTES);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a flyweight view of the record at the given row
+     * The view reads and writes the columns directly
+     */
+    @Override
+    public StaffHire get(int row) {
+        checkRow(row);
+        if (isFullTime(row)) {
+            return new FullTimeStaffView(this, row);
+        }
+        return new PartTimeStaffView(this, row);
+    }
+
+    /**
+     * Adds a staff member by copying its fields into the columns
+     */
+    @Override
+    public boolean add(StaffHire staff) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        vacancyNumbers[row] = staff.getVacancyNumber();
+        setText(row, DESIGNATION, staff.getDesignation());
+        setText(row, JOB_TYPE, staff.getJobType());
+        setText(row, STAFF_NAME, staff.getStaffName());
+        joiningDays[row] = staff.getJoiningDay();
+        setText(row, QUALIFICATION, staff.getQualification());
+        setText(row, APPOINTED_BY, staff.getAppointedBy());
+
+        byte rowFlags = staff.getJoined() ? JOINED : 0;
+        if (staff instanceof FullTimeStaffHire) {
+            FullTimeStaffHire fullTime = (FullTimeStaffHire) staff;
+            rowFlags |= FULL_TIME;
+            salaries[row] = fullTime.getSalary();
+            weeklyFractionalHours[row] = fullTime.getWeeklyFractionalHours();
+            textOffsets[row * TEXT_FIELD_COUNT + SHIFTS] = FieldDictionary.NULL_CODE;
+        } else {
+            PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+            if (partTime.getTerminated()) {
+                rowFlags |= TERMINATED;
+            }
+            workingHours[row] = partTime.getWorkingHour();
+            wagesPerHour[row] = partTime.getWagesPerHour();
+            setText(row, SHIFTS, partTime.getShifts());
+        }
+        flags[row] = rowFlags;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean isFullTime(int row) {
+        return (flags[row] & FULL_TIME) != 0;
+    }
+
+    @Override
+    public int getVacancyNumber(int row) {
+        return vacancyNumbers[row];
+    }
+
+    @Override
+    public void setVacancyNumber(int row, int vacancyNumber) {
+        vacancyNumbers[row] = vacancyNumber;
+    }
+
+    @Override
+    public int getJoiningDay(int row) {
+        return joiningDays[row];
+    }
+
+    @Override
+    public void setJoiningDay(int row, int joiningDay) {
+        joiningDays[row] = joiningDay;
+    }
+
+    /**
+     * Reads a text field from the dictionary, or for the name by decoding its bytes from the off-heap buffer
+     */
+    @Override
+    public String getText(int row, int field) {
+        int offset = textOffsets[row * TEXT_FIELD_COUNT + field];
+        if (field != STAFF_NAME) {
+            return FieldDictionary.decode(offset);
+        }
+        if (offset == NO_TEXT) {
+            return null;
+        }
+        int length = textHeap.getShort(offset) & MAX_TEXT_BYTES;  // Unsigned length prefix
+        byte[] bytes = new byte[length];
+        textHeap.get(offset + 2, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the dictionary code stored for a text field other than the name, without decoding it
+     */
+    @Override
+    public int getCode(int row, int field) {
+        if (field == STAFF_NAME) {
+            throw new IllegalArgumentException("Staff names are not dictionary encoded");
+        }
+        return textOffsets[row * TEXT_FIELD_COUNT + field];
+    }
+
+    /**
+     * Writes a text field as a dictionary code, or for the name by appending its bytes to the off-heap buffer
+     * The bytes of the old name are not reused
+     */
+    @Override
+    public void setText(int row, int field, String value) {
+        if (field != STAFF_NAME) {
+            textOffsets[row * TEXT_FIELD_COUNT + field] = FieldDictionary.encode(value);
+            return;
+        }
+        if (value == null) {
+            textOffsets[row * TEXT_FIELD_COUNT + field] = NO_TEXT;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("Text is longer than " + MAX_TEXT_BYTES + " bytes");
+        }
+        ensureTextCapacity(bytes.length + 2);
+        int offset = textHeap.position();
+        textHeap.putShort((short) bytes.length);
+        textHeap.put(bytes);
+        textOffsets[row * TEXT_FIELD_COUNT + field] = offset;
+    }
+
+    @Override
+    public boolean getJoined(int row) {
+        return (flags[row] & JOINED) != 0;
+    }
+
+    @Override
+    public void setJoined(int row, boolean joined) {
+        setFlag(row, JOINED, joined);
+    }
+
+    @Override
+    public double getSalary(int row) {
+        return salaries[row];
+    }
+
+    @Override
+    public void setSalary(int row, double salary) {
+        salaries[row] = salary;
+    }
+
+    @Override
+    public int getWeeklyFractionalHours(int row) {
+        return weeklyFractionalHours[row];
+    }
+
+    @Override
+    public void setWeeklyFractionalHours(int row, int hours) {
+        weeklyFractionalHours[row] = hours;
+    }
+
+    @Override
+    public int getWorkingHours(int row) {
+        return workingHours[row];
+    }
+
+    @Override
+    public void setWorkingHours(int row, int hours) {
+        workingHours[row] = hours;
+    }
+
+    @Override
+    public double getWagesPerHour(int row) {
+        return wagesPerHour[row];
+    }
+
+    @Override
+    public void setWagesPerHour(int row, double wages) {
+        wagesPerHour[row] = wages;
+    }
+
+    @Override
+    public boolean getTerminated(int row) {
+        return (flags[row] & TERMINATED) != 0;
+    }
+
+    @Override
+    public void setTerminated(int row, boolean terminated) {
+        setFlag(row, TERMINATED, terminated);
+    }
+
+    // Sets or clears one bit in the flags column
+    private void setFlag(int row, byte flag, boolean value) {
+        flags[row] = (byte) (value ? flags[row] | flag : flags[row] & ~flag);
+    }
+
+    // Throws if the row is outside the store
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside 0.." + (size - 1));
+        }
+    }
+
+    // Grows every column so at least the given number of rows fit
+    private void ensureCapacity(int rows) {
+        if (rows <= vacancyNumbers.length) {
+            return;
+        }
+        int capacity = Math.max(rows, vacancyNumbers.length * 2);
+        vacancyNumbers = Arrays.copyOf(vacancyNumbers, capacity);
+        joiningDays = Arrays.copyOf(joiningDays, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        weeklyFractionalHours = Arrays.copyOf(weeklyFractionalHours, capacity);
+        workingHours = Arrays.copyOf(workingHours, capacity);
+        wagesPerHour = Arrays.copyOf(wagesPerHour, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity * TEXT_FIELD_COUNT);
+    }
+
+    // Grows the off-heap buffer so the given number of bytes can be appended
+    private void ensureTextCapacity(int bytes) {
+        if (textHeap.remaining() >= bytes) {
+            return;
+        }
+        long capacity = Math.max((long) textHeap.capacity() * 2, (long) textHeap.position() + bytes);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Staff text data is larger than 2GB");
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+        textHeap.flip();
+        grown.put(textHeap);
+        textHeap = grown;
+    }
+}
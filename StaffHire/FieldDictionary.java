@@ -0,0 +1,70 @@
+import java.util.Arrays;                        // For growing the values array
+import java.util.concurrent.ConcurrentHashMap;  // For looking up codes without locking
+
+/**
+ * Shared dictionary for staff fields that repeat a few distinct values across
+ * the whole roster, such as job type, designation, qualification, appointed by and shifts
+ * Each distinct value is stored once and given a small int code, so staff keep
+ * the code instead of their own String copy, and two staff have the same value
+ * exactly when they have the same code.
+ * Thread-safe: looking up a known value or decoding a code takes no lock, and
+ * only adding a new value is synchronized. Codes are never removed, so the
+ * dictionary should not be used for fields like names that are mostly unique
+ */
+public class FieldDictionary {
+    /** Code for a null value */
+    public static final int NULL_CODE = -1;
+
+    private static final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();  // Value to code
+    private static volatile String[] values = new String[64];  // Code to value, published after each new value
+    private static int size;                                    // Codes given out, only changed while locked
+
+    private FieldDictionary() {
+        // Only static methods
+    }
+
+    /**
+     * Gets the code of a value, adding it to the dictionary if it is new
+     *
+     * @param value The field value, may be null
+     * @return      The value's code, or NULL_CODE for null
+     */
+    public static int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * Gets the value of a code
+     * Every staff member with the same value gets the same String object back
+     *
+     * @param code A code returned by encode
+     * @return     The value, or null for NULL_CODE
+     */
+    public static String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * Gets the number of distinct values in the dictionary
+     */
+    public static synchronized int size() {
+        return size;
+    }
+
+    // Adds a new value, unless another thread added it first
+    private static synchronized int add(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        String[] grown = size == values.length ? Arrays.copyOf(values, size * 2) : values;
+        grown[size] = value;
+        values = grown;  // Publish the new value before its code can be seen
+        codes.put(value, size);
+        return size++;
+    }
+}
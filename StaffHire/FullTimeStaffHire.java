@@ -1,10 +1,17 @@
+import java.io.IOException; //for errors writing rendered details
+
 //FullTimeStaffHire class which is the subclass of StaffHire it is used to distinguish a full time staff member
 public class FullTimeStaffHire extends StaffHire {  //extends StaffHire indiciates that this is a subclass
     
     private double salary;                          //stores the Staff's salary
     private int weeklyFractionalHours;              //stores the Staff's weekly fractional hours
     
-    //Constructor of the FullTimeStaffHire class taking parameters from the StaffHire class and its own two parameters
+    /**
+     * Constructor of the FullTimeStaffHire class taking parameters from the StaffHire class and its own two parameters
+     *
+     * @param joiningDate the joining date as dd/mm/yyyy, or null or "" for none
+     * @throws IllegalArgumentException if joiningDate is not a real dd/mm/yyyy date
+     */
     public FullTimeStaffHire(int vacancyNumber, String designation, String jobType, String staffName, String joiningDate, String qualification, String appointedBy, boolean joined,double salary, int weeklyFractionalHours) {
 
         super(vacancyNumber, designation, jobType, staffName, joiningDate, qualification, appointedBy, joined); //call to the parent class
@@ -21,9 +28,9 @@ public class FullTimeStaffHire extends StaffHire {  //extends StaffHire indiciat
     public void setSalary(double newSalary) {
         if (getJoined()) { //getJoined checks if staff has joined
             this.salary = newSalary; //sets to new salary after the check
-            System.out.println("Salary has been changed to: " + newSalary); //display information
+            ChangeLog.log(ChangeLog.Event.SALARY_CHANGED, getVacancyNumber(), newSalary); //logs the change
         } else {
-            System.out.println("Cannot set salary as no staff is appointed yet."); //shows error if staff hasn't joined
+            ChangeLog.log(ChangeLog.Event.SALARY_REFUSED, getVacancyNumber());     //logs the refusal if staff hasn't joined
         }
     }
     
@@ -33,19 +40,24 @@ public class FullTimeStaffHire extends StaffHire {  //extends StaffHire indiciat
     
     public void setWeeklyFractionalHours(int newWeeklyFractionalHours) {
         this.weeklyFractionalHours = newWeeklyFractionalHours;
-        System.out.println("Weekly fractional hours has been changed to: " + weeklyFractionalHours); //sets a new value for the weeklyFractionalHours attribute
+        ChangeLog.log(ChangeLog.Event.WEEKLY_HOURS_CHANGED, getVacancyNumber(), weeklyFractionalHours); //sets a new value for the weeklyFractionalHours attribute
     }
     
-    //Override display method to include salary and weekly hours
     @Override
-    public void display() {
-        // Call parent class display method first
-        super.display();
-        
-        // Then display this class's attributes
+    public String getStaffType() {
+        return "Full Time";
+    }
+
+    //Override renderFields to include salary and weekly hours
+    @Override
+    protected void renderFields(Appendable out, StaffFormat format) throws IOException {
+        // Render parent class fields first
+        super.renderFields(out, format);
+
+        // Then render this class's attributes
         if (getJoined()) {
-            System.out.println("Salary: " + salary);
-            System.out.println("Weekly Fractional Hours: " + weeklyFractionalHours);
+            format.number(out, "Salary", "salary", Double.toString(getSalary()));
+            format.number(out, "Weekly Fractional Hours", "weeklyFractionalHours", Integer.toString(getWeeklyFractionalHours()));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+import java.util.ArrayList;                     // For the error list
+import java.util.List;                          // For List interface
+
+/**
+ * Report of a bulk staff import
+ * Counts the rows read, imported and rejected, and keeps the first MAX_ERRORS
+ * error messages so a file full of bad rows cannot use up memory
+ */
+public class ImportReport {
+    private static final int MAX_ERRORS = 1000;   // Error messages kept for the report
+
+    private int rowsRead;                   // Data rows read from the file
+    private int imported;                   // Rows added to the staff list
+    private int rejected;                   // Rows rejected because of an error
+    private boolean cancelled;              // true if the import was stopped early
+    private final List<String> errors = new ArrayList<>();  // First MAX_ERRORS error messages
+
+    /**
+     * Counts a data row read from the file
+     */
+    public synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    /**
+     * Counts a row added to the staff list
+     */
+    public synchronized void rowImported() {
+        imported++;
+    }
+
+    /**
+     * Counts a rejected row and keeps its error message
+     *
+     * @param line    The line number of the row
+     * @param message Why the row was rejected
+     */
+    public synchronized void reject(int line, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Line " + line + ": " + message);
+        }
+    }
+
+    /**
+     * Marks the import as stopped early
+     */
+    public synchronized void cancelled() {
+        cancelled = true;
+    }
+
+    public synchronized int getRowsRead() {
+        return rowsRead;
+    }
+
+    public synchronized int getImported() {
+        return imported;
+    }
+
+    public synchronized int getRejected() {
+        return rejected;
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Builds the text of the report
+     * Lists the kept error messages after the counts
+     */
+    public synchronized String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        if (cancelled) {
+            summary.append("Import was cancelled.\n");
+        }
+        summary.append("Rows read: ").append(rowsRead).append('\n');
+        summary.append("Imported: ").append(imported).append('\n');
+        summary.append("Rejected: ").append(rejected).append('\n');
+        if (!errors.isEmpty()) {
+            summary.append('\n');
+            for (String error : errors) {
+                summary.append(error).append('\n');
+            }
+            if (rejected > errors.size()) {
+                summary.append("... and ").append(rejected - errors.size()).append(" more\n");
+            }
+        }
+        return summary.toString();
+    }
+}
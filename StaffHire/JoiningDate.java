@@ -0,0 +1,91 @@
+import java.time.DateTimeException;             // For dates that do not exist
+import java.time.LocalDate;                     // For converting between dates and epoch days
+
+/**
+ * Conversion between dd/mm/yyyy joining dates and epoch days
+ * Staff store their joining date as the number of days since 1970-01-01, so dates
+ * can be compared and indexed as plain ints without parsing text every time
+ */
+public class JoiningDate {
+    // Epoch day used when there is no joining date, for example after a staff member is terminated
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private JoiningDate() {
+        // Only static methods
+    }
+
+    /**
+     * Converts a dd/mm/yyyy date to an epoch day
+     *
+     * @param text The date, or null or "" for no date
+     * @return     The epoch day, or NO_DATE if text is null or empty
+     * @throws IllegalArgumentException If text is not a real dd/mm/yyyy date
+     */
+    public static int parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return NO_DATE;
+        }
+        if (text.length() != 10 || text.charAt(2) != '/' || text.charAt(5) != '/') {
+            throw new IllegalArgumentException("Joining date must be a dd/mm/yyyy date: " + text);
+        }
+        int day = digits(text, 0, 2);
+        int month = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        if (day < 0 || month < 0 || year < 0) {
+            throw new IllegalArgumentException("Joining date must be a dd/mm/yyyy date: " + text);
+        }
+        try {
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Joining date does not exist: " + text);
+        }
+    }
+
+    /**
+     * Converts an epoch day to a dd/mm/yyyy date
+     *
+     * @param epochDay The epoch day, or NO_DATE
+     * @return         The date, or "" for NO_DATE
+     */
+    public static String format(int epochDay) {
+        if (epochDay == NO_DATE) {
+            return "";
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        char[] text = new char[10];
+        putDigits(text, 0, 2, date.getDayOfMonth());
+        text[2] = '/';
+        putDigits(text, 3, 5, date.getMonthValue());
+        text[5] = '/';
+        putDigits(text, 6, 10, date.getYear());
+        return new String(text);
+    }
+
+    /**
+     * Converts a LocalDate to an epoch day
+     */
+    public static int of(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    // Reads the digits between start and end as a number, or -1 if any is not a digit
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // Writes value as zero-padded digits between start and end
+    private static void putDigits(char[] text, int start, int end, int value) {
+        for (int i = end - 1; i >= start; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
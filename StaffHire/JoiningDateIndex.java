@@ -0,0 +1,78 @@
+import java.util.NavigableSet;                  // For range views of the index
+import java.util.TreeSet;                       // For the sorted index
+
+/**
+ * Sorted index of staff positions by joining date
+ * Each entry packs the epoch day into the high 32 bits and the position in the
+ * staff list into the low 32 bits, so entries sort by date and then by position
+ * and a date range is one subSet of the tree: O(log n) to find plus O(k) to read.
+ * Staff without a joining date are not indexed. Not thread-safe, the service locks around it
+ */
+public class JoiningDateIndex {
+    private final TreeSet<Long> entries = new TreeSet<>();
+
+    /**
+     * Adds a staff member to the index
+     *
+     * @param joiningDay The staff member's epoch day, ignored if JoiningDate.NO_DATE
+     * @param position   The staff member's position in the staff list
+     */
+    public void add(int joiningDay, int position) {
+        if (joiningDay != JoiningDate.NO_DATE) {
+            entries.add(key(joiningDay, position));
+        }
+    }
+
+    /**
+     * Removes a staff member from the index
+     */
+    public void remove(int joiningDay, int position) {
+        if (joiningDay != JoiningDate.NO_DATE) {
+            entries.remove(key(joiningDay, position));
+        }
+    }
+
+    /**
+     * Gets the positions of staff joining between two dates, inclusive, in date order
+     *
+     * @param fromDay First epoch day to include
+     * @param toDay   Last epoch day to include
+     * @return        The positions in the staff list
+     */
+    public int[] positionsBetween(int fromDay, int toDay) {
+        NavigableSet<Long> range = range(fromDay, toDay);
+        int[] positions = new int[range.size()];
+        int i = 0;
+        for (long entry : range) {
+            positions[i++] = (int) entry;  // Low 32 bits
+        }
+        return positions;
+    }
+
+    /**
+     * Counts the staff joining between two dates, inclusive
+     */
+    public int countBetween(int fromDay, int toDay) {
+        return range(fromDay, toDay).size();
+    }
+
+    /**
+     * Gets the number of staff in the index
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    // Gets the part of the index between two epoch days, inclusive
+    private NavigableSet<Long> range(int fromDay, int toDay) {
+        if (fromDay > toDay) {
+            return new TreeSet<>();
+        }
+        return entries.subSet(key(fromDay, 0), true, key(toDay, -1), true);  // -1 is the largest unsigned position
+    }
+
+    // Packs a day and position into one sortable key, positions compared as unsigned
+    private static long key(int joiningDay, int position) {
+        return ((long) joiningDay << 32) | (position & 0xFFFFFFFFL);
+    }
+}
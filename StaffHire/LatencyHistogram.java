@@ -0,0 +1,144 @@
+import java.util.concurrent.atomic.AtomicLong;       // For the largest latency
+import java.util.concurrent.atomic.AtomicLongArray;  // For the bucket counts
+
+/**
+ * Lock-free histogram of operation latencies in nanoseconds
+ * Latencies below 32ns get a bucket each, and each power of two above that is
+ * split into 32 buckets, so a percentile is within about 3% of the true value
+ * whatever its size. Recording is one atomic increment plus a compare-and-set
+ * only when a new largest latency is seen, so it can stay on the hot paths.
+ * Latencies of 2^40ns (about 18 minutes) and over share the last bucket.
+ * Thread-safe
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;                         // 32 buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final long MAX_TRACKED = (1L << 40) - 1;        // Larger latencies are counted as this
+    private static final int BUCKETS = (40 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    // Count and time of the last summary, for the rate since then. Only read and written by summary()
+    private long lastCount;
+    private long lastSummaryNanos = System.nanoTime();
+
+    /**
+     * Records one operation
+     *
+     * @param nanos How long it took, from System.nanoTime
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKED);
+        counts.incrementAndGet(bucket(value));
+        long largest = max.get();
+        while (value > largest && !max.compareAndSet(largest, value)) {
+            largest = max.get();  // Another thread recorded a larger one meanwhile
+        }
+    }
+
+    /**
+     * Counts the operations recorded
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the latency a fraction of operations were at or under, such as 0.99 for p99
+     *
+     * @return The latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long percentile(double fraction) {
+        return Math.min(percentile(copyCounts(), fraction), max.get());
+    }
+
+    /**
+     * Gets the largest latency recorded, in nanoseconds
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Summarises the latencies recorded so far, with the rate since the last summary
+     */
+    public synchronized LatencySummary summary() {
+        long[] copy = copyCounts();
+        long count = 0;
+        for (long bucketCount : copy) {
+            count += bucketCount;
+        }
+        long now = System.nanoTime();
+        double opsPerSecond = now == lastSummaryNanos ? 0 : (count - lastCount) * 1e9 / (now - lastSummaryNanos);
+        lastCount = count;
+        lastSummaryNanos = now;
+        long largest = max.get();  // A bucket's highest latency may be above any recorded
+        return new LatencySummary(count, opsPerSecond, Math.min(percentile(copy, 0.5), largest),
+            Math.min(percentile(copy, 0.99), largest), largest);
+    }
+
+    /**
+     * Forgets every latency recorded
+     * Operations recorded at the same time may be kept or lost
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        max.set(0);
+        lastCount = 0;
+        lastSummaryNanos = System.nanoTime();
+    }
+
+    // Reads every bucket, so a summary's count and percentiles agree
+    private long[] copyCounts() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    private static long percentile(long[] copy, double fraction) {
+        long count = 0;
+        for (long bucketCount : copy) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * fraction));  // The operation the percentile falls on
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += copy[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return MAX_TRACKED;
+    }
+
+    // Finds the bucket of a latency, 0 to MAX_TRACKED
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;  // Bits below the 32 buckets of its power of two
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    // Gets the largest latency that falls in a bucket
+    private static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Summary of one operation's latencies, shown as a composite attribute in JConsole
+ * Latencies are in microseconds, which reads more easily there than nanoseconds
+ */
+public class LatencySummary {
+    private final long count;             // Operations recorded
+    private final double opsPerSecond;    // Operations per second since the previous summary
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    /**
+     * Constructor - creates a summary
+     */
+    public LatencySummary(long count, double opsPerSecond, long p50Nanos, long p99Nanos, long maxNanos) {
+        this.count = count;
+        this.opsPerSecond = opsPerSecond;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getOpsPerSecond() {
+        return opsPerSecond;
+    }
+
+    public double getP50Micros() {
+        return p50Nanos / 1000.0;
+    }
+
+    public double getP99Micros() {
+        return p99Nanos / 1000.0;
+    }
+
+    public double getMaxMicros() {
+        return maxNanos / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count %d, %.1f ops/s, p50 %.1fus, p99 %.1fus, max %.1fus", count, opsPerSecond,
+            getP50Micros(), getP99Micros(), getMaxMicros());
+    }
+}
@@ -0,0 +1,384 @@
+import java.io.Closeable;                       // For closing the mapped files
+import java.io.IOException;                     // For file errors
+import java.nio.MappedByteBuffer;               // For the memory-mapped files
+import java.nio.channels.FileChannel;           // For mapping the files
+import java.nio.charset.StandardCharsets;       // For encoding strings as UTF-8
+import java.nio.file.Files;                     // For file operations
+import java.nio.file.Path;                      // For file paths
+import java.nio.file.StandardOpenOption;        // For opening the files
+import java.util.AbstractList;                  // For exposing the file as a List
+import java.util.HashMap;                       // For the strings already written
+import java.util.Map;                           // For Map interface
+import java.util.concurrent.ConcurrentHashMap;  // For the dictionary codes of strings read without locking
+
+/**
+ * Staff storage engine backed by memory-mapped files
+ * Each staff record is a fixed-width slot in a records file, and the strings are
+ * kept in a separate strings file that is only ever appended to. Opening a file
+ * only reads its header, and StaffHire views are built when a row is looked up,
+ * so even a file with millions of records opens straight away.
+ * Changes made through the views are written into the mapped slot in place.
+ * The fields other than the name repeat a few values, so each value is written
+ * once and slots share it, and its FieldDictionary code is looked up once per
+ * string and then kept, so reading a code does not decode the string again
+ */
+public class MappedStaffFile extends AbstractList<StaffHire> implements StaffRecordStore, Closeable {
+    private static final int RECORDS_MAGIC = 0x53545246;   // "STRF" at the start of the records file
+    private static final int STRINGS_MAGIC = 0x53545253;   // "STRS" at the start of the strings file
+    private static final int VERSION = 2;                  // File format version, 2 stores the joining date as an epoch day
+    private static final int HEADER_SIZE = 16;             // Bytes before the first slot or string
+    private static final int INITIAL_RECORDS = 1024;       // Slots mapped when a file is created
+    private static final int INITIAL_STRING_BYTES = 64 * 1024;  // String bytes mapped when a file is created
+    private static final int NO_TEXT = -1;                 // Text offset for a null string
+    private static final int MAX_TEXT_BYTES = 0xFFFF;      // Longest string that fits the 2 byte length prefix
+
+    // Layout of one record slot
+    private static final int RECORD_SIZE = 64;
+    private static final int VACANCY_NUMBER = 0;           // int
+    private static final int FLAGS = 4;                    // byte
+    private static final int SALARY = 8;                   // double
+    private static final int WEEKLY_FRACTIONAL_HOURS = 16; // int
+    private static final int WORKING_HOURS = 20;           // int
+    private static final int WAGES_PER_HOUR = 24;          // double
+    private static final int TEXT_OFFSETS = 32;            // TEXT_FIELD_COUNT ints into the strings file
+    private static final int JOINING_DAY = 56;             // int epoch day
+
+    // Bits stored in the flags byte
+    private static final byte FULL_TIME = 1;
+    private static final byte JOINED = 2;
+    private static final byte TERMINATED = 4;
+
+    // Header fields, the same positions in both files
+    private static final int HEADER_COUNT = 8;             // Records file: number of records
+    private static final int HEADER_USED = 8;              // Strings file: bytes used including the header
+
+    private final FileChannel recordsChannel;
+    private final FileChannel stringsChannel;
+    private MappedByteBuffer records;       // Mapped records file
+    private volatile MappedByteBuffer strings;  // Mapped strings file, replaced when it grows
+    private int size;                       // Number of records
+    private int stringsUsed;                // Bytes used in the strings file
+    private final Map<String, Integer> offsetsByValue = new HashMap<>();  // Strings written for fields other than the name, only used in setText
+    private final Map<Integer, Integer> codesByOffset = new ConcurrentHashMap<>();  // FieldDictionary codes of strings read or written
+
+    /**
+     * Constructor - opens the records and strings files, creating them if needed
+     *
+     * @param recordsFile The file holding the fixed-width record slots
+     * @param stringsFile The file holding the string data
+     * @throws IOException If the files cannot be opened or are not staff files
+     */
+    public MappedStaffFile(Path recordsFile, Path stringsFile) throws IOException {
+        boolean create = !Files.exists(recordsFile);
+        recordsChannel = FileChannel.open(recordsFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        stringsChannel = FileChannel.open(stringsFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (create) {
+            records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) INITIAL_RECORDS * RECORD_SIZE);
+            records.putInt(0, RECORDS_MAGIC);
+            records.putInt(4, VERSION);
+            records.putInt(HEADER_COUNT, 0);
+            strings = stringsChannel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_STRING_BYTES);
+            strings.putInt(0, STRINGS_MAGIC);
+            strings.putInt(4, VERSION);
+            strings.putInt(HEADER_USED, HEADER_SIZE);
+        } else {
+            records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0, recordsChannel.size());
+            strings = stringsChannel.map(FileChannel.MapMode.READ_WRITE, 0, stringsChannel.size());
+            if (records.getInt(0) != RECORDS_MAGIC || strings.getInt(0) != STRINGS_MAGIC
+                || records.getInt(4) != VERSION || strings.getInt(4) != VERSION) {
+                close();
+                throw new IOException("Not a staff records file: " + recordsFile);
+            }
+        }
+        size = records.getInt(HEADER_COUNT);
+        stringsUsed = strings.getInt(HEADER_USED);
+    }
+
+    /**
+     * Opens the mapped staff files in the given directory
+     *
+     * @param directory The directory holding staff.records and staff.strings
+     * @return          The opened file
+     * @throws IOException If the files cannot be opened
+     */
+    public static MappedStaffFile open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new MappedStaffFile(directory.resolve("staff.records"), directory.resolve("staff.strings"));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a view of the record at the given row
+     * Nothing is read from the slot until a getter is called
+     */
+    @Override
+    public StaffHire get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside 0.." + (size - 1));
+        }
+        if (isFullTime(row)) {
+            return new FullTimeStaffView(this, row);
+        }
+        return new PartTimeStaffView(this, row);
+    }
+
+    /**
+     * Adds a staff member by writing its fields into the next slot
+     */
+    @Override
+    public boolean add(StaffHire staff) {
+        ensureRecordCapacity(size + 1);
+        int row = size;
+        int slot = slot(row);
+        records.putInt(slot + VACANCY_NUMBER, staff.getVacancyNumber());
+        setText(row, DESIGNATION, staff.getDesignation());
+        setText(row, JOB_TYPE, staff.getJobType());
+        setText(row, STAFF_NAME, staff.getStaffName());
+        records.putInt(slot + JOINING_DAY, staff.getJoiningDay());
+        setText(row, QUALIFICATION, staff.getQualification());
+        setText(row, APPOINTED_BY, staff.getAppointedBy());
+
+        byte flags = staff.getJoined() ? JOINED : 0;
+        if (staff instanceof FullTimeStaffHire) {
+            FullTimeStaffHire fullTime = (FullTimeStaffHire) staff;
+            flags |= FULL_TIME;
+            records.putDouble(slot + SALARY, fullTime.getSalary());
+            records.putInt(slot + WEEKLY_FRACTIONAL_HOURS, fullTime.getWeeklyFractionalHours());
+            records.putInt(slot + TEXT_OFFSETS + SHIFTS * 4, NO_TEXT);
+        } else {
+            PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+            if (partTime.getTerminated()) {
+                flags |= TERMINATED;
+            }
+            records.putInt(slot + WORKING_HOURS, partTime.getWorkingHour());
+            records.putDouble(slot + WAGES_PER_HOUR, partTime.getWagesPerHour());
+            setText(row, SHIFTS, partTime.getShifts());
+        }
+        records.put(slot + FLAGS, flags);
+
+        size++;
+        records.putInt(HEADER_COUNT, size);  // Written last so a half-written slot is never counted
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean isFullTime(int row) {
+        return (records.get(slot(row) + FLAGS) & FULL_TIME) != 0;
+    }
+
+    @Override
+    public int getVacancyNumber(int row) {
+        return records.getInt(slot(row) + VACANCY_NUMBER);
+    }
+
+    @Override
+    public void setVacancyNumber(int row, int vacancyNumber) {
+        records.putInt(slot(row) + VACANCY_NUMBER, vacancyNumber);
+    }
+
+    @Override
+    public int getJoiningDay(int row) {
+        return records.getInt(slot(row) + JOINING_DAY);
+    }
+
+    @Override
+    public void setJoiningDay(int row, int joiningDay) {
+        records.putInt(slot(row) + JOINING_DAY, joiningDay);
+    }
+
+    /**
+     * Reads a text field from the strings file
+     */
+    @Override
+    public String getText(int row, int field) {
+        return readText(records.getInt(slot(row) + TEXT_OFFSETS + field * 4));
+    }
+
+    /**
+     * Gets the FieldDictionary code of a text field other than the name
+     * The string is only decoded the first time its code is needed
+     */
+    @Override
+    public int getCode(int row, int field) {
+        if (field == STAFF_NAME) {
+            throw new IllegalArgumentException("Staff names are not dictionary encoded");
+        }
+        int offset = records.getInt(slot(row) + TEXT_OFFSETS + field * 4);
+        if (offset == NO_TEXT) {
+            return FieldDictionary.NULL_CODE;
+        }
+        Integer code = codesByOffset.get(offset);
+        if (code == null) {
+            code = FieldDictionary.encode(readText(offset));
+            codesByOffset.put(offset, code);
+        }
+        return code;
+    }
+
+    /**
+     * Writes a text field by pointing the slot at its string in the strings file
+     * Names are appended every time and the bytes of the old name are not reused.
+     * Other fields reuse the string if this file has written the value before.
+     * Synchronized as shift changes to different staff can append at the same time
+     */
+    @Override
+    public synchronized void setText(int row, int field, String value) {
+        int offset = NO_TEXT;
+        Integer written = value == null || field == STAFF_NAME ? null : offsetsByValue.get(value);
+        if (written != null) {
+            offset = written;
+        } else if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_TEXT_BYTES) {
+                throw new IllegalArgumentException("Text is longer than " + MAX_TEXT_BYTES + " bytes");
+            }
+            ensureStringCapacity(bytes.length + 2);
+            offset = stringsUsed;
+            strings.putShort(offset, (short) bytes.length);
+            strings.put(offset + 2, bytes);
+            stringsUsed += bytes.length + 2;
+            strings.putInt(HEADER_USED, stringsUsed);
+            if (field != STAFF_NAME) {
+                offsetsByValue.put(value, offset);
+                codesByOffset.put(offset, FieldDictionary.encode(value));
+            }
+        }
+        records.putInt(slot(row) + TEXT_OFFSETS + field * 4, offset);
+    }
+
+    @Override
+    public boolean getJoined(int row) {
+        return (records.get(slot(row) + FLAGS) & JOINED) != 0;
+    }
+
+    @Override
+    public void setJoined(int row, boolean joined) {
+        setFlag(row, JOINED, joined);
+    }
+
+    @Override
+    public double getSalary(int row) {
+        return records.getDouble(slot(row) + SALARY);
+    }
+
+    @Override
+    public void setSalary(int row, double salary) {
+        records.putDouble(slot(row) + SALARY, salary);
+    }
+
+    @Override
+    public int getWeeklyFractionalHours(int row) {
+        return records.getInt(slot(row) + WEEKLY_FRACTIONAL_HOURS);
+    }
+
+    @Override
+    public void setWeeklyFractionalHours(int row, int hours) {
+        records.putInt(slot(row) + WEEKLY_FRACTIONAL_HOURS, hours);
+    }
+
+    @Override
+    public int getWorkingHours(int row) {
+        return records.getInt(slot(row) + WORKING_HOURS);
+    }
+
+    @Override
+    public void setWorkingHours(int row, int hours) {
+        records.putInt(slot(row) + WORKING_HOURS, hours);
+    }
+
+    @Override
+    public double getWagesPerHour(int row) {
+        return records.getDouble(slot(row) + WAGES_PER_HOUR);
+    }
+
+    @Override
+    public void setWagesPerHour(int row, double wages) {
+        records.putDouble(slot(row) + WAGES_PER_HOUR, wages);
+    }
+
+    @Override
+    public boolean getTerminated(int row) {
+        return (records.get(slot(row) + FLAGS) & TERMINATED) != 0;
+    }
+
+    @Override
+    public void setTerminated(int row, boolean terminated) {
+        setFlag(row, TERMINATED, terminated);
+    }
+
+    /**
+     * Writes all changes to disk and closes the files
+     */
+    @Override
+    public void close() throws IOException {
+        if (recordsChannel.isOpen()) {
+            if (records != null) {
+                records.force();
+            }
+            if (strings != null) {
+                strings.force();
+            }
+        }
+        recordsChannel.close();
+        stringsChannel.close();
+    }
+
+    // Reads the length-prefixed string at an offset in the strings file
+    private String readText(int offset) {
+        if (offset == NO_TEXT) {
+            return null;
+        }
+        int length = strings.getShort(offset) & MAX_TEXT_BYTES;  // Unsigned length prefix
+        byte[] bytes = new byte[length];
+        strings.get(offset + 2, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Position of a record slot in the records file
+    private static int slot(int row) {
+        return HEADER_SIZE + row * RECORD_SIZE;
+    }
+
+    // Sets or clears one bit in a record's flags byte
+    private void setFlag(int row, byte flag, boolean value) {
+        int position = slot(row) + FLAGS;
+        byte flags = records.get(position);
+        records.put(position, (byte) (value ? flags | flag : flags & ~flag));
+    }
+
+    // Maps a larger region of the records file when it is full
+    private void ensureRecordCapacity(int rows) {
+        long needed = HEADER_SIZE + (long) rows * RECORD_SIZE;
+        if (needed <= records.capacity()) {
+            return;
+        }
+        records = remap(recordsChannel, Math.max(needed, (long) records.capacity() * 2));
+    }
+
+    // Maps a larger region of the strings file when it is full
+    private void ensureStringCapacity(int bytes) {
+        long needed = (long) stringsUsed + bytes;
+        if (needed <= strings.capacity()) {
+            return;
+        }
+        strings = remap(stringsChannel, Math.max(needed, (long) strings.capacity() * 2));
+    }
+
+    // Grows a file by mapping a larger region of it
+    private static MappedByteBuffer remap(FileChannel channel, long capacity) {
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Staff file is larger than 2GB");
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Staff file could not be grown", e);
+        }
+    }
+}
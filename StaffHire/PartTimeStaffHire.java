@@ -1,19 +1,26 @@
+import java.io.IOException; //for errors writing rendered details
+
 ///PartTimeStaffHire class which is the subclass of StaffHire it is used to distinguish a part time staff member
 public class PartTimeStaffHire extends StaffHire {
     
     private int workingHours;//Stores the staff member's working hours
     private double wagesPerHour;//Stores the staff member's wager
-    private String shifts;//Stores the staff member's shifts
+    private int shiftsCode;//Stores the staff member's shifts as a FieldDictionary code
     private boolean terminated;//Stores if staff is terminated
     
     
-    //Constructor for PartTimeStaffHire
+    /**
+     * Constructor for PartTimeStaffHire
+     *
+     * @param joiningDate the joining date as dd/mm/yyyy, or null or "" for none
+     * @throws IllegalArgumentException if joiningDate is not a real dd/mm/yyyy date
+     */
     public PartTimeStaffHire(int vacancyNumber, String designation, String jobType, String staffName, String joiningDate, String qualification, String appointedBy, boolean joined,int workingHour, double wagesPerHour, String shifts) {
         // Call superclass constructor
         super(vacancyNumber, designation, jobType, staffName, joiningDate, qualification, appointedBy, joined);
-        this.workingHours = workingHours; // sets to user input
+        this.workingHours = workingHour; // sets to user input
         this.wagesPerHour = wagesPerHour; // sets to user input
-        this.shifts = shifts; // sets to user input
+        this.shiftsCode = FieldDictionary.encode(shifts); // sets to user input
         this.terminated = false; // Initially not terminated
     }
     
@@ -24,7 +31,7 @@ public class PartTimeStaffHire extends StaffHire {
     
     public void setWorkingHour(int workingHours) {
         this.workingHours = workingHours;
-        System.out.println("Working hours have been changed to: " + workingHours);
+        ChangeLog.log(ChangeLog.Event.WORKING_HOURS_CHANGED, getVacancyNumber(), workingHours);
     }
     
     public double getWagesPerHour() {
@@ -33,21 +40,26 @@ public class PartTimeStaffHire extends StaffHire {
     
     public void setWagesPerHour(double wagesPerHour) {
         this.wagesPerHour = wagesPerHour;
-        System.out.println("Wages per hour have been changed to: " + wagesPerHour);
+        ChangeLog.log(ChangeLog.Event.WAGES_CHANGED, getVacancyNumber(), wagesPerHour);
     }
     
     public String getShifts() {
-        return shifts;
+        return FieldDictionary.decode(getShiftsCode());
+    }
+
+    //Equal codes mean equal shifts
+    public int getShiftsCode() {
+        return shiftsCode;
     }
     
   
     //Set shifts method - only works if staff has joined and hasn't been terminated
     public void setShifts(String newShifts) {
         if (getJoined() && !terminated) { //if joined = true && terminated = false
-            this.shifts = newShifts;
-            System.out.println("Shifts have been changed to: " + newShifts);
+            this.shiftsCode = FieldDictionary.encode(newShifts);
+            ChangeLog.log(ChangeLog.Event.SHIFTS_CHANGED, getVacancyNumber(), newShifts);
         } else {
-            System.out.println("Cannot change shifts as staff is not appointed or has been terminated.");
+            ChangeLog.log(ChangeLog.Event.SHIFTS_REFUSED, getVacancyNumber());
         }
     }
     
@@ -57,13 +69,13 @@ public class PartTimeStaffHire extends StaffHire {
     
     public void setTerminated(boolean terminated) {
         this.terminated = terminated;
-        System.out.println("Terminated has been changed to: " + terminated);
+        ChangeLog.log(ChangeLog.Event.TERMINATED_CHANGED, getVacancyNumber(), terminated);
     }
     
     //This checks if the staff is terminated, if yes then no action is taken aside from an error message, otherwise it blanks all the information about the staff
     public void terminateStaff() {
         if (terminated) {
-            System.out.println("Staff is already terminated.");
+            ChangeLog.log(ChangeLog.Event.ALREADY_TERMINATED, getVacancyNumber());
         } else {
             setStaffName("");
             setJoiningDate("");
@@ -71,24 +83,29 @@ public class PartTimeStaffHire extends StaffHire {
             setAppointedBy("");
             setJoined(false);
             this.terminated = true;
-            System.out.println("Staff has been terminated.");
+            ChangeLog.log(ChangeLog.Event.STAFF_TERMINATED, getVacancyNumber());
         }
     }
     
 
-    //Override display method to include part-time specific attributes
     @Override
-    public void display() {
-        // Call parent class display method first
-        super.display();
-        
-        // Then display this class's attributes
-        if (getJoined() && !terminated) {
-            System.out.println("Working Hours: " + workingHours);
-            System.out.println("Wages Per Hour: " + wagesPerHour);
-            System.out.println("Shifts: " + shifts);
-            System.out.println("Income Per Day: " + (workingHours * wagesPerHour));
+    public String getStaffType() {
+        return "Part Time";
+    }
+
+    //Override renderFields to include part-time specific attributes
+    @Override
+    protected void renderFields(Appendable out, StaffFormat format) throws IOException {
+        // Render parent class fields first
+        super.renderFields(out, format);
+
+        // Then render this class's attributes
+        if (getJoined() && !getTerminated()) {
+            format.number(out, "Working Hours", "workingHours", Integer.toString(getWorkingHour()));
+            format.number(out, "Wages Per Hour", "wagesPerHour", Double.toString(getWagesPerHour()));
+            format.text(out, "Shifts", "shifts", getShifts());
+            format.number(out, "Income Per Day", "incomePerDay", Double.toString(getWorkingHour() * getWagesPerHour()));
         }
-        System.out.println("Terminated: " + (terminated ? "Yes" : "No"));
+        format.flag(out, "Terminated", "terminated", getTerminated());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+/**
+ * Flyweight view of a part-time staff record held in a StaffRecordStore
+ * Every getter and setter reads or writes the store directly, so the view
+ * holds no staff data of its own and can be thrown away after use
+ */
+public class PartTimeStaffView extends PartTimeStaffHire {
+    private final StaffRecordStore store;   // Store holding the record
+    private final int row;                  // Row of the record in the store
+
+    /**
+     * Constructor - creates a view of the record at the given row
+     *
+     * @param store The store holding the record
+     * @param row   The row of the record in the store
+     */
+    public PartTimeStaffView(StaffRecordStore store, int row) {
+        super(0, null, null, null, null, null, null, false, 0, 0, null);  // Fields of the parent are not used
+        this.store = store;
+        this.row = row;
+    }
+
+    @Override
+    public int getVacancyNumber() {
+        return store.getVacancyNumber(row);
+    }
+
+    @Override
+    public void setVacancyNumber(int vacancyNumber) {
+        store.setVacancyNumber(row, vacancyNumber);
+        ChangeLog.log(ChangeLog.Event.VACANCY_NUMBER_CHANGED, vacancyNumber, vacancyNumber);
+    }
+
+    @Override
+    public String getDesignation() {
+        return store.getText(row, StaffRecordStore.DESIGNATION);
+    }
+
+    @Override
+    public int getDesignationCode() {
+        return store.getCode(row, StaffRecordStore.DESIGNATION);
+    }
+
+    @Override
+    public void setDesignation(String designation) {
+        store.setText(row, StaffRecordStore.DESIGNATION, designation);
+        ChangeLog.log(ChangeLog.Event.DESIGNATION_CHANGED, getVacancyNumber(), designation);
+    }
+
+    @Override
+    public String getJobType() {
+        return store.getText(row, StaffRecordStore.JOB_TYPE);
+    }
+
+    @Override
+    public int getJobTypeCode() {
+        return store.getCode(row, StaffRecordStore.JOB_TYPE);
+    }
+
+    @Override
+    public void setJobType(String jobType) {
+        store.setText(row, StaffRecordStore.JOB_TYPE, jobType);
+        ChangeLog.log(ChangeLog.Event.JOB_TYPE_CHANGED, getVacancyNumber(), jobType);
+    }
+
+    @Override
+    public String getStaffName() {
+        return store.getText(row, StaffRecordStore.STAFF_NAME);
+    }
+
+    @Override
+    public void setStaffName(String staffName) {
+        store.setText(row, StaffRecordStore.STAFF_NAME, staffName);
+        ChangeLog.log(ChangeLog.Event.STAFF_NAME_CHANGED, getVacancyNumber(), staffName);
+    }
+
+    @Override
+    public int getJoiningDay() {
+        return store.getJoiningDay(row);
+    }
+
+    @Override
+    public void setJoiningDate(String joiningDate) {
+        store.setJoiningDay(row, JoiningDate.parse(joiningDate));
+        ChangeLog.log(ChangeLog.Event.JOINING_DATE_CHANGED, getVacancyNumber(), joiningDate);
+    }
+
+    @Override
+    public String getQualification() {
+        return store.getText(row, StaffRecordStore.QUALIFICATION);
+    }
+
+    @Override
+    public int getQualificationCode() {
+        return store.getCode(row, StaffRecordStore.QUALIFICATION);
+    }
+
+    @Override
+    public void setQualification(String qualification) {
+        store.setText(row, StaffRecordStore.QUALIFICATION, qualification);
+        ChangeLog.log(ChangeLog.Event.QUALIFICATION_CHANGED, getVacancyNumber(), qualification);
+    }
+
+    @Override
+    public String getAppointedBy() {
+        return store.getText(row, StaffRecordStore.APPOINTED_BY);
+    }
+
+    @Override
+    public int getAppointedByCode() {
+        return store.getCode(row, StaffRecordStore.APPOINTED_BY);
+    }
+
+    @Override
+    public void setAppointedBy(String appointedBy) {
+        store.setText(row, StaffRecordStore.APPOINTED_BY, appointedBy);
+        ChangeLog.log(ChangeLog.Event.APPOINTED_BY_CHANGED, getVacancyNumber(), appointedBy);
+    }
+
+    @Override
+    public boolean getJoined() {
+        return store.getJoined(row);
+    }
+
+    @Override
+    public void setJoined(boolean joined) {
+        store.setJoined(row, joined);
+        ChangeLog.log(ChangeLog.Event.JOINED_CHANGED, getVacancyNumber(), joined);
+    }
+
+    @Override
+    public int getWorkingHour() {
+        return store.getWorkingHours(row);
+    }
+
+    @Override
+    public void setWorkingHour(int workingHours) {
+        store.setWorkingHours(row, workingHours);
+        ChangeLog.log(ChangeLog.Event.WORKING_HOURS_CHANGED, getVacancyNumber(), workingHours);
+    }
+
+    @Override
+    public double getWagesPerHour() {
+        return store.getWagesPerHour(row);
+    }
+
+    @Override
+    public void setWagesPerHour(double wagesPerHour) {
+        store.setWagesPerHour(row, wagesPerHour);
+        ChangeLog.log(ChangeLog.Event.WAGES_CHANGED, getVacancyNumber(), wagesPerHour);
+    }
+
+    @Override
+    public String getShifts() {
+        return store.getText(row, StaffRecordStore.SHIFTS);
+    }
+
+    @Override
+    public int getShiftsCode() {
+        return store.getCode(row, StaffRecordStore.SHIFTS);
+    }
+
+    //Set shifts method - only works if staff has joined and hasn't been terminated
+    @Override
+    public void setShifts(String newShifts) {
+        if (getJoined() && !getTerminated()) {
+            store.setText(row, StaffRecordStore.SHIFTS, newShifts);
+            ChangeLog.log(ChangeLog.Event.SHIFTS_CHANGED, getVacancyNumber(), newShifts);
+        } else {
+            ChangeLog.log(ChangeLog.Event.SHIFTS_REFUSED, getVacancyNumber());
+        }
+    }
+
+    @Override
+    public boolean getTerminated() {
+        return store.getTerminated(row);
+    }
+
+    @Override
+    public void setTerminated(boolean terminated) {
+        store.setTerminated(row, terminated);
+        ChangeLog.log(ChangeLog.Event.TERMINATED_CHANGED, getVacancyNumber(), terminated);
+    }
+
+    //Blanks the staff information in the store, same as PartTimeStaffHire.terminateStaff
+    @Override
+    public void terminateStaff() {
+        if (getTerminated()) {
+            ChangeLog.log(ChangeLog.Event.ALREADY_TERMINATED, getVacancyNumber());
+        } else {
+            setStaffName("");
+            setJoiningDate("");
+            setQualification("");
+            setAppointedBy("");
+            setJoined(false);
+            store.setTerminated(row, true);
+            ChangeLog.log(ChangeLog.Event.STAFF_TERMINATED, getVacancyNumber());
+        }
+    }
+}
@@ -0,0 +1,303 @@
+import java.util.List;                          // For List interface
+import java.util.concurrent.ForkJoinPool;       // For running the payroll in parallel
+import java.util.concurrent.RecursiveTask;      // For splitting the roster into parallel parts
+
+/**
+ * Payroll engine working out the daily, weekly and monthly cost of the staff list
+ * The roster is first copied into primitive arrays, then split across the fork/join
+ * pool. Each part works out the pay of its staff and adds it up with compensated
+ * (Kahan-Neumaier) summation, so totals over millions of staff do not drift.
+ * Terminated staff and staff who have not joined are not paid.
+ *
+ * Pay is worked out on a 5 day week and a 260 working day year:
+ * full-time staff are paid salary / 260 per day, part-time staff are paid
+ * workingHours * wagesPerHour per day, the same as "Income Per Day" in display()
+ */
+public class PayrollEngine {
+    public static final int DAYS_PER_WEEK = 5;              // Working days in a week
+    public static final int WORKING_DAYS_PER_YEAR = 260;    // 52 weeks of 5 days
+    public static final int MONTHS_PER_YEAR = 12;
+
+    private static final int SPLIT_SIZE = 64 * 1024;        // Staff worked out by one task without splitting further
+
+    // Kinds of staff in a roster
+    private static final byte UNPAID = 0;                   // Not joined or terminated
+    private static final byte FULL_TIME = 1;
+    private static final byte PART_TIME = 2;
+
+    /**
+     * The pay fields of every staff member, copied out of the staff list
+     * Taken while the service is locked, so the payroll itself runs without holding the lock
+     */
+    public static class Roster {
+        final int[] vacancyNumbers;     // Vacancy number of each staff member
+        final byte[] kinds;             // UNPAID, FULL_TIME or PART_TIME
+        final double[] rates;           // Yearly salary for full-time staff, wages per hour for part-time staff
+        final int[] hours;              // Working hours per day for part-time staff
+
+        Roster(int size) {
+            vacancyNumbers = new int[size];
+            kinds = new byte[size];
+            rates = new double[size];
+            hours = new int[size];
+        }
+
+        /**
+         * Gets the number of staff in the roster
+         */
+        public int size() {
+            return kinds.length;
+        }
+    }
+
+    /**
+     * Result of a payroll run
+     */
+    public static class Run {
+        private final Roster roster;
+        private final double[] dailyCosts;      // Daily cost of each staff member, 0 if not paid
+        private final int fullTimeCount;        // Full-time staff paid
+        private final int partTimeCount;        // Part-time staff paid
+        private final double fullTimeDaily;     // Daily cost of all full-time staff
+        private final double partTimeDaily;     // Daily cost of all part-time staff
+        private final long elapsedNanos;        // Time taken by the parallel run
+
+        Run(Roster roster, double[] dailyCosts, Totals totals, long elapsedNanos) {
+            this.roster = roster;
+            this.dailyCosts = dailyCosts;
+            this.fullTimeCount = totals.fullTimeCount;
+            this.partTimeCount = totals.partTimeCount;
+            this.fullTimeDaily = totals.fullTime.total();
+            this.partTimeDaily = totals.partTime.total();
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getStaffCount() {
+            return dailyCosts.length;
+        }
+
+        public int getVacancyNumber(int position) {
+            return roster.vacancyNumbers[position];
+        }
+
+        public double getDailyCost(int position) {
+            return dailyCosts[position];
+        }
+
+        public double getWeeklyCost(int position) {
+            return weekly(dailyCosts[position]);
+        }
+
+        public double getMonthlyCost(int position) {
+            return monthly(dailyCosts[position]);
+        }
+
+        public int getFullTimeCount() {
+            return fullTimeCount;
+        }
+
+        public int getPartTimeCount() {
+            return partTimeCount;
+        }
+
+        public double getFullTimeDailyCost() {
+            return fullTimeDaily;
+        }
+
+        public double getPartTimeDailyCost() {
+            return partTimeDaily;
+        }
+
+        public double getTotalDailyCost() {
+            return fullTimeDaily + partTimeDaily;
+        }
+
+        public double getTotalWeeklyCost() {
+            return weekly(getTotalDailyCost());
+        }
+
+        public double getTotalMonthlyCost() {
+            return monthly(getTotalDailyCost());
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Gets a short text summary of the run for showing to the user
+         */
+        public String getSummary() {
+            return String.format("Staff paid: %d full-time, %d part-time (%d not paid)%n%n"
+                + "%-12s %16s %16s %16s%n"
+                + "%-12s %,16.2f %,16.2f %,16.2f%n"
+                + "%-12s %,16.2f %,16.2f %,16.2f%n"
+                + "%-12s %,16.2f %,16.2f %,16.2f%n%n"
+                + "Worked out in %.1f ms",
+                fullTimeCount, partTimeCount, getStaffCount() - fullTimeCount - partTimeCount,
+                "", "Daily", "Weekly", "Monthly",
+                "Full time", fullTimeDaily, weekly(fullTimeDaily), monthly(fullTimeDaily),
+                "Part time", partTimeDaily, weekly(partTimeDaily), monthly(partTimeDaily),
+                "Total", getTotalDailyCost(), getTotalWeeklyCost(), getTotalMonthlyCost(),
+                elapsedNanos / 1e6);
+        }
+    }
+
+    // A compensated sum, keeping the error lost to rounding next to the sum
+    private static class Sum {
+        double value;
+        double error;
+
+        void add(double x) {
+            double sum = value + x;
+            error += Math.abs(value) >= Math.abs(x) ? (value - sum) + x : (x - sum) + value;
+            value = sum;
+        }
+
+        void add(Sum other) {
+            add(other.value);
+            error += other.error;
+        }
+
+        double total() {
+            return value + error;
+        }
+    }
+
+    // Running totals of one part of the roster
+    private static class Totals {
+        final Sum fullTime = new Sum();
+        final Sum partTime = new Sum();
+        int fullTimeCount;
+        int partTimeCount;
+
+        // Adds the totals of another part
+        void merge(Totals other) {
+            fullTime.add(other.fullTime);
+            partTime.add(other.partTime);
+            fullTimeCount += other.fullTimeCount;
+            partTimeCount += other.partTimeCount;
+        }
+    }
+
+    // Works out the pay of a range of the roster, splitting it while it is larger than SPLIT_SIZE
+    private static class PayrollTask extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+
+        private final Roster roster;
+        private final double[] dailyCosts;
+        private final int from;
+        private final int to;
+
+        PayrollTask(Roster roster, double[] dailyCosts, int from, int to) {
+            this.roster = roster;
+            this.dailyCosts = dailyCosts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from > SPLIT_SIZE) {
+                int middle = (from + to) >>> 1;
+                PayrollTask left = new PayrollTask(roster, dailyCosts, from, middle);
+                left.fork();
+                Totals totals = new PayrollTask(roster, dailyCosts, middle, to).compute();
+                totals.merge(left.join());
+                return totals;
+            }
+
+            Totals totals = new Totals();
+            byte[] kinds = roster.kinds;
+            double[] rates = roster.rates;
+            int[] hours = roster.hours;
+            for (int i = from; i < to; i++) {
+                if (kinds[i] == FULL_TIME) {
+                    double daily = rates[i] / WORKING_DAYS_PER_YEAR;
+                    dailyCosts[i] = daily;
+                    totals.fullTime.add(daily);
+                    totals.fullTimeCount++;
+                } else if (kinds[i] == PART_TIME) {
+                    double daily = hours[i] * rates[i];
+                    dailyCosts[i] = daily;
+                    totals.partTime.add(daily);
+                    totals.partTimeCount++;
+                }
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Copies the pay fields of a staff list into a roster
+     * Staff stores are read through their columns, so no staff views are created
+     * The caller must stop the list changing while it is copied
+     *
+     * @param staffList The staff list to copy
+     * @return          The roster
+     */
+    static Roster roster(List<StaffHire> staffList) {
+        Roster roster = new Roster(staffList.size());
+        if (staffList instanceof StaffRecordStore) {
+            StaffRecordStore store = (StaffRecordStore) staffList;
+            for (int i = 0; i < roster.size(); i++) {
+                roster.vacancyNumbers[i] = store.getVacancyNumber(i);
+                if (!store.getJoined(i)) {
+                    continue;  // Left as UNPAID
+                }
+                if (store.isFullTime(i)) {
+                    roster.kinds[i] = FULL_TIME;
+                    roster.rates[i] = store.getSalary(i);
+                } else if (!store.getTerminated(i)) {
+                    roster.kinds[i] = PART_TIME;
+                    roster.rates[i] = store.getWagesPerHour(i);
+                    roster.hours[i] = store.getWorkingHours(i);
+                }
+            }
+            return roster;
+        }
+
+        for (int i = 0; i < roster.size(); i++) {
+            StaffHire staff = staffList.get(i);
+            roster.vacancyNumbers[i] = staff.getVacancyNumber();
+            if (!staff.getJoined()) {
+                continue;  // Left as UNPAID
+            }
+            if (staff instanceof FullTimeStaffHire) {
+                roster.kinds[i] = FULL_TIME;
+                roster.rates[i] = ((FullTimeStaffHire) staff).getSalary();
+            } else {
+                PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+                if (!partTime.getTerminated()) {
+                    roster.kinds[i] = PART_TIME;
+                    roster.rates[i] = partTime.getWagesPerHour();
+                    roster.hours[i] = partTime.getWorkingHour();
+                }
+            }
+        }
+        return roster;
+    }
+
+    /**
+     * Runs the payroll over a roster on the common fork/join pool
+     *
+     * @param roster The roster from RecruitmentService.payrollRoster()
+     * @return       The pay of every staff member and the totals
+     */
+    public Run run(Roster roster) {
+        long start = System.nanoTime();
+        double[] dailyCosts = new double[roster.size()];
+        Totals totals = ForkJoinPool.commonPool().invoke(new PayrollTask(roster, dailyCosts, 0, roster.size()));
+        return new Run(roster, dailyCosts, totals, System.nanoTime() - start);
+    }
+
+    // Converts a daily cost to a weekly cost
+    private static double weekly(double daily) {
+        return daily * DAYS_PER_WEEK;
+    }
+
+    // Converts a daily cost to a monthly cost
+    private static double monthly(double daily) {
+        return daily * WORKING_DAYS_PER_YEAR / MONTHS_PER_YEAR;
+    }
+}
@@ -0,0 +1,426 @@
+import com.sun.net.httpserver.HttpExchange;     // For one HTTP request and its response
+import com.sun.net.httpserver.HttpServer;       // For the embedded HTTP server
+import java.io.IOException;                     // For network and file errors
+import java.io.InputStream;                     // For reading request bodies
+import java.io.OutputStream;                    // For writing response bodies
+import java.io.StringWriter;                    // For building JSON responses
+import java.net.HttpURLConnection;              // For the load test client
+import java.net.InetSocketAddress;              // For the address to listen on
+import java.net.URL;                            // For the load test client
+import java.nio.charset.StandardCharsets;       // For reading and writing bodies as UTF-8
+import java.util.HashMap;                       // For the parsed JSON fields
+import java.util.Map;                           // For Map interface
+import java.util.concurrent.ExecutorService;    // For the request executor
+import java.util.concurrent.Executors;          // For creating the request executor
+import java.util.concurrent.TimeUnit;           // For waiting on the load test
+import java.util.concurrent.atomic.AtomicInteger;  // For counting load test failures
+
+/**
+ * Local HTTP/JSON API for the recruitment service
+ * Listens on localhost only. Each request runs on its own virtual thread when the
+ * JVM supports them (Java 21 or later), otherwise on a cached thread pool.
+ *
+ * POST /staff                        - add a staff member, the body uses the CSV column names
+ * GET  /staff/{vacancy}              - look up a staff member
+ * PUT  /staff/{vacancy}/salary       - set the salary, body {"salary": 30000}
+ * PUT  /staff/{vacancy}/shifts       - set the shifts, body {"shifts": "Morning"}
+ * POST /staff/{vacancy}/terminate    - terminate a part-time staff member
+ *
+ * GET sends the staff member's version as an ETag. Sending it back in an If-Match
+ * header on a salary or shifts PUT makes the change fail with 412 if the staff
+ * member was changed in between, instead of overwriting that change
+ */
+public class RecruitmentHttpServer {
+    private static final int MAX_BODY = 64 * 1024;  // Largest request body accepted, in bytes
+
+    private final RecruitmentService service;  // The service requests are applied to
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor - creates a server for the service on a localhost port
+     *
+     * @param service The service requests are applied to
+     * @param port    The port to listen on, or 0 for any free port
+     * @throws IOException If the port cannot be opened
+     */
+    public RecruitmentHttpServer(RecruitmentService service, int port) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext("/staff", this::handle);
+    }
+
+    /**
+     * Starts answering requests
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting up to a second for requests in progress
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Gets the port the server is listening on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor, or a cached thread pool before Java 21
+     * Looked up by reflection so the code still builds and runs on Java 17
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "recruitment-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // Routes a request to the matching operation
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] parts = exchange.getRequestURI().getPath().split("/");  // "", "staff", vacancy, action
+            String method = exchange.getRequestMethod();
+            if (parts.length == 2 && method.equals("POST")) {
+                addStaff(exchange);
+            } else if (parts.length == 3 && method.equals("GET")) {
+                getStaff(exchange, parseVacancy(parts[2]));
+            } else if (parts.length == 4 && method.equals("PUT") && parts[3].equals("salary")) {
+                setSalary(exchange, parseVacancy(parts[2]));
+            } else if (parts.length == 4 && method.equals("PUT") && parts[3].equals("shifts")) {
+                setShifts(exchange, parseVacancy(parts[2]));
+            } else if (parts.length == 4 && method.equals("POST") && parts[3].equals("terminate")) {
+                sendResult(exchange, service.terminateStaff(parseVacancy(parts[2])));
+            } else {
+                sendError(exchange, 404, "Not found");
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            sendError(exchange, 500, "Could not save the change: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // POST /staff
+    private void addStaff(HttpExchange exchange) throws IOException {
+        Map<String, String> body = parseJson(readBody(exchange));
+        String[] fields = new String[StaffCsvImporter.COLUMNS.length];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = body.getOrDefault(StaffCsvImporter.COLUMNS[i], "");
+        }
+        StaffHire staff = StaffCsvImporter.createStaff(fields);  // Same rules as the CSV import
+        RecruitmentService.Result result = staff instanceof FullTimeStaffHire
+            ? service.addFullTimeStaff((FullTimeStaffHire) staff)
+            : service.addPartTimeStaff((PartTimeStaffHire) staff);
+        if (result == RecruitmentService.Result.SUCCESS) {
+            sendStaff(exchange, 201, staff);
+        } else {
+            sendResult(exchange, result);
+        }
+    }
+
+    // GET /staff/{vacancy}
+    private void getStaff(HttpExchange exchange, int vacancyNumber) throws IOException {
+        int version = service.versionOf(vacancyNumber);  // Before reading, so a change in between makes the tag stale
+        StaffHire staff = service.findStaff(vacancyNumber);
+        if (staff == null) {
+            sendResult(exchange, RecruitmentService.Result.NOT_FOUND);
+        } else {
+            exchange.getResponseHeaders().set("ETag", "\"" + version + "\"");
+            sendStaff(exchange, 200, staff);
+        }
+    }
+
+    // PUT /staff/{vacancy}/salary
+    private void setSalary(HttpExchange exchange, int vacancyNumber) throws IOException {
+        String salary = parseJson(readBody(exchange)).get("salary");
+        if (salary == null || !StaffValidation.isValidDecimal(salary)) {
+            throw new IllegalArgumentException("salary must be a number");
+        }
+        sendResult(exchange, service.setSalary(vacancyNumber, Double.parseDouble(salary), expectedVersion(exchange)));
+    }
+
+    // PUT /staff/{vacancy}/shifts
+    private void setShifts(HttpExchange exchange, int vacancyNumber) throws IOException {
+        String shifts = parseJson(readBody(exchange)).get("shifts");
+        sendResult(exchange, service.setShifts(vacancyNumber, shifts == null ? "" : shifts, expectedVersion(exchange)));
+    }
+
+    // Reads the version in an If-Match header, or ANY_VERSION if there is none
+    private static int expectedVersion(HttpExchange exchange) {
+        String tag = exchange.getRequestHeaders().getFirst("If-Match");
+        if (tag == null || tag.trim().equals("*")) {
+            return RecruitmentService.ANY_VERSION;
+        }
+        tag = tag.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Integer.parseInt(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be an ETag from GET");
+        }
+    }
+
+    // Parses the vacancy number part of a path
+    private static int parseVacancy(String text) {
+        if (!StaffValidation.isValidInteger(text)) {
+            throw new IllegalArgumentException("Vacancy number must be a whole number");
+        }
+        return Integer.parseInt(text);
+    }
+
+    // Reads a request body up to MAX_BODY bytes
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY + 1);
+            if (body.length > MAX_BODY) {
+                throw new IllegalArgumentException("Request body is too large");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parses a flat JSON object of string, number and boolean values
+     * Values are returned as text, which is what the importer's parsing expects
+     */
+    static Map<String, String> parseJson(String text) {
+        Map<String, String> fields = new HashMap<>();
+        int[] pos = {skipSpace(text, 0)};
+        expect(text, pos, '{');
+        if (peek(text, pos) == '}') {
+            return fields;
+        }
+        while (true) {
+            String key = readString(text, pos);
+            expect(text, pos, ':');
+            String value;
+            if (peek(text, pos) == '"') {
+                value = readString(text, pos);
+            } else {
+                int start = pos[0];
+                while (pos[0] < text.length() && ",} \t\r\n".indexOf(text.charAt(pos[0])) < 0) {
+                    pos[0]++;
+                }
+                value = text.substring(start, pos[0]);
+                if (value.equals("null")) {
+                    value = "";
+                }
+                pos[0] = skipSpace(text, pos[0]);
+            }
+            fields.put(key, value);
+            char next = peek(text, pos);
+            expect(text, pos, next == ',' ? ',' : '}');
+            if (next != ',') {
+                return fields;
+            }
+        }
+    }
+
+    // Reads a JSON string starting at pos, handling the common escapes
+    private static String readString(String text, int[] pos) {
+        expect(text, pos, '"');
+        StringBuilder value = new StringBuilder();
+        int i = pos[0];
+        while (i < text.length() && text.charAt(i) != '"') {
+            char c = text.charAt(i++);
+            if (c == '\\' && i < text.length()) {
+                char escaped = text.charAt(i++);
+                switch (escaped) {
+                    case 'n': value.append('\n'); break;
+                    case 't': value.append('\t'); break;
+                    case 'r': value.append('\r'); break;
+                    case 'u':
+                        if (i + 4 > text.length()) {
+                            throw new IllegalArgumentException("Invalid JSON escape");
+                        }
+                        value.append((char) Integer.parseInt(text.substring(i, i + 4), 16));
+                        i += 4;
+                        break;
+                    default: value.append(escaped);  // \" \\ \/
+                }
+            } else {
+                value.append(c);
+            }
+        }
+        pos[0] = i;
+        expect(text, pos, '"');
+        return value.toString();
+    }
+
+    // Checks the next character and moves past it and any space after it
+    private static void expect(String text, int[] pos, char c) {
+        if (peek(text, pos) != c) {
+            throw new IllegalArgumentException("Invalid JSON, expected '" + c + "' at " + pos[0]);
+        }
+        pos[0] = skipSpace(text, pos[0] + 1);
+    }
+
+    // Gets the next character, or 0 at the end of the text
+    private static char peek(String text, int[] pos) {
+        return pos[0] < text.length() ? text.charAt(pos[0]) : 0;
+    }
+
+    // Moves past spaces and line breaks
+    private static int skipSpace(String text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // Sends a staff member as JSON
+    private static void sendStaff(HttpExchange exchange, int status, StaffHire staff) throws IOException {
+        StringWriter json = new StringWriter();
+        StaffExporter.writeJsonObject(json, staff);
+        send(exchange, status, json.toString().trim());
+    }
+
+    // Sends the outcome of an operation with the matching status code
+    private static void sendResult(HttpExchange exchange, RecruitmentService.Result result) throws IOException {
+        switch (result) {
+            case SUCCESS:        send(exchange, 200, "{\"result\": \"SUCCESS\"}"); return;
+            case NOT_FOUND:      sendError(exchange, 404, "No staff with that vacancy number"); return;
+            case DUPLICATE:      sendError(exchange, 409, "Vacancy number is already in use"); return;
+            case NOT_FULL_TIME:  sendError(exchange, 409, "Staff member is not full-time"); return;
+            case NOT_PART_TIME:  sendError(exchange, 409, "Staff member is not part-time"); return;
+            case MISSING_FIELDS: sendError(exchange, 400, "All fields must be filled out"); return;
+            case CONFLICT:       sendError(exchange, 412, "Staff member was changed since the If-Match version"); return;
+            case NOT_JOINED:     sendError(exchange, 409, "Staff member has not joined"); return;
+            case ALREADY_TERMINATED: sendError(exchange, 409, "Staff member is already terminated"); return;
+            default:             sendError(exchange, 400, "Invalid field values");
+        }
+    }
+
+    // Sends an error message as JSON
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter json = new StringWriter();
+        json.write("{\"error\": ");
+        StaffExporter.writeJsonText(json, message);
+        json.write('}');
+        send(exchange, status, json.toString());
+    }
+
+    // Sends a JSON response body
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Runs the service without the window and serves the API
+     * The port is taken from the recruitment.http.port property, 8080 by default, and the
+     * operation latencies are published for JConsole, see StaffMetrics.
+     * Run with the argument "load" to instead start a throwaway in-memory service on
+     * a free port and time a burst of add, lookup and update requests against it
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("load")) {
+            int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+            loadTest(requests);
+            return;
+        }
+
+        RecruitmentService service = RecruitmentService.open();
+        RecruitmentHttpServer server = new RecruitmentHttpServer(service, Integer.getInteger("recruitment.http.port", 8080));
+        service.getMetrics().register();  // Operation latencies for JConsole
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                service.close();
+            } catch (IOException e) {
+                System.err.println("Could not close the staff store: " + e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("Recruitment API listening on http://127.0.0.1:" + server.getPort() + "/staff");
+    }
+
+    // Sends requests from 32 client threads to a server over an in-memory service and prints the rate
+    private static void loadTest(int requests) throws Exception {
+        RecruitmentService service = new RecruitmentService(new java.util.ArrayList<>(), null);
+        RecruitmentHttpServer server = new RecruitmentHttpServer(service, 0);
+        server.start();
+        String base = "http://127.0.0.1:" + server.getPort() + "/staff";
+
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(32);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int vacancy = i / 3;  // Each vacancy is added, looked up, then updated
+            int step = i % 3;
+            clients.execute(() -> {
+                try {
+                    int status;
+                    if (step == 0) {
+                        status = request("POST", base, "{\"type\": \"Full Time\", \"vacancyNumber\": " + vacancy
+                            + ", \"designation\": \"Engineer\", \"jobType\": \"Permanent\", \"staffName\": \"Load Test\""
+                            + ", \"joiningDate\": \"01/02/2024\", \"qualification\": \"Degree\", \"appointedBy\": \"Manager\""
+                            + ", \"joined\": true, \"salary\": 30000, \"weeklyFractionalHours\": 40}");
+                    } else if (step == 1) {
+                        status = request("GET", base + "/" + vacancy, null);
+                    } else {
+                        status = request("PUT", base + "/" + vacancy + "/salary", "{\"salary\": 32000}");
+                    }
+                    // Lookups and updates may overtake the add they depend on, which is a 404 and not a failure
+                    if (status >= 500 || (step == 0 && status != 201)) {
+                        failures.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        server.stop();
+
+        System.out.printf("%d requests in %.1f ms, %.0f requests/s, %d failures, %d staff%n",
+            requests, elapsed / 1e6, requests * 1e9 / elapsed, failures.get(), service.size());
+        System.out.println("add staff: " + service.getMetrics().getAddStaff());
+        System.out.println("set salary: " + service.getMetrics().getSetSalary());
+    }
+
+    // Sends one request and returns the status code
+    private static int request(String method, String url, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+            if (in != null) {
+                in.readAllBytes();  // Drain so the connection can be reused
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,967 @@
+import java.io.IOException;                     // For errors saving or loading staff
+import java.util.ArrayList;                     // For dynamic array implementation (staffList)
+import java.util.Arrays;                        // For growing the version stamps
+import java.util.HashMap;                       // For hash map implementation (staffIndex)
+import java.util.List;                          // For List interface
+import java.util.Map;                           // For Map interface
+import java.util.concurrent.locks.ReentrantReadWriteLock;  // For the roster lock
+import java.util.function.Predicate;            // For choosing the staff a bulk change applies to
+
+/**
+ * Headless core of the recruitment system
+ * Holds the staff list, vacancy index and journal, and applies the lookup,
+ * validation, salary, shift and termination rules. It is safe to use from many
+ * threads, such as the Swing window's workers, the HTTP server and the bulk import.
+ *
+ * Adding and terminating staff change the list and its indexes, so they take the
+ * roster lock on their own. Lookups and searches share it. Salary and shift changes
+ * also share it and then lock one of STRIPES stripes chosen by vacancy number, so
+ * changes to different staff run at the same time and changes to one staff member
+ * run one at a time. Each staff member has a version stamp that goes up with every
+ * change, and setSalary and setShifts can be given the version the caller last saw,
+ * so a change made in between is reported as a CONFLICT instead of being overwritten.
+ * Changes to existing staff are kept in a StaffHistory for undo and redo, and every
+ * change updates the running StaffTotals shown on the dashboard. Listeners are told
+ * of changes through a StaffChangeBuffer, a coalesced batch per frame
+ */
+public class RecruitmentService {
+    /**
+     * Outcome of an operation
+     */
+    public enum Result {
+        SUCCESS,            // The operation was applied
+        NOT_FOUND,          // No staff with that vacancy number
+        NOT_FULL_TIME,      // The staff member is not full-time
+        NOT_PART_TIME,      // The staff member is not part-time
+        DUPLICATE,          // The vacancy number is already in use
+        MISSING_FIELDS,     // A required field is empty
+        INVALID_FIELDS,     // A field breaks the validation rules
+        CONFLICT,           // The staff member was changed since the expected version
+        NOT_JOINED,         // The staff member has not joined, so the change does not apply
+        ALREADY_TERMINATED  // The staff member is terminated, so the change does not apply
+    }
+
+    /** Expected version that matches any version, for changes that should always be applied */
+    public static final int ANY_VERSION = -1;
+
+    private static final int STRIPES = 64;  // Locks for salary and shift changes, a power of two
+    private static final int BULK_CHUNK = 4096;  // Staff a bulk change handles each time it takes the roster lock
+
+    /**
+     * Receives changes to the staff list, a batch per frame
+     * Called on the StaffChangeBuffer's delivery thread, one batch at a time and in
+     * the order the changes were made, without any of the service's locks held
+     */
+    public interface Listener {
+        void staffChanged(StaffChanges changes);  // Staff added or changed since the last batch, once each
+    }
+
+    private final List<StaffHire> staffList;        // Staff list, in the order staff were added
+    private final Map<Integer, Integer> staffIndex = new HashMap<>();  // Vacancy number to position in staffList
+    private final JoiningDateIndex joiningIndex = new JoiningDateIndex();  // Positions sorted by joining date
+    private final StaffSearchIndex searchIndex;      // Words of each staff member's name, designation and so on
+    private final StaffBitmapIndex bitmapIndex = new StaffBitmapIndex();  // Staff type, status, job type and designation
+    private final StaffTotals totals = new StaffTotals();  // Headcounts and pay totals, kept up to date with each change
+    private final StaffMetrics metrics = new StaffMetrics(this::size);  // Latencies of the staff operations
+    private final StaffJournal journal;              // Saves every change, null if changes are not saved
+    private final StaffChangeBuffer changes = new StaffChangeBuffer();  // Coalesces changes into a batch per frame for listeners
+    private final ReentrantReadWriteLock rosterLock = new ReentrantReadWriteLock();  // Shared by lookups and changes to one staff member
+    private final Object[] stripes = new Object[STRIPES];  // Locked while changing a staff member
+    private int[] versions;                          // Version stamp of each position, grown while the roster lock is held alone
+    private int[] newestVersions;                    // Highest version stamp each position has had, so undo never reuses one
+    private final StaffHistory history = new StaffHistory();  // Changes to existing staff, for undo and redo
+
+    // Applies a bulk change to one matched staff member, returning true if it was changed
+    // A change must take a new version stamp, add itself to the step and record itself for the listeners
+    private interface BulkAction {
+        boolean apply(StaffHire staff, int position, StaffHistory.Step step, BulkReport report) throws IOException;
+    }
+
+    /**
+     * Constructor - creates a service over a staff list
+     *
+     * @param staffList The staff list, which may already hold staff
+     * @param journal   The journal to save changes to, or null to not save them
+     */
+    public RecruitmentService(List<StaffHire> staffList, StaffJournal journal) {
+        this.staffList = staffList;
+        this.journal = journal;
+        this.searchIndex = new StaffSearchIndex(staffList);
+        this.versions = new int[Math.max(16, staffList.size())];
+        this.newestVersions = new int[versions.length];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        for (int i = 0; i < staffList.size(); i++) {
+            StaffHire staff = staffList.get(i);
+            staffIndex.put(staff.getVacancyNumber(), i);  // Index staff already in the list
+            joiningIndex.add(staff.getJoiningDay(), i);
+            searchIndex.add(staff, i);
+            bitmapIndex.add(staff, i);
+            totals.add(staff);
+        }
+    }
+
+    /**
+     * Opens the staff store chosen with the recruitment.store property and loads saved staff
+     * Set recruitment.store to columnar for the columnar off-heap store, or to mapped
+     * for memory-mapped record files. Otherwise an ArrayList is used and changes are
+     * saved with the journal. Files are kept in StaffJournal.dataDirectory()
+     *
+     * @return The service holding the saved staff
+     * @throws IOException If the saved staff cannot be loaded
+     */
+    public static RecruitmentService open() throws IOException {
+        String store = System.getProperty("recruitment.store");
+        if ("mapped".equals(store)) {
+            // The mapped files save changes in place, so the journal is not used
+            return new RecruitmentService(MappedStaffFile.open(StaffJournal.dataDirectory()), null);
+        }
+
+        List<StaffHire> staffList = "columnar".equals(store) ? new ColumnarStaffStore() : new ArrayList<>();
+        StaffJournal journal = StaffJournal.openDefault(staffList);
+        try {
+            journal.load();  // Latest snapshot plus the changes made since
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+        return new RecruitmentService(staffList, journal);
+    }
+
+    /**
+     * Adds a listener for changes to the staff list
+     * Changes are coalesced per staff member and delivered at most once a frame
+     */
+    public void addListener(Listener listener) {
+        changes.addListener(listener);
+    }
+
+    /**
+     * Delivers the changes made so far to the listeners now, instead of at the end of the frame
+     */
+    public void flushChanges() {
+        changes.flush();
+    }
+
+    /**
+     * Gets the number of staff
+     */
+    public int size() {
+        rosterLock.readLock().lock();
+        try {
+            return staffList.size();
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the staff member at a position in the staff list
+     */
+    public StaffHire get(int position) {
+        rosterLock.readLock().lock();
+        try {
+            return staffList.get(position);
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds a staff member by vacancy number
+     *
+     * @param vacancyNumber The vacancy number to look up
+     * @return              The matching staff member, or null if none exists
+     */
+    public StaffHire findStaff(int vacancyNumber) {
+        rosterLock.readLock().lock();
+        try {
+            Integer position = staffIndex.get(vacancyNumber);
+            return position == null ? null : staffList.get(position);
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the position of a staff member in the staff list
+     *
+     * @param vacancyNumber The vacancy number to look up
+     * @return              The position, or -1 if none exists
+     */
+    public int positionOf(int vacancyNumber) {
+        rosterLock.readLock().lock();
+        try {
+            Integer position = staffIndex.get(vacancyNumber);
+            return position == null ? -1 : position;
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the version stamp of a staff member
+     * The version changes each time the staff member is changed, so a caller can
+     * pass it back to setSalary or setShifts to make sure nothing changed in between.
+     * Undo and redo put back the version the staff member had, and a new change
+     * never reuses an old version
+     *
+     * @param vacancyNumber The vacancy number to look up
+     * @return              The version, or -1 if none exists
+     */
+    public int versionOf(int vacancyNumber) {
+        rosterLock.readLock().lock();
+        try {
+            Integer position = staffIndex.get(vacancyNumber);
+            if (position == null) {
+                return -1;
+            }
+            synchronized (stripe(vacancyNumber)) {
+                return versions[position];
+            }
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the positions of staff joining between two dates, inclusive, in date order
+     * Staff without a joining date, such as terminated staff, are not included
+     *
+     * @param fromDay First epoch day to include, see JoiningDate
+     * @param toDay   Last epoch day to include
+     * @return        The positions in the staff list
+     */
+    public int[] positionsJoiningBetween(int fromDay, int toDay) {
+        rosterLock.readLock().lock();
+        try {
+            return joiningIndex.positionsBetween(fromDay, toDay);
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the staff joining between two dates, inclusive
+     * For example hires in a quarter, or joiners in the next month
+     */
+    public int countJoiningBetween(int fromDay, int toDay) {
+        rosterLock.readLock().lock();
+        try {
+            return joiningIndex.countBetween(fromDay, toDay);
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds staff by the words of their name, designation, qualification or appointed by
+     * Every word of the query must start one of the staff member's words, ignoring case,
+     * so "sen lec" finds a Senior Lecturer
+     *
+     * @param query The text to search for
+     * @param limit The most positions to return
+     * @return      The positions in the staff list, in ascending order
+     */
+    public int[] search(String query, int limit) {
+        rosterLock.readLock().lock();
+        try {
+            return searchIndex.search(query, limit);
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the staff matching a query over staff type, status, job type and designation
+     * Answered from the bitmap indexes, so it does not check each staff member
+     *
+     * @param query The query, see StaffQuery
+     * @return      The matching positions, a copy that does not change with the staff list
+     */
+    public StaffBitmap select(StaffQuery query) {
+        rosterLock.readLock().lock();
+        try {
+            return query.evaluate(bitmapIndex, staffList.size());
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the staff matching a query, such as how many part-time staff are terminated
+     */
+    public int count(StaffQuery query) {
+        return select(query).cardinality();
+    }
+
+    /**
+     * Gets the latency histograms and counters of the staff operations
+     * Register them with StaffMetrics.register to watch them in JConsole
+     */
+    public StaffMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the headcounts and pay totals of the whole staff list
+     * The totals are kept up to date as staff change, so this does not check each staff member
+     */
+    public StaffTotals.Snapshot totals() {
+        return totals.snapshot();
+    }
+
+    /**
+     * Recounts the headcounts and pay totals from every staff member and checks them
+     * against the running totals. If they differ, the recount replaces them and a warning is logged.
+     * Holds the roster lock alone while counting, so changes wait for it
+     *
+     * @return true if the running totals were right
+     */
+    public boolean checkTotals() {
+        rosterLock.writeLock().lock();
+        try {
+            StaffTotals.Snapshot counted = StaffTotals.count(staffList);
+            StaffTotals.Snapshot running = totals.snapshot();
+            if (counted.matches(running)) {
+                return true;
+            }
+            ChangeLog.log(ChangeLog.Event.TOTALS_RECOUNTED, "were " + running + ", now " + counted);
+            totals.reset(counted);
+            return false;
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a full-time staff member
+     * The staff member is saved to the journal before being added
+     */
+    public Result addFullTimeStaff(FullTimeStaffHire staff) throws IOException {
+        long start = System.nanoTime();
+        try {
+            rosterLock.writeLock().lock();
+            try {
+                Result result = validate(staff);
+                if (result != Result.SUCCESS) {
+                    return result;
+                }
+                if (journal != null) {
+                    journal.recordAddFullTime(staff);
+                }
+                storeStaff(staff);
+                snapshotIfDue();
+            } finally {
+                rosterLock.writeLock().unlock();
+            }
+            return Result.SUCCESS;
+        } finally {
+            metrics.record(StaffMetrics.Operation.ADD_STAFF, start);
+        }
+    }
+
+    /**
+     * Adds a part-time staff member
+     * The staff member is saved to the journal before being added
+     */
+    public Result addPartTimeStaff(PartTimeStaffHire staff) throws IOException {
+        long start = System.nanoTime();
+        try {
+            rosterLock.writeLock().lock();
+            try {
+                Result result = validate(staff);
+                if (result != Result.SUCCESS) {
+                    return result;
+                }
+                if (journal != null) {
+                    journal.recordAddPartTime(staff);
+                }
+                storeStaff(staff);
+                snapshotIfDue();
+            } finally {
+                rosterLock.writeLock().unlock();
+            }
+            return Result.SUCCESS;
+        } finally {
+            metrics.record(StaffMetrics.Operation.ADD_STAFF, start);
+        }
+    }
+
+    /**
+     * Adds a batch of imported staff, rejecting vacancy numbers that are already in use
+     */
+    public void addImported(List<StaffCsvImporter.ImportedRow> rows, ImportReport report) throws IOException {
+        rosterLock.writeLock().lock();
+        try {
+            for (StaffCsvImporter.ImportedRow row : rows) {
+                StaffHire staff = row.staff;
+                if (staffIndex.containsKey(staff.getVacancyNumber())) {
+                    report.reject(row.line, "Staff with vacancy number " + staff.getVacancyNumber() + " already exists.");
+                    continue;
+                }
+                if (journal != null) {
+                    if (staff instanceof FullTimeStaffHire) {
+                        journal.recordAddFullTime((FullTimeStaffHire) staff);
+                    } else {
+                        journal.recordAddPartTime((PartTimeStaffHire) staff);
+                    }
+                }
+                storeStaff(staff);
+                report.rowImported();
+                snapshotIfDue();
+            }
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the salary of a full-time staff member
+     * The salary only changes if the staff member has joined
+     */
+    public Result setSalary(int vacancyNumber, double newSalary) throws IOException {
+        return setSalary(vacancyNumber, newSalary, ANY_VERSION);
+    }
+
+    /**
+     * Sets the salary of a full-time staff member if it has not changed since the expected version
+     *
+     * @param vacancyNumber   The vacancy number of the staff member
+     * @param newSalary       The new salary
+     * @param expectedVersion The version from versionOf, or ANY_VERSION
+     * @return                CONFLICT if the staff member's version is not the expected one,
+     *                        NOT_JOINED if the staff member has not joined
+     */
+    public Result setSalary(int vacancyNumber, double newSalary, int expectedVersion) throws IOException {
+        long start = System.nanoTime();
+        try {
+            int position;
+            rosterLock.readLock().lock();
+            try {
+                Integer found = staffIndex.get(vacancyNumber);
+                if (found == null) {
+                    return Result.NOT_FOUND;
+                }
+                position = found;
+                StaffHire staff = staffList.get(position);
+                if (!(staff instanceof FullTimeStaffHire)) {
+                    return Result.NOT_FULL_TIME;
+                }
+                if (newSalary < 0 || Double.isNaN(newSalary) || Double.isInfinite(newSalary)) {
+                    return Result.INVALID_FIELDS;
+                }
+                synchronized (stripe(vacancyNumber)) {
+                    if (expectedVersion != ANY_VERSION && versions[position] != expectedVersion) {
+                        return Result.CONFLICT;
+                    }
+                    if (!staff.getJoined()) {
+                        return Result.NOT_JOINED;  // The salary would not change, so nothing is saved
+                    }
+                    if (journal != null) {
+                        journal.recordSetSalary(vacancyNumber, newSalary);  // Save the change first
+                    }
+                    FullTimeStaffHire fullTime = (FullTimeStaffHire) staff;
+                    double oldSalary = fullTime.getSalary();
+                    int oldVersion = versions[position];
+                    fullTime.setSalary(newSalary);
+                    totals.salaryChanged(oldSalary, fullTime.getSalary());
+                    StaffHistory.Step step = StaffHistory.Step.pay("Set salary of vacancy " + vacancyNumber);
+                    step.add(position, oldVersion, nextVersion(position), oldSalary, fullTime.getSalary());
+                    history.record(step);
+                }
+            } finally {
+                rosterLock.readLock().unlock();
+            }
+            changes.record(position, StaffChanges.SALARY_CHANGED);
+            snapshotLockedIfDue();
+            return Result.SUCCESS;
+        } finally {
+            metrics.record(StaffMetrics.Operation.SET_SALARY, start);
+        }
+    }
+
+    /**
+     * Sets the shifts of a part-time staff member
+     * The shifts only change if the staff member has joined and has not been terminated
+     */
+    public Result setShifts(int vacancyNumber, String newShifts) throws IOException {
+        return setShifts(vacancyNumber, newShifts, ANY_VERSION);
+    }
+
+    /**
+     * Sets the shifts of a part-time staff member if it has not changed since the expected version
+     *
+     * @param vacancyNumber   The vacancy number of the staff member
+     * @param newShifts       The new shifts
+     * @param expectedVersion The version from versionOf, or ANY_VERSION
+     * @return                CONFLICT if the staff member's version is not the expected one,
+     *                        ALREADY_TERMINATED or NOT_JOINED if the shifts cannot change
+     */
+    public Result setShifts(int vacancyNumber, String newShifts, int expectedVersion) throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (StaffValidation.hasMissingFields(newShifts)) {
+                return Result.MISSING_FIELDS;
+            }
+            if (!StaffValidation.isValidText(newShifts)) {
+                return Result.INVALID_FIELDS;
+            }
+            int position;
+            rosterLock.readLock().lock();
+            try {
+                Integer found = staffIndex.get(vacancyNumber);
+                if (found == null) {
+                    return Result.NOT_FOUND;
+                }
+                position = found;
+                StaffHire staff = staffList.get(position);
+                if (!(staff instanceof PartTimeStaffHire)) {
+                    return Result.NOT_PART_TIME;
+                }
+                synchronized (stripe(vacancyNumber)) {
+                    if (expectedVersion != ANY_VERSION && versions[position] != expectedVersion) {
+                        return Result.CONFLICT;
+                    }
+                    if (((PartTimeStaffHire) staff).getTerminated()) {
+                        return Result.ALREADY_TERMINATED;  // The shifts would not change, so nothing is saved
+                    }
+                    if (!staff.getJoined()) {
+                        return Result.NOT_JOINED;
+                    }
+                    if (journal != null) {
+                        journal.recordSetShifts(vacancyNumber, newShifts);  // Save the change first
+                    }
+                    StaffState before = StaffState.of(staff);
+                    int oldVersion = versions[position];
+                    ((PartTimeStaffHire) staff).setShifts(newShifts);
+                    StaffHistory.Step step = StaffHistory.Step.state("Set shifts of vacancy " + vacancyNumber);
+                    step.add(position, oldVersion, nextVersion(position), before, StaffState.of(staff));
+                    history.record(step);
+                }
+            } finally {
+                rosterLock.readLock().unlock();
+            }
+            changes.record(position, StaffChanges.SHIFTS_CHANGED);
+            snapshotLockedIfDue();
+            return Result.SUCCESS;
+        } finally {
+            metrics.record(StaffMetrics.Operation.SET_SHIFTS, start);
+        }
+    }
+
+    /**
+     * Terminates a part-time staff member
+     *
+     * @return ALREADY_TERMINATED if the staff member was terminated before, in which case nothing changes
+     */
+    public Result terminateStaff(int vacancyNumber) throws IOException {
+        long start = System.nanoTime();
+        try {
+            int position;
+            rosterLock.writeLock().lock();  // Terminating changes the search and joining date indexes
+            try {
+                Integer found = staffIndex.get(vacancyNumber);
+                if (found == null) {
+                    return Result.NOT_FOUND;
+                }
+                position = found;
+                StaffHire staff = staffList.get(position);
+                if (!(staff instanceof PartTimeStaffHire)) {
+                    return Result.NOT_PART_TIME;
+                }
+                if (((PartTimeStaffHire) staff).getTerminated()) {
+                    return Result.ALREADY_TERMINATED;
+                }
+                if (journal != null) {
+                    journal.recordTerminate(vacancyNumber);  // Save the change first
+                }
+                StaffState before = StaffState.of(staff);
+                int oldVersion = versions[position];
+                reindexed(staff, position, ((PartTimeStaffHire) staff)::terminateStaff);
+                StaffHistory.Step step = StaffHistory.Step.state("Terminate vacancy " + vacancyNumber);
+                step.add(position, oldVersion, nextVersion(position), before, StaffState.of(staff));  // No stripe lock is needed while the roster lock is held alone
+                history.record(step);
+                snapshotIfDue();
+            } finally {
+                rosterLock.writeLock().unlock();
+            }
+            changes.record(position, StaffChanges.TERMINATED);
+            return Result.SUCCESS;
+        } finally {
+            metrics.record(StaffMetrics.Operation.TERMINATE_STAFF, start);
+        }
+    }
+
+    /**
+     * Raises the pay of every staff member matching a filter by a percentage
+     * Full-time staff get a higher salary and part-time staff higher wages per hour.
+     * Full-time staff who have not joined and terminated part-time staff are skipped
+     *
+     * @param where    The staff to change, see StaffFilter
+     * @param percent  The raise, for example 5 for 5%, or below 0 for a cut
+     * @param progress Told the staff checked so far and checked for cancelling, may be null
+     * @return         The counts of staff matched, changed and skipped
+     */
+    public BulkReport raisePay(Predicate<StaffHire> where, double percent, StaffTaskRunner.Progress progress)
+        throws IOException {
+        if (!(percent > -100) || Double.isInfinite(percent)) {
+            throw new IllegalArgumentException("Raise must be a percentage above -100");
+        }
+        double factor = 1 + percent / 100;
+        BulkReport report = new BulkReport("Raise pay by " + percent + "%");
+        StaffHistory.Step raise = StaffHistory.Step.pay(report.getAction());
+        bulkChange(where, report, progress, raise, (staff, position, step, bulk) -> {
+            int vacancyNumber = staff.getVacancyNumber();
+            if (staff instanceof FullTimeStaffHire) {
+                FullTimeStaffHire fullTime = (FullTimeStaffHire) staff;
+                if (!fullTime.getJoined()) {
+                    bulk.skip(vacancyNumber, "has not joined, so the salary cannot change");
+                    return false;
+                }
+                double oldSalary = fullTime.getSalary();
+                double salary = oldSalary * factor;
+                if (journal != null) {
+                    journal.recordSetSalary(vacancyNumber, salary);  // Save the change first
+                }
+                fullTime.setSalary(salary);
+                totals.salaryChanged(oldSalary, salary);
+                step.add(position, versions[position], nextVersion(position), oldSalary, salary);
+                changes.record(position, StaffChanges.SALARY_CHANGED);
+            } else {
+                PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+                if (partTime.getTerminated()) {
+                    bulk.skip(vacancyNumber, "is terminated");
+                    return false;
+                }
+                double oldWages = partTime.getWagesPerHour();
+                double wages = oldWages * factor;
+                if (journal != null) {
+                    journal.recordSetWages(vacancyNumber, wages);
+                }
+                partTime.setWagesPerHour(wages);
+                totals.wagesChanged(partTime, oldWages);
+                step.add(position, versions[position], nextVersion(position), oldWages, wages);
+                changes.record(position, StaffChanges.WAGES_CHANGED);
+            }
+            return true;
+        });
+        return report;
+    }
+
+    /**
+     * Terminates every part-time staff member matching a filter
+     * Full-time staff and staff already terminated are skipped
+     *
+     * @param where    The staff to terminate, see StaffFilter
+     * @param progress Told the staff checked so far and checked for cancelling, may be null
+     * @return         The counts of staff matched, terminated and skipped
+     */
+    public BulkReport terminateAll(Predicate<StaffHire> where, StaffTaskRunner.Progress progress) throws IOException {
+        BulkReport report = new BulkReport("Terminate staff");
+        StaffHistory.Step terminate = StaffHistory.Step.state(report.getAction());
+        bulkChange(where, report, progress, terminate, (staff, position, step, bulk) -> {
+            int vacancyNumber = staff.getVacancyNumber();
+            if (!(staff instanceof PartTimeStaffHire)) {
+                bulk.skip(vacancyNumber, "is not part-time");
+                return false;
+            }
+            PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+            if (partTime.getTerminated()) {
+                bulk.skip(vacancyNumber, "is already terminated");
+                return false;
+            }
+            if (journal != null) {
+                journal.recordTerminate(vacancyNumber);  // Save the change first
+            }
+            StaffState before = StaffState.of(staff);
+            int oldVersion = versions[position];
+            reindexed(staff, position, partTime::terminateStaff);
+            step.add(position, oldVersion, nextVersion(position), before, StaffState.of(staff));
+            changes.record(position, StaffChanges.TERMINATED);
+            return true;
+        });
+        return report;
+    }
+
+    /**
+     * Undoes the latest change to existing staff, including bulk changes
+     * A change cannot be undone once any of its staff has been changed again since,
+     * such as through the HTTP API. It is then dropped and CONFLICT is returned, and
+     * the change before it can still be undone
+     *
+     * @return SUCCESS, CONFLICT, or NOT_FOUND if there is nothing to undo
+     */
+    public Result undo() throws IOException {
+        return applyHistory(true);
+    }
+
+    /**
+     * Makes the latest undone change again
+     *
+     * @return SUCCESS, CONFLICT, or NOT_FOUND if there is nothing to redo
+     */
+    public Result redo() throws IOException {
+        return applyHistory(false);
+    }
+
+    /**
+     * Describes the change Undo would undo, such as "Set salary of vacancy 12"
+     *
+     * @return The description, or null if there is nothing to undo
+     */
+    public String undoDescription() {
+        StaffHistory.Step step = history.nextUndo();
+        return step == null ? null : step.getDescription();
+    }
+
+    /**
+     * Describes the change Redo would make again
+     *
+     * @return The description, or null if there is nothing to redo
+     */
+    public String redoDescription() {
+        StaffHistory.Step step = history.nextRedo();
+        return step == null ? null : step.getDescription();
+    }
+
+    /**
+     * Copies the pay fields of every staff member for a payroll run
+     * The payroll then runs on the copy, so it does not hold up other changes
+     */
+    public PayrollEngine.Roster payrollRoster() {
+        rosterLock.readLock().lock();
+        try {
+            return PayrollEngine.roster(staffList);
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Delivers the last changes and syncs and closes the journal or mapped staff files
+     */
+    public void close() throws IOException {
+        changes.close();  // Deliver the last changes to the listeners
+        rosterLock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+            if (staffList instanceof MappedStaffFile) {
+                ((MappedStaffFile) staffList).close();
+            }
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+    }
+
+    // Checks the fields of a new staff member, the same rules as the form and the CSV import
+    private Result validate(StaffHire staff) {
+        String shifts = "";  // Full-time staff have no shifts to check
+        if (staff instanceof PartTimeStaffHire) {
+            shifts = ((PartTimeStaffHire) staff).getShifts();
+            if (StaffValidation.hasMissingFields(shifts)) {
+                return Result.MISSING_FIELDS;
+            }
+        }
+        if (StaffValidation.hasMissingFields(staff.getDesignation(), staff.getJobType(), staff.getStaffName(),
+                staff.getJoiningDate(), staff.getQualification(), staff.getAppointedBy())) {
+            return Result.MISSING_FIELDS;
+        }
+        if (staff.getVacancyNumber() < 0
+            || !StaffValidation.isValidText(staff.getDesignation()) || !StaffValidation.isValidText(staff.getJobType())
+            || !StaffValidation.isValidText(staff.getStaffName()) || !StaffValidation.isValidText(staff.getQualification())
+            || !StaffValidation.isValidText(staff.getAppointedBy()) || !StaffValidation.isValidText(shifts)
+            || !StaffValidation.isValidDate(staff.getJoiningDate())) {
+            return Result.INVALID_FIELDS;
+        }
+        if (staffIndex.containsKey(staff.getVacancyNumber())) {
+            return Result.DUPLICATE;
+        }
+        return Result.SUCCESS;
+    }
+
+    // Adds a staff member to the list and its indexes and returns its position
+    private int storeStaff(StaffHire staff) {
+        int position = staffList.size();  // Position the new staff will take
+        staffIndex.put(staff.getVacancyNumber(), position);
+        joiningIndex.add(staff.getJoiningDay(), position);
+        staffList.add(staff);
+        searchIndex.add(staff, position);  // After adding, as the index reads the staff list
+        bitmapIndex.add(staff, position);
+        totals.add(staff);
+        if (position == versions.length) {
+            versions = Arrays.copyOf(versions, position * 2);
+            newestVersions = Arrays.copyOf(newestVersions, position * 2);
+        }
+        changes.record(position, StaffChanges.INSERTED);
+        return position;
+    }
+
+    // Makes a change that may alter indexed fields and updates the indexes. The roster lock must be held alone
+    private void reindexed(StaffHire staff, int position, Runnable change) {
+        int joiningDay = staff.getJoiningDay();
+        searchIndex.remove(staff, position);  // Terminating blanks the name, qualification and appointed by
+        bitmapIndex.remove(staff, position);  // and changes joined and terminated
+        totals.remove(staff);
+        change.run();
+        searchIndex.add(staff, position);
+        bitmapIndex.add(staff, position);
+        totals.add(staff);
+        if (staff.getJoiningDay() != joiningDay) {
+            joiningIndex.remove(joiningDay, position);  // Terminating clears the joining date, undoing puts it back
+            joiningIndex.add(staff.getJoiningDay(), position);
+        }
+    }
+
+    // Runs a bulk change over the whole staff list in one pass
+    // The roster lock is taken alone for BULK_CHUNK staff at a time, so lookups and the
+    // table are not held up for the whole change. Listeners get the changed staff in one
+    // batch per frame. Every change made is recorded as one step in the history, even if
+    // the change is cancelled or fails part way
+    private void bulkChange(Predicate<StaffHire> where, BulkReport report, StaffTaskRunner.Progress progress,
+        StaffHistory.Step step, BulkAction action) throws IOException {
+        try {
+            int total = size();
+            for (int start = 0; start < total; start += BULK_CHUNK) {
+                if (progress != null && progress.isCancelled()) {
+                    report.cancelled();
+                    break;
+                }
+                int end = Math.min(total, start + BULK_CHUNK);
+                rosterLock.writeLock().lock();
+                try {
+                    for (int position = start; position < end; position++) {
+                        StaffHire staff = staffList.get(position);
+                        if (!where.test(staff)) {
+                            continue;
+                        }
+                        report.matched();
+                        if (action.apply(staff, position, step, report)) {
+                            report.changed();
+                        }
+                    }
+                    report.checked(end - start);
+                    snapshotIfDue();
+                } finally {
+                    rosterLock.writeLock().unlock();
+                }
+                if (progress != null) {
+                    progress.update(end, total);
+                }
+            }
+        } finally {
+            history.record(step);
+        }
+    }
+
+    // Puts back the values and versions before (undo) or after (redo) the next step in the history
+    // Every staff member in the step must still have the version on the other side of the step
+    private Result applyHistory(boolean undo) throws IOException {
+        StaffHistory.Step step;
+        rosterLock.writeLock().lock();
+        try {
+            step = undo ? history.nextUndo() : history.nextRedo();
+            if (step == null) {
+                return Result.NOT_FOUND;
+            }
+            int[] expected = undo ? step.versionsAfter : step.versionsBefore;
+            for (int i = 0; i < step.size; i++) {
+                if (versions[step.positions[i]] != expected[i]) {
+                    if (undo) {
+                        history.dropUndo();  // Changed since, so it can never be applied
+                    } else {
+                        history.dropRedo();
+                    }
+                    return Result.CONFLICT;
+                }
+            }
+            for (int i = 0; i < step.size; i++) {
+                int position = step.positions[i];
+                StaffHire staff = staffList.get(position);
+                int vacancyNumber = staff.getVacancyNumber();
+                if (step.isPay()) {
+                    double pay = undo ? step.payBefore[i] : step.payAfter[i];
+                    if (staff instanceof FullTimeStaffHire) {
+                        if (journal != null) {
+                            journal.recordSetSalary(vacancyNumber, pay);  // Save the change first
+                        }
+                        FullTimeStaffHire fullTime = (FullTimeStaffHire) staff;
+                        double oldSalary = fullTime.getSalary();
+                        fullTime.setSalary(pay);
+                        totals.salaryChanged(oldSalary, fullTime.getSalary());
+                        changes.record(position, StaffChanges.SALARY_CHANGED);
+                    } else {
+                        if (journal != null) {
+                            journal.recordSetWages(vacancyNumber, pay);
+                        }
+                        PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+                        double oldWages = partTime.getWagesPerHour();
+                        partTime.setWagesPerHour(pay);
+                        totals.wagesChanged(partTime, oldWages);
+                        changes.record(position, StaffChanges.WAGES_CHANGED);
+                    }
+                } else {
+                    StaffState state = undo ? step.stateBefore[i] : step.stateAfter[i];
+                    if (journal != null) {
+                        journal.recordRestore(vacancyNumber, state);
+                    }
+                    boolean wasTerminated = staff instanceof PartTimeStaffHire && ((PartTimeStaffHire) staff).getTerminated();
+                    reindexed(staff, position, () -> state.applyTo(staff));
+                    changes.record(position, !wasTerminated && state.getTerminated()
+                        ? StaffChanges.FIELDS_RESTORED | StaffChanges.TERMINATED : StaffChanges.FIELDS_RESTORED);
+                }
+                versions[position] = undo ? step.versionsBefore[i] : step.versionsAfter[i];  // Back to the version of these values
+            }
+            if (undo) {
+                history.undone();
+            } else {
+                history.redone();
+            }
+            snapshotIfDue();
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+        return Result.SUCCESS;
+    }
+
+    // Writes a journal snapshot once enough changes have built up
+    // Only called while the roster lock is held alone, so no recorded change is still waiting to be applied
+    private void snapshotIfDue() {
+        if (journal == null || !journal.isSnapshotDue()) {
+            return;
+        }
+        try {
+            journal.snapshot();
+        } catch (IOException e) {
+            e.printStackTrace();  // The change is already in the journal, so try again after the next change
+        }
+    }
+
+    // Takes the roster lock alone to write a journal snapshot once enough changes have built up
+    // Called after a salary or shift change, which only holds the lock shared
+    private void snapshotLockedIfDue() {
+        if (journal == null || !journal.isSnapshotDue()) {
+            return;
+        }
+        rosterLock.writeLock().lock();  // Waits for changes in progress on other stripes
+        try {
+            snapshotIfDue();
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+    }
+
+    // Gives a changed staff member a version it has never had. The stripe or the roster lock alone must be held
+    private int nextVersion(int position) {
+        versions[position] = ++newestVersions[position];
+        return versions[position];
+    }
+
+    // Gets the lock for changes to a staff member
+    private Object stripe(int vacancyNumber) {
+        return stripes[(vacancyNumber ^ (vacancyNumber >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -2,15 +2,16 @@
 import java.awt.*;              // For GUI components like Container, GridLayout, etc.
 import java.awt.event.*;        // For event handling (ActionListener interface)
 import javax.swing.*;           // For Swing GUI components (JFrame, JButton, etc.)
-import javax.swing.table.DefaultTableModel;  // For creating and managing table data
-import java.util.ArrayList;     // For dynamic array implementation (staffList)
+import java.util.ArrayList;     // For the fallback in-memory staff list
 import java.util.List;          // For List interface
-import java.io.ByteArrayOutputStream;  // For capturing output streams
-import java.io.PrintStream;     // For redirecting System.out
+import java.util.concurrent.CancellationException;  // For cancelled imports
+import java.util.function.Predicate;                // For the staff a bulk change applies to
+import java.io.IOException;    // For errors saving or loading staff
+import java.io.File;           // For the file chosen to import
+import javax.management.JMException;  // For errors publishing the latency metrics
 import javax.swing.text.*;      // For document filtering (input validation)
-import java.util.regex.Pattern; // For regular expression pattern matching
-import java.text.SimpleDateFormat;  // For date formatting and parsing
-import java.text.ParseException;    // For handling date parsing errors
+import javax.swing.event.DocumentEvent;     // For changes to the search box
+import javax.swing.event.DocumentListener;  // For listening to the search box
 
 /**
  * Main class for the Recruitment System GUI
@@ -18,6 +19,10 @@ import java.text.ParseException;    // For handling date parsing errors
  * It handles user interactions, data storage, and operations on staff records
  */
 public class RecruitmentSystem implements ActionListener {  // ActionListener interface enables button event handling
+    private static final int SEARCH_DELAY_MS = 200;      // Wait for typing to pause before searching
+    private static final int TOTALS_CHECK_MS = 60_000;   // Time between full recounts of the dashboard totals
+    private static final int MAX_SEARCH_RESULTS = 1000;  // Most search results shown in the table
+
     // Main GUI components
     private JFrame frame;               // Main application window
     private JPanel mainPanel;           // Main container panel
@@ -30,6 +35,15 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
     private JButton terminateStaffButton;      // Button to terminate part-time staff
     private JButton displayButton;             // Button to display staff details
     private JButton clearButton;               // Button to clear input fields
+    private JButton importButton;              // Button to import staff from a CSV file
+    private JButton exportButton;              // Button to export staff to a CSV or JSON file
+    private JButton payrollButton;             // Button to work out the payroll of all staff
+    private JButton bulkRaiseButton;           // Button to raise the pay of many staff at once
+    private JButton bulkTerminateButton;       // Button to terminate many part-time staff at once
+    private JButton undoButton;                // Button to undo the latest change to existing staff
+    private JButton redoButton;                // Button to make the latest undone change again
+    private JButton cancelTasksButton;         // Button to cancel the staff operations still running
+    private JProgressBar taskProgressBar;      // Shows the staff operations still running
 
     // Form fields attributes - input fields for staff information
     private JTextField vacancyNumberField;          // For vacancy number input
@@ -49,12 +63,36 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
     // Checkbox attribute for joined status
     private JCheckBox joinedCheckBox;               // Indicates if staff has joined
 
-    // Staff list to store all staff objects (both full-time and part-time)
-    private List<StaffHire> staffList = new ArrayList<>();  // ArrayList for dynamic storage
+    // Service holding the staff list and applying the recruitment rules, shared with the HTTP server
+    private RecruitmentService service;
+    private RecruitmentHttpServer httpServer;  // Local HTTP API, null unless recruitment.http.port is set
+    private StaffTaskRunner taskRunner;        // Runs staff operations off the Event Dispatch Thread
 
     // Components for displaying staff in a table
     private JTable staffTable;           // Table to display staff information
-    private DefaultTableModel tableModel; // Model to handle table data
+    private StaffTableModel tableModel;   // Model reading table data from the service
+    private JTextField filterFromField;   // First joining date shown in the table (dd/mm/yyyy)
+    private JTextField filterToField;     // Last joining date shown in the table (dd/mm/yyyy)
+    private JTextField searchField;       // Words to search staff for
+    private JLabel searchStatusLabel;     // Number of search results
+    private Timer searchTimer;            // Runs the search once typing pauses
+    private JToggleButton fullTimeToggle;     // Staff type and status filters, combined into a StaffQuery
+    private JToggleButton partTimeToggle;
+    private JToggleButton joinedToggle;
+    private JToggleButton notJoinedToggle;
+    private JToggleButton terminatedToggle;
+    private JLabel shownCountLabel;       // Number of staff shown in the table
+    private SwingWorker<int[], Void> searchWorker;  // Latest search, older ones are ignored
+
+    // Dashboard of headcounts and pay totals beside the table
+    private JLabel fullTimeCountLabel;
+    private JLabel partTimeCountLabel;
+    private JLabel joinedCountLabel;
+    private JLabel notJoinedCountLabel;
+    private JLabel terminatedCountLabel;
+    private JLabel totalSalaryLabel;
+    private JLabel dailyWageLabel;
+    private Timer totalsCheckTimer;       // Recounts the totals every TOTALS_CHECK_MS, stopped on close
 
     /**
      * Constructor - sets up the main GUI
@@ -80,26 +118,101 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         titlePanel.add(titleLabel);
         mainPanel.add(titlePanel, BorderLayout.NORTH);  // Add to top of main panel
 
+        // Load staff saved by previous runs
+        openService();
+        taskRunner = new StaffTaskRunner();
+
         // Create and add all panels
         createFormPanel();     // Create panel with input fields
         createButtonPanel();   // Create panel with buttons
         createTablePanel();    // Create panel with staff table
 
+        // Sync saved staff to disk before the application exits
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeStorage();
+            }
+        });
+
         // Add main panel to frame and display
         frame.add(mainPanel);
         frame.setVisible(true);  // Make the window visible
     }
 
+    /**
+     * Opens the recruitment service and loads the staff saved by previous runs
+     * If saved staff cannot be loaded the system still works, but changes are not saved
+     */
+    private void openService() {
+        try {
+            service = RecruitmentService.open();
+        } catch (IOException e) {
+            service = new RecruitmentService(new ArrayList<>(), null);  // Carry on without saving
+            JOptionPane.showMessageDialog(frame, "Saved staff could not be loaded, changes will not be saved.\n" + e.getMessage(), 
+                "Load Error", JOptionPane.ERROR_MESSAGE);
+        }
+
+        // Publish the operation latencies for JConsole
+        try {
+            service.getMetrics().register();
+        } catch (JMException e) {
+            e.printStackTrace();  // The system works without them
+        }
+
+        // Serve the HTTP API alongside the window if a port was given
+        Integer port = Integer.getInteger("recruitment.http.port");
+        if (port != null) {
+            try {
+                httpServer = new RecruitmentHttpServer(service, port);
+                httpServer.start();
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(frame, "The HTTP API could not be started on port " + port + ".\n" + e.getMessage(), 
+                    "Server Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Syncs and closes the saved staff files
+     * Called when the window is closed
+     */
+    private void closeStorage() {
+        totalsCheckTimer.stop();  // So no recount is queued behind the shutdown
+        try {
+            if (!taskRunner.shutdown(5000)) {  // Let changes already clicked finish first
+                System.err.println("Staff operations still running at exit were not finished.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (httpServer != null) {
+            httpServer.stop();
+        }
+        try {
+            service.close();
+        } catch (IOException e) {
+            e.printStackTrace();  // Nothing more can be done while exiting
+        }
+    }
+
+    /**
+     * Shows an error when a change could not be saved
+     * The change is not applied, so the staff list matches what is saved
+     * 
+     * @param e The error from the journal
+     */
+    private void showSaveError(IOException e) {
+        JOptionPane.showMessageDialog(frame, "The change could not be saved: " + e.getMessage(), 
+            "Save Error", JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * String Document Filter class
      * Ensures text fields only accept alphabetic characters and spaces
      * Used for name, designation, job type, etc.
      */
     class StringDocumentFilter extends DocumentFilter {
-        // Regular expression pattern allowing alphabetic characters and spaces
-        // The * allows empty strings (for clearing fields)
-        private final Pattern pattern = Pattern.compile("[a-zA-Z\\s]*");
-
         /**
          * Controls insertion of text into the document
          * Only allows text matching the pattern
@@ -107,8 +220,8 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         @Override
         public void insertString(FilterBypass fb, int offset, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Check if text is null or matches the pattern
-            if (text == null || pattern.matcher(text).matches()) {
+            // Check if text is null or follows the shared validation rule
+            if (text == null || StaffValidation.isValidText(text)) {
                 super.insertString(fb, offset, text, attrs);  // Allow the insertion
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
@@ -122,8 +235,8 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         @Override
         public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Check if text is null or matches the pattern
-            if (text == null || pattern.matcher(text).matches()) {
+            // Check if text is null or follows the shared validation rule
+            if (text == null || StaffValidation.isValidText(text)) {
                 super.replace(fb, offset, length, text, attrs);  // Allow the replacement
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
@@ -137,9 +250,6 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
      * Used for vacancy number, fractional hours, etc.
      */
     class IntegerDocumentFilter extends DocumentFilter {
-        // Regular expression pattern allowing only digits
-        private final Pattern pattern = Pattern.compile("\\d*");
-
         /**
          * Controls insertion of text into the document
          * Only allows text matching the pattern
@@ -147,8 +257,8 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         @Override
         public void insertString(FilterBypass fb, int offset, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Check if text is null or matches the pattern
-            if (text == null || pattern.matcher(text).matches()) {
+            // Check if text is null or follows the shared validation rule
+            if (text == null || StaffValidation.isValidInteger(text)) {
                 super.insertString(fb, offset, text, attrs);  // Allow the insertion
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
@@ -162,8 +272,8 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         @Override
         public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Check if text is null or matches the pattern
-            if (text == null || pattern.matcher(text).matches()) {
+            // Check if text is null or follows the shared validation rule
+            if (text == null || StaffValidation.isValidInteger(text)) {
                 super.replace(fb, offset, length, text, attrs);  // Allow the replacement
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
@@ -177,18 +287,17 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
      * Used for salary, wages per hour, etc.
      */
     class DecimalDocumentFilter extends DocumentFilter {
-        // Regular expression pattern allowing digits and one decimal point
-        private final Pattern pattern = Pattern.compile("\\d*\\.?\\d*");
+        private final EditedText edited = new EditedText();  // Reused for every keystroke
 
         /**
          * Controls insertion of text into the document
-         * Only allows text matching the pattern
+         * Only allows digits and at most one decimal point in the whole field
          */
         @Override
         public void insertString(FilterBypass fb, int offset, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Check if text is null or matches the pattern
-            if (text == null || pattern.matcher(text).matches()) {
+            // Check if text is null or the field still follows the shared validation rule after the insertion
+            if (text == null || StaffValidation.isValidDecimal(edited.set(fb.getDocument(), offset, 0, text))) {
                 super.insertString(fb, offset, text, attrs);  // Allow the insertion
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
@@ -197,13 +306,13 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
 
         /**
          * Controls replacement of text in the document
-         * Only allows text matching the pattern
+         * Only allows digits and at most one decimal point in the whole field
          */
         @Override
         public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Check if text is null or matches the pattern
-            if (text == null || pattern.matcher(text).matches()) {
+            // Check if text is null or the field still follows the shared validation rule after the replacement
+            if (text == null || StaffValidation.isValidDecimal(edited.set(fb.getDocument(), offset, length, text))) {
                 super.replace(fb, offset, length, text, attrs);  // Allow the replacement
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
@@ -217,9 +326,7 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
      * Used for joining date
      */
     class DateDocumentFilter extends DocumentFilter {
-        // Regular expression for partial date format (dd/mm/yyyy)
-        private final Pattern datePattern = Pattern.compile("([0-9]{0,2}/)?([0-9]{0,2}/)?([0-9]{0,4})");
-        private final int MAX_LENGTH = 10;  // Max length of date string (dd/mm/yyyy = 10 chars)
+        private final EditedText edited = new EditedText();  // Reused for every keystroke
 
         /**
          * Controls insertion of text into the document
@@ -228,12 +335,8 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         @Override
         public void insertString(FilterBypass fb, int offset, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Get current text and calculate resulting text after insertion
-            String currentText = fb.getDocument().getText(0, fb.getDocument().getLength());
-            String resultingText = new StringBuilder(currentText).insert(offset, text).toString();
-
-            // Check if resulting text is valid partial date and within max length
-            if (isValidPartialDate(resultingText) && resultingText.length() <= MAX_LENGTH) {
+            // Check if the field would still hold a valid partial date, without building the new text
+            if (text == null || StaffValidation.isValidPartialDate(edited.set(fb.getDocument(), offset, 0, text))) {
                 super.insertString(fb, offset, text, attrs);  // Allow the insertion
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
@@ -247,64 +350,64 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         @Override
         public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) 
         throws BadLocationException {
-            // Get current text and calculate resulting text after replacement
-            String currentText = fb.getDocument().getText(0, fb.getDocument().getLength());
-            String resultingText = new StringBuilder(currentText).replace(offset, offset + length, text).toString();
-
-            // Check if resulting text is valid partial date and within max length
-            if (isValidPartialDate(resultingText) && resultingText.length() <= MAX_LENGTH) {
+            // Check if the field would still hold a valid partial date, without building the new text
+            if (text == null || StaffValidation.isValidPartialDate(edited.set(fb.getDocument(), offset, length, text))) {
                 super.replace(fb, offset, length, text, attrs);  // Allow the replacement
             } else {
                 Toolkit.getDefaultToolkit().beep();  // Make error sound if invalid input
             }
         }
+    }
+
+    /**
+     * The text a document would hold after an edit, read in place
+     * Characters come from the document's own buffer and the inserted text,
+     * so a filter can check the result of a keystroke without copying anything.
+     * Each filter keeps one and reuses it, filters only run on the Event Dispatch Thread
+     */
+    static class EditedText implements CharSequence {
+        private final Segment current = new Segment();  // The document text before the edit
+        private int offset;                             // Where the edit starts
+        private int removed;                            // Characters removed by the edit
+        private String inserted;                        // Text inserted by the edit
 
         /**
-         * Checks if text is a valid partial date
-         * Allows progressive typing of a date
+         * Points at the result of replacing length characters at offset with text
+         *
+         * @return this, for passing straight to a check
          */
-        private boolean isValidPartialDate(String text) {
-            // Empty string is valid (for clearing the field)
-            if (text.isEmpty()) {
-                return true;
-            }
+        EditedText set(Document document, int offset, int length, String text) throws BadLocationException {
+            document.getText(0, document.getLength(), current);
+            this.offset = offset;
+            this.removed = length;
+            this.inserted = text;
+            return this;
+        }
 
-            // Check if text matches pattern for partial date
-            if (!datePattern.matcher(text).matches()) {
-                return false;
-            }
+        @Override
+        public int length() {
+            return current.count - removed + inserted.length();
+        }
 
-            // If it's a complete date, validate it
-            if (text.length() == MAX_LENGTH) {
-                return isValidCompleteDate(text);
+        @Override
+        public char charAt(int index) {
+            if (index < offset) {
+                return current.array[current.offset + index];
             }
-
-            return true;  // Partial date is valid
+            if (index < offset + inserted.length()) {
+                return inserted.charAt(index - offset);
+            }
+            return current.array[current.offset + index - inserted.length() + removed];
         }
 
-        /**
-         * Checks if text is a valid complete date
-         * Validates the actual date (day, month, year)
-         */
-        private boolean isValidCompleteDate(String dateStr) {
-            // Create date formatter with strict validation
-            SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-            sdf.setLenient(false);  // Strict date validation
-
-            try {
-                // Try to parse the date
-                sdf.parse(dateStr);
-
-                // Additional validation for day and month ranges
-                String[] parts = dateStr.split("/");
-                int day = Integer.parseInt(parts[0]);
-                int month = Integer.parseInt(parts[1]);
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
 
-                // Check day and month ranges
-                return day >= 1 && day <= 31 && month >= 1 && month <= 12;
-            } catch (ParseException | NumberFormatException e) {
-                return false;  // Invalid date
-            }
+        @Override
+        public String toString() {
+            return new StringBuilder(length()).append(this).toString();
         }
     }
 
@@ -485,8 +588,8 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
      * Sets up button layout and adds action listeners
      */
     private void createButtonPanel() {
-        // Create panel with grid layout (2 rows, 4 columns, with gaps)
-        JPanel buttonPanel = new JPanel(new GridLayout(2, 4, 10, 10));
+        // Create panel with grid layout (4 rows, 4 columns, with gaps)
+        JPanel buttonPanel = new JPanel(new GridLayout(4, 4, 10, 10));
         buttonPanel.setBackground(Color.decode("#F2EFE7"));  // Set background color
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));  // Add vertical padding
 
@@ -498,6 +601,41 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         terminateStaffButton = createButton("Terminate Staff", buttonPanel);
         displayButton = createButton("Display Staff", buttonPanel);
         clearButton = createButton("Clear", buttonPanel);
+        importButton = createButton("Import CSV", buttonPanel);
+        exportButton = createButton("Export", buttonPanel);
+        payrollButton = createButton("Payroll", buttonPanel);
+        bulkRaiseButton = createButton("Bulk Raise", buttonPanel);
+        bulkTerminateButton = createButton("Bulk Terminate", buttonPanel);
+        undoButton = createButton("Undo", buttonPanel);
+        redoButton = createButton("Redo", buttonPanel);
+        updateUndoButtons();  // Nothing to undo yet
+        cancelTasksButton = createButton("Cancel", buttonPanel);
+        cancelTasksButton.setEnabled(false);  // Nothing is running yet
+
+        // Show the staff operations running in the background
+        taskProgressBar = new JProgressBar();
+        taskProgressBar.setStringPainted(true);
+        taskProgressBar.setString("Ready");
+        buttonPanel.add(taskProgressBar);
+        taskRunner.setActivityListener(this::showTaskActivity);
+
+        // Undo and redo from the keyboard too, and keep the buttons up to date with changes from anywhere
+        JRootPane rootPane = frame.getRootPane();
+        rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke("control Z"), "undo");
+        rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke("control Y"), "redo");
+        rootPane.getActionMap().put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                runHistory(true);
+            }
+        });
+        rootPane.getActionMap().put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                runHistory(false);
+            }
+        });
+        service.addListener(changes -> SwingUtilities.invokeLater(this::updateUndoButtons));  // Once per batch of changes
 
         // Add button panel to main panel at the bottom
         mainPanel.add(buttonPanel, BorderLayout.SOUTH);
@@ -524,59 +662,289 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
      * Sets up table model, columns, and scrolling
      */
     private void createTablePanel() {
-        // Create table model with column names
-        String[] columnNames = {"Index", "Vacancy #", "Staff Name", "Designation", "Job Type", "Status"};
-        tableModel = new DefaultTableModel(columnNames, 0);  // 0 initial rows
+        // Create table model reading straight from the service, kept up to date by its change notices
+        tableModel = new StaffTableModel(service);
+        service.addListener(tableModel);
 
         // Create table with model
         staffTable = new JTable(tableModel);
         JScrollPane scrollPane = new JScrollPane(staffTable);  // Add scrolling capability
         scrollPane.setPreferredSize(new Dimension(750, 150));  // Set preferred size
 
+        // Create joining date filter above the table
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.setBackground(Color.decode("#F2EFE7"));  // Match background color
+        filterFromField = new JTextField(10);
+        ((AbstractDocument) filterFromField.getDocument()).setDocumentFilter(new DateDocumentFilter());
+        filterFromField.setToolTipText("dd/mm/yyyy, leave empty for no start date");
+        filterToField = new JTextField(10);
+        ((AbstractDocument) filterToField.getDocument()).setDocumentFilter(new DateDocumentFilter());
+        filterToField.setToolTipText("dd/mm/yyyy, leave empty for no end date");
+        JButton filterButton = new JButton("Filter");
+        filterButton.addActionListener(e -> applyDateFilter());  // Show only staff joining in the range
+        JButton showAllButton = new JButton("Show All");
+        showAllButton.addActionListener(e -> clearDateFilter());  // Show every staff member again
+        filterPanel.add(new JLabel("Joining from:"));
+        filterPanel.add(filterFromField);
+        filterPanel.add(new JLabel("to:"));
+        filterPanel.add(filterToField);
+        filterPanel.add(filterButton);
+        filterPanel.add(showAllButton);
+
+        // Create search box, searching as the user types once they pause
+        searchField = new JTextField(15);
+        searchField.setToolTipText("Name, designation, qualification or appointed by");
+        searchStatusLabel = new JLabel();
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> runSearch());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();  // Each keystroke pushes the search back
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Plain text fields have no attribute changes
+            }
+        });
+        filterPanel.add(new JLabel("Search:"));
+        filterPanel.add(searchField);
+        filterPanel.add(searchStatusLabel);
+
+        // Create staff type and status toggles below, answered from the service's bitmap indexes
+        JPanel togglePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        togglePanel.setBackground(Color.decode("#F2EFE7"));  // Match background color
+        fullTimeToggle = createToggle("Full Time", togglePanel);
+        partTimeToggle = createToggle("Part Time", togglePanel);
+        joinedToggle = createToggle("Joined", togglePanel);
+        notJoinedToggle = createToggle("Not Joined", togglePanel);
+        terminatedToggle = createToggle("Terminated", togglePanel);
+        shownCountLabel = new JLabel();
+        togglePanel.add(shownCountLabel);
+        tableModel.addTableModelListener(e -> updateShownCount());  // Rows change with every filter and refresh
+        updateShownCount();
+
+        JPanel northPanel = new JPanel(new GridLayout(2, 1));
+        northPanel.add(filterPanel);
+        northPanel.add(togglePanel);
+
         // Create panel for table
-        JPanel tablePanel = new JPanel();
+        JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setBackground(Color.decode("#F2EFE7"));  // Set background color
         tablePanel.setBorder(BorderFactory.createTitledBorder("Staff List"));  // Add border with title
-        tablePanel.add(scrollPane);  // Add table with scrolling
+        tablePanel.add(northPanel, BorderLayout.NORTH);    // Add filters and search above the table
+        tablePanel.add(scrollPane, BorderLayout.CENTER);   // Add table with scrolling
+        tablePanel.add(createDashboardPanel(), BorderLayout.EAST);  // Add headcounts and pay totals beside the table
 
         // Add table panel to main panel at the top
         mainPanel.add(tablePanel, BorderLayout.NORTH);
     }
 
     /**
-     * Refreshes the table with current staff list
-     * Called whenever the staff list changes
+     * Creates the dashboard of headcounts and pay totals
+     * The totals are read from the service's running totals once per batch of changes,
+     * and recounted from every staff member every TOTALS_CHECK_MS in the background
+     *
+     * @return The dashboard panel
      */
-    private void refreshTable() {
-        // Clear the table
-        tableModel.setRowCount(0);  // Remove all rows
+    private JPanel createDashboardPanel() {
+        JPanel dashboardPanel = new JPanel(new GridLayout(7, 2, 10, 2));
+        dashboardPanel.setBackground(Color.decode("#F2EFE7"));  // Match background color
+        dashboardPanel.setBorder(BorderFactory.createTitledBorder("Dashboard"));
+        fullTimeCountLabel = addDashboardRow("Full time:", dashboardPanel);
+        partTimeCountLabel = addDashboardRow("Part time:", dashboardPanel);
+        joinedCountLabel = addDashboardRow("Joined:", dashboardPanel);
+        notJoinedCountLabel = addDashboardRow("Not joined:", dashboardPanel);
+        terminatedCountLabel = addDashboardRow("Terminated:", dashboardPanel);
+        totalSalaryLabel = addDashboardRow("Full-time salaries:", dashboardPanel);
+        dailyWageLabel = addDashboardRow("Part-time wages/day:", dashboardPanel);
+        updateDashboard();
+
+        service.addListener(changes -> SwingUtilities.invokeLater(this::updateDashboard));  // Once per batch of changes
+
+        // Check the running totals against a full recount now and then, and show the recount if they differed
+        totalsCheckTimer = new Timer(TOTALS_CHECK_MS, e -> taskRunner.submit(StaffTaskRunner.NO_KEY,
+            progress -> service.checkTotals(), (right, error) -> {
+                if (error != null) {
+                    error.printStackTrace();  // Checked again on the next tick
+                } else if (!right) {
+                    updateDashboard();
+                }
+            }));
+        totalsCheckTimer.start();
+        return dashboardPanel;
+    }
 
-        // Add each staff member to the table
-        for (int i = 0; i < staffList.size(); i++) {
-            StaffHire staff = staffList.get(i);  // Get staff at index i
+    // Adds a name and value row to the dashboard and returns the value label
+    private JLabel addDashboardRow(String name, JPanel panel) {
+        JLabel value = new JLabel();
+        value.setHorizontalAlignment(SwingConstants.RIGHT);
+        panel.add(new JLabel(name));
+        panel.add(value);
+        return value;
+    }
 
-            // Determine status based on staff type
-            String status;
-            if (staff instanceof FullTimeStaffHire) {
-                status = "Full Time";  // Full-time staff
-            } else {
-                PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
-                status = partTime.getTerminated() ? "Terminated" : "Part Time";  // Part-time status
+    // Shows the service's running totals, which does not check each staff member
+    private void updateDashboard() {
+        StaffTotals.Snapshot totals = service.totals();
+        fullTimeCountLabel.setText(String.format("%,d", totals.getFullTime()));
+        partTimeCountLabel.setText(String.format("%,d", totals.getPartTime()));
+        joinedCountLabel.setText(String.format("%,d", totals.getJoined()));
+        notJoinedCountLabel.setText(String.format("%,d", totals.getNotJoined()));
+        terminatedCountLabel.setText(String.format("%,d", totals.getTerminated()));
+        totalSalaryLabel.setText(String.format("%,.2f", totals.getTotalSalary()));
+        dailyWageLabel.setText(String.format("%,.2f", totals.getDailyWageCost()));
+    }
+
+    /**
+     * Creates a staff type or status toggle that updates the table when pressed
+     *
+     * @param text  The toggle's label
+     * @param panel The panel to add the toggle to
+     * @return      The created toggle
+     */
+    private JToggleButton createToggle(String text, JPanel panel) {
+        JToggleButton toggle = new JToggleButton(text);
+        toggle.setFocusable(false);                           // Prevent focus highlighting
+        toggle.addActionListener(e -> applyStaffQuery());
+        panel.add(toggle);
+        return toggle;
+    }
+
+    /**
+     * Shows only staff matching the pressed toggles
+     * Toggles in the same group (Full Time, Part Time) or (Joined, Not Joined,
+     * Terminated) widen the filter, while the two groups narrow each other, so
+     * Part Time with Terminated shows only terminated part-time staff
+     */
+    private void applyStaffQuery() {
+        StaffQuery type = null;
+        if (fullTimeToggle.isSelected()) {
+            type = StaffQuery.fullTime();
+        }
+        if (partTimeToggle.isSelected()) {
+            type = type == null ? StaffQuery.partTime() : type.or(StaffQuery.partTime());
+        }
+        StaffQuery status = null;
+        if (joinedToggle.isSelected()) {
+            status = StaffQuery.joined();
+        }
+        if (notJoinedToggle.isSelected()) {
+            StaffQuery notJoined = StaffQuery.joined().not();
+            status = status == null ? notJoined : status.or(notJoined);
+        }
+        if (terminatedToggle.isSelected()) {
+            status = status == null ? StaffQuery.terminated() : status.or(StaffQuery.terminated());
+        }
+        StaffQuery query = type == null ? status : status == null ? type : type.and(status);
+        tableModel.setStaffQuery(query);
+    }
+
+    // Shows how many staff the table shows out of the whole roster
+    private void updateShownCount() {
+        int shown = tableModel.getRowCount();
+        int total = service.size();
+        shownCountLabel.setText(shown == total ? total + " staff" : shown + " of " + total + " staff");
+    }
+
+    /**
+     * Shows only staff joining between the two filter dates
+     * An empty date leaves that end of the range open
+     */
+    private void applyDateFilter() {
+        String from = filterFromField.getText();
+        String to = filterToField.getText();
+        if ((!from.isEmpty() && !StaffValidation.isValidDate(from)) || (!to.isEmpty() && !StaffValidation.isValidDate(to))) {
+            JOptionPane.showMessageDialog(frame, "Please enter complete dd/mm/yyyy dates to filter by.", 
+                "Invalid Input", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        int fromDay = from.isEmpty() ? Integer.MIN_VALUE : JoiningDate.parse(from);
+        int toDay = to.isEmpty() ? Integer.MAX_VALUE : JoiningDate.parse(to);
+        clearSearch();  // The date filter replaces any search
+        tableModel.setJoiningDateFilter(fromDay, toDay);
+    }
+
+    /**
+     * Clears the joining date filter, search and toggles and shows every staff member
+     */
+    private void clearDateFilter() {
+        filterFromField.setText("");
+        filterToField.setText("");
+        clearSearch();
+        fullTimeToggle.setSelected(false);
+        partTimeToggle.setSelected(false);
+        joinedToggle.setSelected(false);
+        notJoinedToggle.setSelected(false);
+        terminatedToggle.setSelected(false);
+        tableModel.setStaffQuery(null);
+        tableModel.clearFilter();
+    }
+
+    /**
+     * Searches staff for the words in the search box and shows the results in the table
+     * The search runs in the background, and results of older searches still
+     * running when a newer one starts are not shown
+     */
+    private void runSearch() {
+        String query = searchField.getText().trim();
+        if (searchWorker != null) {
+            searchWorker.cancel(false);  // Its results are out of date
+            searchWorker = null;
+        }
+        if (query.isEmpty()) {
+            searchStatusLabel.setText("");
+            tableModel.clearFilter();
+            return;
+        }
+
+        searchWorker = new SwingWorker<int[], Void>() {
+            @Override
+            protected int[] doInBackground() {
+                return service.search(query, MAX_SEARCH_RESULTS);
             }
 
-            // Create row data
-            Object[] row = {
-                i,  // Index in the list
-                staff.getVacancyNumber(),  // Vacancy number
-                staff.getStaffName(),      // Staff name
-                staff.getDesignation(),    // Designation
-                staff.getJobType(),        // Job type
-                status                     // Status (Full Time/Part Time/Terminated)
-            };
+            @Override
+            protected void done() {
+                if (isCancelled() || searchWorker != this) {
+                    return;  // A newer search has started
+                }
+                searchWorker = null;
+                try {
+                    int[] positions = get();
+                    filterFromField.setText("");  // The search replaces any date filter
+                    filterToField.setText("");
+                    searchStatusLabel.setText(positions.length == MAX_SEARCH_RESULTS
+                        ? "First " + MAX_SEARCH_RESULTS + " matches" : positions.length + " matches");
+                    tableModel.setSearchResults(query, MAX_SEARCH_RESULTS, positions);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(frame, "Search failed: " + cause.getMessage(), 
+                        "Search Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        searchWorker.execute();
+    }
 
-            // Add row to table
-            tableModel.addRow(row);
+    // Empties the search box without running a search
+    private void clearSearch() {
+        searchTimer.stop();
+        if (searchWorker != null) {
+            searchWorker.cancel(false);
+            searchWorker = null;
+        }
+        if (!searchField.getText().isEmpty()) {
+            searchField.setText("");
+            searchTimer.stop();  // Emptying the box restarted the timer
         }
+        searchStatusLabel.setText("");
     }
 
     /**
@@ -612,10 +980,11 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
             // Try to parse display number as integer
             displayNum = Integer.parseInt(displayNumberField.getText());
 
-            // Validate range (must be a valid index in staffList)
-            if (displayNum < 0 || displayNum >= staffList.size()) {
+            // Validate range (must be a valid index in the staff list)
+            int size = service.size();
+            if (displayNum < 0 || displayNum >= size) {
                 JOptionPane.showMessageDialog(frame, 
-                    "Error: Display number must be between 0 and " + (staffList.size() - 1),
+                    "Error: Display number must be between 0 and " + (size - 1),
                     "Invalid Input", JOptionPane.ERROR_MESSAGE);
                 return -1;  // Invalid range
             }
@@ -629,6 +998,117 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
         return displayNum;  // Return validated display number
     }
 
+    /**
+     * Shows the message for a result that was not a success
+     * 
+     * @param result     The result of the operation
+     * @param vacancyNum The vacancy number the operation was for
+     */
+    private void showResultError(RecruitmentService.Result result, int vacancyNum) {
+        switch (result) {
+            case NOT_FOUND:
+                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum + " not found.", 
+                    "Not Found", JOptionPane.WARNING_MESSAGE);
+                break;
+            case NOT_FULL_TIME:
+                JOptionPane.showMessageDialog(frame, "This is not a Full Time Staff position.", 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                break;
+            case NOT_PART_TIME:
+                JOptionPane.showMessageDialog(frame, "This is not a Part Time Staff position.", 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                break;
+            case DUPLICATE:
+                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum + " already exists.", 
+                    "Duplicate Vacancy", JOptionPane.ERROR_MESSAGE);
+                break;
+            case MISSING_FIELDS:
+                JOptionPane.showMessageDialog(frame, "All fields must be filled out.", 
+                    "Missing Information", JOptionPane.WARNING_MESSAGE);
+                break;
+            case INVALID_FIELDS:
+                JOptionPane.showMessageDialog(frame, "Please enter a complete dd/mm/yyyy joining date and valid values.", 
+                    "Invalid Input", JOptionPane.ERROR_MESSAGE);
+                break;
+            case CONFLICT:
+                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum
+                    + " was changed by someone else. Please check it and try again.", 
+                    "Changed Elsewhere", JOptionPane.WARNING_MESSAGE);
+                break;
+            case NOT_JOINED:
+                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum + " has not joined yet.", 
+                    "Not Joined", JOptionPane.WARNING_MESSAGE);
+                break;
+            case ALREADY_TERMINATED:
+                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum + " is already terminated.", 
+                    "Already Terminated", JOptionPane.WARNING_MESSAGE);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Shows what the background staff operations are doing
+     * Called on the Event Dispatch Thread whenever operations start, finish or report progress
+     *
+     * @param pending Operations not yet finished
+     * @param done    Staff done so far by bulk operations
+     * @param total   Staff to do in bulk operations, 0 if none is running
+     */
+    private void showTaskActivity(int pending, int done, int total) {
+        cancelTasksButton.setEnabled(pending > 0);
+        if (pending == 0) {
+            taskProgressBar.setIndeterminate(false);
+            taskProgressBar.setValue(0);
+            taskProgressBar.setString("Ready");
+        } else if (total > 0) {
+            taskProgressBar.setIndeterminate(false);
+            taskProgressBar.setMaximum(total);
+            taskProgressBar.setValue(done);
+            taskProgressBar.setString(done + " of " + total);
+        } else {
+            taskProgressBar.setIndeterminate(true);  // Single changes do not report progress
+            taskProgressBar.setString(pending + " running");
+        }
+    }
+
+    /**
+     * Shows why a background staff operation did not finish
+     * Cancelled operations are not reported, the user asked for that
+     */
+    private void showTaskError(Exception error) {
+        if (error instanceof CancellationException) {
+            return;
+        }
+        if (error instanceof IOException) {
+            showSaveError((IOException) error);  // Change was not saved or applied
+            return;
+        }
+        JOptionPane.showMessageDialog(frame, "The operation failed: " + error.getMessage(), 
+            "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * Applies a change through the service in the background
+     * Changes to the same vacancy number are applied in the order they were clicked
+     *
+     * @param vacancyNum The vacancy number the change is for
+     * @param change     The service call making the change
+     * @param onSuccess  Run on the Event Dispatch Thread if the change was applied
+     */
+    private void runChange(int vacancyNum, StaffTaskRunner.Task<RecruitmentService.Result> change, Runnable onSuccess) {
+        taskRunner.submit(vacancyNum, change, (result, error) -> {
+            if (error != null) {
+                showTaskError(error);
+            } else if (result == RecruitmentService.Result.SUCCESS) {
+                onSuccess.run();
+            } else {
+                showResultError(result, vacancyNum);  // Not found, wrong staff type or invalid value
+            }
+        });
+    }
+
     /**
      * Adds a full time staff member
      * Collects data from form fields and creates a new FullTimeStaffHire object
@@ -647,12 +1127,10 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
             double salary = Double.parseDouble(salaryField.getText());
             int weeklyFractionalHours = Integer.parseInt(weeklyFractionalHoursField.getText());
 
-            // Validate required fields
-            if (designation.isEmpty() || jobType.isEmpty() || staffName.isEmpty() || 
-            joiningDate.isEmpty() || qualification.isEmpty() || appointedBy.isEmpty()) {
-                JOptionPane.showMessageDialog(frame, "All fields must be filled out.", 
-                    "Missing Information", JOptionPane.WARNING_MESSAGE);
-                return;  // Exit method if validation fails
+            // Joining dates are stored as days, so an incomplete date cannot be used to create the staff
+            if (!joiningDate.isEmpty() && !StaffValidation.isValidDate(joiningDate)) {
+                showResultError(RecruitmentService.Result.INVALID_FIELDS, vacancyNumber);
+                return;
             }
 
             // Create new full-time staff object
@@ -661,16 +1139,15 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
                 qualification, appointedBy, joined, salary, weeklyFractionalHours
             );
 
-            // Add to staff list
-            staffList.add(fullTimeStaff);
-
-            // Update UI
-            refreshTable();  // Update table with new staff
-            clearFields();   // Clear input fields
+            // Add to staff list in the background, the service checks required fields and duplicate vacancy numbers
+            runChange(vacancyNumber, progress -> service.addFullTimeStaff(fullTimeStaff), () -> {
+                // Update UI
+                clearFields();   // Clear input fields
 
-            // Show success message
-            JOptionPane.showMessageDialog(frame, staffName + " has been added as a full time staff!", 
-                "Success", JOptionPane.INFORMATION_MESSAGE);
+                // Show success message
+                JOptionPane.showMessageDialog(frame, staffName + " has been added as a full time staff!", 
+                    "Success", JOptionPane.INFORMATION_MESSAGE);
+            });
 
         } catch (NumberFormatException e) {
             // Handle number format errors
@@ -699,13 +1176,10 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
             double wagesPerHour = Double.parseDouble(wagesPerHourField.getText());
             String shifts = shiftsField.getText();
 
-            // Validate required fields
-            if (designation.isEmpty() || jobType.isEmpty() || staffName.isEmpty() || 
-                joiningDate.isEmpty() || qualification.isEmpty() || appointedBy.isEmpty() || 
-                shifts.isEmpty()) {
-                JOptionPane.showMessageDialog(frame, "All fields must be filled out.", 
-                    "Missing Information", JOptionPane.WARNING_MESSAGE);
-                return;  // Exit method if validation fails
+            // Joining dates are stored as days, so an incomplete date cannot be used to create the staff
+            if (!joiningDate.isEmpty() && !StaffValidation.isValidDate(joiningDate)) {
+                showResultError(RecruitmentService.Result.INVALID_FIELDS, vacancyNumber);
+                return;
             }
 
             // Create new part-time staff object
@@ -714,16 +1188,15 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
                 qualification, appointedBy, joined, workingHour, wagesPerHour, shifts
             );
 
-            // Add to staff list
-            staffList.add(partTimeStaff);
-
-            // Update UI
-            refreshTable();  // Update table with new staff
-            clearFields();   // Clear input fields
+            // Add to staff list in the background, the service checks required fields and duplicate vacancy numbers
+            runChange(vacancyNumber, progress -> service.addPartTimeStaff(partTimeStaff), () -> {
+                // Update UI
+                clearFields();   // Clear input fields
 
-            // Show success message
-            JOptionPane.showMessageDialog(frame, staffName + " has been added as a part time staff!", 
-                "Success", JOptionPane.INFORMATION_MESSAGE);
+                // Show success message
+                JOptionPane.showMessageDialog(frame, staffName + " has been added as a part time staff!", 
+                    "Success", JOptionPane.INFORMATION_MESSAGE);
+            });
 
         } catch (NumberFormatException e) {
             // Handle number format errors
@@ -743,38 +1216,13 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
             int vacancyNum = Integer.parseInt(vacancyNumberField.getText());
             double newSalary = Double.parseDouble(salaryField.getText());
 
-            boolean found = false;  // Flag to track if staff was found
-            
-            // Search for staff with matching vacancy number
-            for (StaffHire staff : staffList) {
-                if (staff.getVacancyNumber() == vacancyNum) {
-                    // Check if it's a full-time staff
-                    if (staff instanceof FullTimeStaffHire) {
-                        // Cast to FullTimeStaffHire to access specific methods
-                        FullTimeStaffHire fullTimeStaff = (FullTimeStaffHire) staff;
-                        fullTimeStaff.setSalary(newSalary);  // Update salary
-                        found = true;  // Staff found and updated
-                        
-                        // Show success message
-                        JOptionPane.showMessageDialog(frame, "Salary updated successfully!", 
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        // Staff found but not full-time
-                        JOptionPane.showMessageDialog(frame, "This is not a Full Time Staff position.", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                    break;  // Exit loop after finding staff
-                }
-            }
-
-            // If no staff found with that vacancy number
-            if (!found) {
-                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum + " not found.", 
-                    "Not Found", JOptionPane.WARNING_MESSAGE);
-            }
+            // Apply the change through the service in the background, which looks up the staff by vacancy number
+            runChange(vacancyNum, progress -> service.setSalary(vacancyNum, newSalary), () -> 
+                // Show success message
+                JOptionPane.showMessageDialog(frame, "Salary updated successfully!", 
+                    "Success", JOptionPane.INFORMATION_MESSAGE));
 
             // Update UI
-            refreshTable();  // Refresh table to show updated information
             clearFields();   // Clear input fields
 
         } catch (NumberFormatException e) {
@@ -801,38 +1249,11 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
                 return;  // Exit method if validation fails
             }
 
-            boolean found = false;  // Flag to track if staff was found
-            
-            // Search for staff with matching vacancy number
-            for (StaffHire staff : staffList) {
-                if (staff.getVacancyNumber() == vacancyNum) {
-                    // Check if it's a part-time staff
-                    if (staff instanceof PartTimeStaffHire) {
-                        // Cast to PartTimeStaffHire to access specific methods
-                        PartTimeStaffHire partTimeStaff = (PartTimeStaffHire) staff;
-                        partTimeStaff.setShifts(newShifts);  // Update shifts
-                        found = true;  // Staff found and updated
-                        
-                        // Show success message
-                        JOptionPane.showMessageDialog(frame, "Shifts updated successfully!", 
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        // Staff found but not part-time
-                        JOptionPane.showMessageDialog(frame, "This is not a Part Time Staff position.", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                    break;  // Exit loop after finding staff
-                }
-            }
-
-            // If no staff found with that vacancy number
-            if (!found) {
-                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum + " not found.", 
-                    "Not Found", JOptionPane.WARNING_MESSAGE);
-            }
-
-            // Update UI
-            refreshTable();  // Refresh table to show updated information
+            // Apply the change through the service in the background, which looks up the staff by vacancy number
+            runChange(vacancyNum, progress -> service.setShifts(vacancyNum, newShifts), () -> 
+                // Show success message
+                JOptionPane.showMessageDialog(frame, "Shifts updated successfully!", 
+                    "Success", JOptionPane.INFORMATION_MESSAGE));
 
         } catch (NumberFormatException e) {
             // Handle number format errors
@@ -850,103 +1271,370 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
             // Get vacancy number from text field
             int vacancyNum = Integer.parseInt(vacancyNumberField.getText());
 
-            boolean found = false;  // Flag to track if staff was found
-            
-            // Search for staff with matching vacancy number
-            for (StaffHire staff : staffList) {
-                if (staff.getVacancyNumber() == vacancyNum) {
-                    // Check if it's a part-time staff
-                    if (staff instanceof PartTimeStaffHire) {
-                        // Cast to PartTimeStaffHire to access specific methods
-                        PartTimeStaffHire partTimeStaff = (PartTimeStaffHire) staff;
-                        partTimeStaff.terminateStaff();  // Terminate staff
-                        found = true;  // Staff found and terminated
-                        
-                        // Show success message
-                        JOptionPane.showMessageDialog(frame, "Staff terminated successfully!", 
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        // Staff found but not part-time
-                        JOptionPane.showMessageDialog(frame, "This is not a Part Time Staff position.", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
+            // Apply the change through the service in the background, which looks up the staff by vacancy number
+            runChange(vacancyNum, progress -> service.terminateStaff(vacancyNum), () -> 
+                // Show success message
+                JOptionPane.showMessageDialog(frame, "Staff terminated successfully!", 
+                    "Success", JOptionPane.INFORMATION_MESSAGE));
+
+        } catch (NumberFormatException e) {
+            // Handle number format errors
+            JOptionPane.showMessageDialog(frame, "Please enter a valid number for Vacancy Number.", 
+                "Invalid Input", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Imports staff from a CSV file chosen by the user
+     * The file is read, validated and inserted in batches on a background thread,
+     * with one table refresh and a report of rejected rows at the end
+     */
+    private void importCsv() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;  // No file chosen
+        }
+        File file = chooser.getSelectedFile();
+
+        ProgressMonitor monitor = new ProgressMonitor(frame, "Importing " + file.getName(), null, 0, 100);
+        importButton.setEnabled(false);  // One import at a time
+
+        SwingWorker<ImportReport, Void> worker = new SwingWorker<ImportReport, Void>() {
+            @Override
+            protected ImportReport doInBackground() throws IOException {
+                return new StaffCsvImporter().importFile(file.toPath(), new StaffCsvImporter.BatchHandler() {
+                    @Override
+                    public void insert(List<StaffCsvImporter.ImportedRow> rows, ImportReport report) throws IOException {
+                        service.addImported(rows, report);  // The service is safe to use from this thread
                     }
-                    break;  // Exit loop after finding staff
-                }
+
+                    @Override
+                    public void progress(int percent) {
+                        setProgress(percent);
+                    }
+                });
             }
 
-            // If no staff found with that vacancy number
-            if (!found) {
-                JOptionPane.showMessageDialog(frame, "Staff with vacancy number " + vacancyNum + " not found.", 
-                    "Not Found", JOptionPane.WARNING_MESSAGE);
+            @Override
+            protected void done() {
+                monitor.close();
+                importButton.setEnabled(true);
+                try {
+                    showImportReport(get());
+                } catch (CancellationException e) {
+                    JOptionPane.showMessageDialog(frame, "Import was cancelled.", "Import", JOptionPane.WARNING_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(frame, "Import failed: " + cause.getMessage(), 
+                        "Import Error", JOptionPane.ERROR_MESSAGE);
+                }
             }
+        };
+        worker.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                monitor.setProgress((Integer) event.getNewValue());
+                if (monitor.isCanceled()) {
+                    worker.cancel(true);  // Stops after the current chunk
+                }
+            }
+        });
+        worker.execute();
+    }
 
-            // Update UI
-            refreshTable();  // Refresh table to show updated information
+    /**
+     * Shows the import report in a dialog
+     * 
+     * @param report The report to show
+     */
+    private void showImportReport(ImportReport report) {
+        JTextArea textArea = new JTextArea(report.getSummary(), 15, 50);
+        textArea.setEditable(false);  // Make read-only
+        textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(frame, new JScrollPane(textArea), "Import Report", 
+            report.getRejected() == 0 ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
 
-        } catch (NumberFormatException e) {
-            // Handle number format errors
-            JOptionPane.showMessageDialog(frame, "Please enter a valid number for Vacancy Number.", 
+    /**
+     * Raises the pay of the staff chosen by designation and staff type
+     * Full-time salaries and part-time wages per hour go up by the percentage. The
+     * change runs in the background in one pass, and the table is refreshed once at the end
+     */
+    private void bulkRaisePay() {
+        JTextField designation = new JTextField(15);
+        JComboBox<String> staffType = new JComboBox<>(new String[] {"All staff", "Full time", "Part time"});
+        JTextField percent = new JTextField(6);
+        ((AbstractDocument) percent.getDocument()).setDocumentFilter(new DecimalDocumentFilter());
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Designation (empty for any):"));
+        panel.add(designation);
+        panel.add(new JLabel("Staff type:"));
+        panel.add(staffType);
+        panel.add(new JLabel("Raise (%):"));
+        panel.add(percent);
+        if (JOptionPane.showConfirmDialog(frame, panel, "Bulk Raise", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        if (percent.getText().isEmpty() || percent.getText().equals(".")) {
+            JOptionPane.showMessageDialog(frame, "Please enter the raise as a percentage.", 
                 "Invalid Input", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        Predicate<StaffHire> where = designationFilter(designation.getText());
+        if (staffType.getSelectedIndex() == 1) {
+            where = where.and(StaffFilter.fullTime());
+        } else if (staffType.getSelectedIndex() == 2) {
+            where = where.and(StaffFilter.partTime());
         }
+        Predicate<StaffHire> chosen = where;
+        double raise = Double.parseDouble(percent.getText());
+        runBulkChange(progress -> service.raisePay(chosen, raise, progress));
     }
 
     /**
-     * Displays information for a specific staff member
-     * Shows detailed information in a dialog window
+     * Terminates the part-time staff chosen by designation and joining date
+     * Asks first, as terminating blanks the staff details of everyone matching, though Undo brings them back
      */
-    private void displayStaffByNumber() {
-        // Get display number with validation
-        int displayNum = getDisplayNumber();
-        if (displayNum != -1) {  // If valid display number
-            // Get staff at the specified index
-            StaffHire staff = staffList.get(displayNum);
+    private void bulkTerminate() {
+        JTextField designation = new JTextField(15);
+        JTextField joinedBefore = new JTextField(10);
+        ((AbstractDocument) joinedBefore.getDocument()).setDocumentFilter(new DateDocumentFilter());
+        JPanel panel = new JPanel(new GridLayout(0, 2, 5, 5));
+        panel.add(new JLabel("Designation (empty for any):"));
+        panel.add(designation);
+        panel.add(new JLabel("Joined before (dd/mm/yyyy):"));
+        panel.add(joinedBefore);
+        if (JOptionPane.showConfirmDialog(frame, panel, "Bulk Terminate", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        String before = joinedBefore.getText();
+        if (!StaffValidation.isValidDate(before)) {
+            JOptionPane.showMessageDialog(frame, "Please enter a complete dd/mm/yyyy date to terminate staff joining before.", 
+                "Invalid Input", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (JOptionPane.showConfirmDialog(frame, "Terminate every matching part-time staff member who joined before "
+                + before + "? Their details will be blanked until you undo it.", "Bulk Terminate", JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        Predicate<StaffHire> where = StaffFilter.partTime()
+            .and(StaffFilter.joinedBefore(JoiningDate.parse(before)))
+            .and(designationFilter(designation.getText()));
+        runBulkChange(progress -> service.terminateAll(where, progress));
+    }
+
+    // Matches staff with the designation, or every staff member if it is empty
+    private static Predicate<StaffHire> designationFilter(String designation) {
+        String trimmed = designation.trim();
+        return trimmed.isEmpty() ? StaffFilter.all() : StaffFilter.designation(trimmed);
+    }
+
+    /**
+     * Runs a bulk change in the background and shows its report when it finishes
+     * Progress is shown in the task bar and the Cancel button stops the change
+     */
+    private void runBulkChange(StaffTaskRunner.Task<BulkReport> change) {
+        taskRunner.submit(StaffTaskRunner.NO_KEY, change, (report, error) -> {
+            if (error != null) {
+                showTaskError(error);
+            } else {
+                showBulkReport(report);
+            }
+        });
+    }
 
-            // Create dialog to display staff information
-            JDialog dialog = new JDialog(frame, "Staff Information", true);  // Modal dialog
-            dialog.setSize(500, 400);  // Set dialog size
-            dialog.setLocationRelativeTo(frame);  // Center on parent frame
+    /**
+     * Shows the report of a bulk change in a dialog
+     * 
+     * @param report The report to show
+     */
+    private void showBulkReport(BulkReport report) {
+        JTextArea textArea = new JTextArea(report.getSummary(), 15, 50);
+        textArea.setEditable(false);  // Make read-only
+        textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(frame, new JScrollPane(textArea), "Bulk Change Report", 
+            report.getSkipped() == 0 && !report.isCancelled() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
 
-            // Create content panel with border layout
-            JPanel panel = new JPanel();
-            panel.setLayout(new BorderLayout());
-            panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));  // Add padding
+    /**
+     * Undoes the latest change to existing staff, or makes the latest undone change again
+     * Runs in the background like the other changes
+     *
+     * @param undo true to undo, false to redo
+     */
+    private void runHistory(boolean undo) {
+        taskRunner.submit(StaffTaskRunner.NO_KEY, progress -> undo ? service.undo() : service.redo(), (result, error) -> {
+            if (error != null) {
+                showTaskError(error);
+            } else if (result == RecruitmentService.Result.CONFLICT) {
+                JOptionPane.showMessageDialog(frame, "That change can no longer be " + (undo ? "undone" : "redone")
+                    + ", as the staff were changed again since.", "Changed Elsewhere", JOptionPane.WARNING_MESSAGE);
+            } else if (result == RecruitmentService.Result.NOT_FOUND) {
+                JOptionPane.showMessageDialog(frame, undo ? "There is nothing to undo." : "There is nothing to redo.", 
+                    undo ? "Undo" : "Redo", JOptionPane.INFORMATION_MESSAGE);
+            }
+            updateUndoButtons();
+        });
+    }
 
-            // Redirect System.out to capture output from display method
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();  // Output buffer
-            PrintStream ps = new PrintStream(baos);  // Print stream to buffer
-            PrintStream old = System.out;  // Store original System.out
-            System.setOut(ps);  // Redirect output to our print stream
+    // Enables Undo and Redo when there is a change for them and shows which one as a tooltip
+    private void updateUndoButtons() {
+        String undo = service.undoDescription();
+        String redo = service.redoDescription();
+        undoButton.setEnabled(undo != null);
+        undoButton.setToolTipText(undo == null ? null : "Undo " + undo + " (Ctrl+Z)");
+        redoButton.setEnabled(redo != null);
+        redoButton.setToolTipText(redo == null ? null : "Redo " + redo + " (Ctrl+Y)");
+    }
 
-            // Call the display method of the staff object
-            staff.display();  // This will print to our buffer instead of console
+    /**
+     * Exports the staff list to a CSV or JSON file chosen by the user
+     * Files ending in .json are written as JSON, anything else as CSV.
+     * The file is written on a background thread so the window stays responsive
+     */
+    private void exportStaff() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;  // No file chosen
+        }
+        File file = chooser.getSelectedFile();
+        StaffExporter.Format format = file.getName().toLowerCase().endsWith(".json")
+            ? StaffExporter.Format.JSON : StaffExporter.Format.CSV;
+        int count = service.size();  // Staff added during the export are not included
+
+        ProgressMonitor monitor = new ProgressMonitor(frame, "Exporting to " + file.getName(), null, 0, 100);
+        exportButton.setEnabled(false);  // One export at a time
+
+        SwingWorker<Integer, Void> worker = new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws IOException {
+                return new StaffExporter().export(service, count, file.toPath(), format, this::setProgress);
+            }
 
-            // Reset System.out and get the captured output
-            System.out.flush();  // Flush all output
-            System.setOut(old);  // Restore original System.out
-            String displayText = baos.toString();  // Get captured text
+            @Override
+            protected void done() {
+                monitor.close();
+                exportButton.setEnabled(true);
+                try {
+                    JOptionPane.showMessageDialog(frame, get() + " staff exported to " + file.getName(), 
+                        "Export", JOptionPane.INFORMATION_MESSAGE);
+                } catch (CancellationException e) {
+                    JOptionPane.showMessageDialog(frame, "Export was cancelled.", "Export", JOptionPane.WARNING_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(frame, "Export failed: " + cause.getMessage(), 
+                        "Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                monitor.setProgress((Integer) event.getNewValue());
+                if (monitor.isCanceled()) {
+                    worker.cancel(true);  // Stops at the next progress step
+                }
+            }
+        });
+        worker.execute();
+    }
 
-            // Create text area with the output
-            JTextArea textArea = new JTextArea(displayText);
-            textArea.setEditable(false);  // Make read-only
-            textArea.setFont(new Font("Monospaced", Font.PLAIN, 14));  // Set font
-            JScrollPane scrollPane = new JScrollPane(textArea);  // Add scrolling
+    /**
+     * Works out the daily, weekly and monthly payroll of all staff
+     * The payroll runs in the background and the totals are shown in a dialog
+     */
+    private void runPayroll() {
+        payrollButton.setEnabled(false);  // One payroll run at a time
 
-            // Add text area to panel
-            panel.add(scrollPane, BorderLayout.CENTER);
+        SwingWorker<PayrollEngine.Run, Void> worker = new SwingWorker<PayrollEngine.Run, Void>() {
+            @Override
+            protected PayrollEngine.Run doInBackground() {
+                return new PayrollEngine().run(service.payrollRoster());
+            }
 
-            // Add close button at the bottom
-            JButton closeButton = new JButton("Close");
-            closeButton.addActionListener(e -> dialog.dispose());  // Close dialog when clicked
-            JPanel buttonPanel = new JPanel();
-            buttonPanel.add(closeButton);
-            panel.add(buttonPanel, BorderLayout.SOUTH);
+            @Override
+            protected void done() {
+                payrollButton.setEnabled(true);
+                try {
+                    JTextArea summary = new JTextArea(get().getSummary());
+                    summary.setFont(new Font("Monospaced", Font.PLAIN, 12));  // Keep the columns lined up
+                    summary.setEditable(false);
+                    JOptionPane.showMessageDialog(frame, summary, "Payroll", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(frame, "Payroll failed: " + cause.getMessage(), 
+                        "Payroll Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
 
-            // Add panel to dialog and show
-            dialog.add(panel);
-            dialog.setVisible(true);  // Show dialog
+    /**
+     * Displays information for a specific staff member
+     * The details are looked up and rendered in the background, then shown in a dialog window
+     */
+    private void displayStaffByNumber() {
+        // Get display number with validation
+        int displayNum = getDisplayNumber();
+        if (displayNum != -1) {  // If valid display number
+            // Render the staff at the specified index straight into a buffer
+            taskRunner.submit(StaffTaskRunner.NO_KEY, progress -> {
+                    long start = System.nanoTime();
+                    String text = service.get(displayNum).render(new StringBuilder(), StaffFormat.TEXT).toString();
+                    service.getMetrics().record(StaffMetrics.Operation.DISPLAY_STAFF, start);
+                    return text;
+                }, 
+                (displayText, error) -> {
+                    if (error != null) {
+                        showTaskError(error);
+                    } else {
+                        showStaffDialog(displayText);
+                    }
+                });
         }
     }
 
+    /**
+     * Shows rendered staff details in a dialog window
+     *
+     * @param displayText The staff details
+     */
+    private void showStaffDialog(String displayText) {
+        // Create dialog to display staff information
+        JDialog dialog = new JDialog(frame, "Staff Information", true);  // Modal dialog
+        dialog.setSize(500, 400);  // Set dialog size
+        dialog.setLocationRelativeTo(frame);  // Center on parent frame
+
+        // Create content panel with border layout
+        JPanel panel = new JPanel();
+        panel.setLayout(new BorderLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));  // Add padding
+
+        // Create text area with the output
+        JTextArea textArea = new JTextArea(displayText);
+        textArea.setEditable(false);  // Make read-only
+        textArea.setFont(new Font("Monospaced", Font.PLAIN, 14));  // Set font
+        JScrollPane scrollPane = new JScrollPane(textArea);  // Add scrolling
+
+        // Add text area to panel
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        // Add close button at the bottom
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dialog.dispose());  // Close dialog when clicked
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.add(closeButton);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        // Add panel to dialog and show
+        dialog.add(panel);
+        dialog.setVisible(true);  // Show dialog
+    }
+
     /**
      * Action listener implementation for button clicks
      * Handles all button events based on source
@@ -968,6 +1656,22 @@ public class RecruitmentSystem implements ActionListener {  // ActionListener in
             displayStaffByNumber();  // Display staff information
         } else if (e.getSource() == clearButton) {
             clearFields();  // Clear all input fields
+        } else if (e.getSource() == importButton) {
+            importCsv();  // Import staff from a CSV file
+        } else if (e.getSource() == exportButton) {
+            exportStaff();  // Export staff to a CSV or JSON file
+        } else if (e.getSource() == payrollButton) {
+            runPayroll();  // Work out the payroll of all staff
+        } else if (e.getSource() == bulkRaiseButton) {
+            bulkRaisePay();  // Raise the pay of many staff at once
+        } else if (e.getSource() == bulkTerminateButton) {
+            bulkTerminate();  // Terminate many part-time staff at once
+        } else if (e.getSource() == undoButton) {
+            runHistory(true);  // Undo the latest change
+        } else if (e.getSource() == redoButton) {
+            runHistory(false);  // Make the latest undone change again
+        } else if (e.getSource() == cancelTasksButton) {
+            taskRunner.cancelAll();  // Cancel staff operations still running
         }
     }
 
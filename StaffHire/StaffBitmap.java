@@ -0,0 +1,425 @@
+import java.util.Arrays;                        // For growing and copying containers
+
+/**
+ * Compressed set of staff list positions, in the style of a roaring bitmap
+ * Positions are split by their high 16 bits into chunks of 65536. A chunk holding
+ * up to ARRAY_MAX positions keeps them as a sorted array of their low 16 bits, and
+ * a fuller chunk keeps a 65536-bit bitmap, so sparse sets such as one designation
+ * and dense sets such as every full-time staff member both stay small. and, or and
+ * andNot work a chunk at a time, a word at a time for bitmaps, and return new sets.
+ * Not thread-safe, the service locks around the bitmaps it keeps
+ */
+public class StaffBitmap {
+    private static final int ARRAY_MAX = 4096;       // Most positions in an array chunk, where both kinds take 8KB
+    private static final int BITMAP_WORDS = 1024;    // 65536 bits
+
+    private char[] keys = new char[4];               // High 16 bits of each chunk, ascending
+    private Container[] containers = new Container[4];
+    private int size;                                // Chunks in use
+
+    // The low 16 bits of the positions in one chunk
+    private abstract static class Container {
+        abstract int cardinality();
+        abstract boolean contains(char low);
+        abstract Container add(char low);            // Returns the container to keep, which may be a new kind
+        abstract Container remove(char low);
+        abstract Container copy();
+        abstract int toArray(int high, int[] into, int at);  // Writes the full positions, returns the next index
+        abstract long[] toWords();                   // Bitmap form, a copy for array chunks
+    }
+
+    // Sorted low bits, for chunks with few positions
+    private static final class ArrayContainer extends Container {
+        char[] values;
+        int cardinality;
+
+        ArrayContainer(int capacity) {
+            values = new char[Math.max(4, capacity)];
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            int found = Arrays.binarySearch(values, 0, cardinality, low);
+            if (found >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);  // Too full to stay an array
+            }
+            int at = -found - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int found = Arrays.binarySearch(values, 0, cardinality, low);
+            if (found >= 0) {
+                System.arraycopy(values, found + 1, values, found, cardinality - found - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer(cardinality);
+            System.arraycopy(values, 0, copy.values, 0, cardinality);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        int toArray(int high, int[] into, int at) {
+            for (int i = 0; i < cardinality; i++) {
+                into[at++] = high | values[i];
+            }
+            return at;
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        BitmapContainer toBitmap() {
+            return new BitmapContainer(toWords(), cardinality);
+        }
+    }
+
+    // One bit per low value, for chunks with many positions
+    private static final class BitmapContainer extends Container {
+        final long[] words;
+        int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            long before = words[low >>> 6];
+            words[low >>> 6] = before | (1L << low);
+            if (before != words[low >>> 6]) {
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long before = words[low >>> 6];
+            words[low >>> 6] = before & ~(1L << low);
+            if (before != words[low >>> 6]) {
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return fromWords(words, cardinality);  // Sparse enough to be an array again
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int toArray(int high, int[] into, int at) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    into[at++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;  // Clear the lowest set bit
+                }
+            }
+            return at;
+        }
+
+        @Override
+        long[] toWords() {
+            return words;
+        }
+    }
+
+    /**
+     * Creates a set of every position from 0 up to, but not including, end
+     * Used as the whole staff list when negating
+     */
+    public static StaffBitmap range(int end) {
+        StaffBitmap bitmap = new StaffBitmap();
+        for (int start = 0; start < end; start += 1 << 16) {
+            int count = Math.min(1 << 16, end - start);
+            long[] words = new long[BITMAP_WORDS];
+            Arrays.fill(words, 0, count >>> 6, -1L);
+            if ((count & 63) != 0) {
+                words[count >>> 6] = (1L << count) - 1;  // The bits below count in the last word
+            }
+            bitmap.append((char) (start >>> 16), fromWords(words, count));
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds a position
+     */
+    public void add(int position) {
+        char key = (char) (position >>> 16);
+        int i = find(key);
+        if (i < 0) {
+            i = -i - 1;
+            insert(i, key, new ArrayContainer(4));
+        }
+        containers[i] = containers[i].add((char) position);
+    }
+
+    /**
+     * Removes a position if it is in the set
+     */
+    public void remove(int position) {
+        int i = find((char) (position >>> 16));
+        if (i < 0) {
+            return;
+        }
+        containers[i] = containers[i].remove((char) position);
+        if (containers[i].cardinality() == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        }
+    }
+
+    /**
+     * Checks if a position is in the set
+     */
+    public boolean contains(int position) {
+        int i = find((char) (position >>> 16));
+        return i >= 0 && containers[i].contains((char) position);
+    }
+
+    /**
+     * Counts the positions in the set
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += containers[i].cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the positions in the set, in ascending order
+     */
+    public int[] toArray() {
+        int[] positions = new int[cardinality()];
+        int at = 0;
+        for (int i = 0; i < size; i++) {
+            at = containers[i].toArray(keys[i] << 16, positions, at);
+        }
+        return positions;
+    }
+
+    /**
+     * Makes a copy that does not change when this set does
+     */
+    public StaffBitmap copy() {
+        StaffBitmap copy = new StaffBitmap();
+        for (int i = 0; i < size; i++) {
+            copy.append(keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the positions in both this set and the other
+     */
+    public StaffBitmap and(StaffBitmap other) {
+        StaffBitmap result = new StaffBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container both = and(containers[i], other.containers[j]);
+                if (both.cardinality() > 0) {
+                    result.append(keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the positions in this set, the other or both
+     */
+    public StaffBitmap or(StaffBitmap other) {
+        StaffBitmap result = new StaffBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                long[] words = containers[i].toWords().clone();
+                long[] otherWords = other.containers[j].toWords();
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] |= otherWords[w];
+                }
+                result.append(keys[i], fromWords(words, countBits(words)));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the positions in this set that are not in the other
+     */
+    public StaffBitmap andNot(StaffBitmap other) {
+        StaffBitmap result = new StaffBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container remaining;
+            if (j < other.size && other.keys[j] == keys[i]) {
+                remaining = andNot(containers[i], other.containers[j]);
+            } else {
+                remaining = containers[i].copy();  // Nothing to take away in this chunk
+            }
+            if (remaining.cardinality() > 0) {
+                result.append(keys[i], remaining);
+            }
+        }
+        return result;
+    }
+
+    // Intersects two chunks. An array is checked against the other chunk, two bitmaps are ANDed a word at a time
+    private static Container and(Container a, Container b) {
+        if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            ArrayContainer small = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+            Container other = small == a ? b : a;
+            ArrayContainer result = new ArrayContainer(small.cardinality);
+            for (int k = 0; k < small.cardinality; k++) {
+                if (other.contains(small.values[k])) {
+                    result.values[result.cardinality++] = small.values[k];
+                }
+            }
+            return result;
+        }
+        long[] words = ((BitmapContainer) a).words.clone();
+        long[] otherWords = ((BitmapContainer) b).words;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] &= otherWords[w];
+        }
+        return fromWords(words, countBits(words));
+    }
+
+    // Takes one chunk's positions away from another's
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) a;
+            ArrayContainer result = new ArrayContainer(array.cardinality);
+            for (int k = 0; k < array.cardinality; k++) {
+                if (!b.contains(array.values[k])) {
+                    result.values[result.cardinality++] = array.values[k];
+                }
+            }
+            return result;
+        }
+        long[] words = ((BitmapContainer) a).words.clone();
+        long[] otherWords = b.toWords();
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] &= ~otherWords[w];
+        }
+        return fromWords(words, countBits(words));
+    }
+
+    // Makes the smaller kind of chunk for a bitmap of the given cardinality
+    private static Container fromWords(long[] words, int cardinality) {
+        if (cardinality > ARRAY_MAX) {
+            return new BitmapContainer(words, cardinality);
+        }
+        ArrayContainer array = new ArrayContainer(cardinality);
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                array.values[array.cardinality++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return array;
+    }
+
+    private static int countBits(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // Finds a chunk by its high bits, or -(insertion point) - 1 if it is not there
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    // Adds a chunk after every chunk so far, for building results in key order
+    private void append(char key, Container container) {
+        insert(size, key, container);
+    }
+
+    private void insert(int at, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(containers, at, containers, at + 1, size - at);
+        keys[at] = key;
+        containers[at] = container;
+        size++;
+    }
+}
@@ -0,0 +1,91 @@
+import java.util.HashMap;                       // For the bitmaps by dictionary code
+import java.util.Map;                           // For Map interface
+
+/**
+ * Bitmap indexes over the staff type, status, job type and designation of every
+ * staff member, for filters like "terminated part-time staff" or "full-time
+ * Lecturers" without checking each staff member in turn
+ * Job types and designations are indexed by their FieldDictionary code.
+ * Not thread-safe, the service locks around it
+ */
+public class StaffBitmapIndex {
+    private static final StaffBitmap EMPTY = new StaffBitmap();  // For values no staff member has, never changed
+
+    private final StaffBitmap fullTime = new StaffBitmap();
+    private final StaffBitmap partTime = new StaffBitmap();
+    private final StaffBitmap joined = new StaffBitmap();
+    private final StaffBitmap terminated = new StaffBitmap();
+    private final Map<Integer, StaffBitmap> jobTypes = new HashMap<>();      // Job type code to its staff
+    private final Map<Integer, StaffBitmap> designations = new HashMap<>();  // Designation code to its staff
+
+    /**
+     * Adds a staff member to the bitmaps matching its fields
+     *
+     * @param staff    The staff member
+     * @param position The staff member's position in the staff list
+     */
+    public void add(StaffHire staff, int position) {
+        if (staff instanceof FullTimeStaffHire) {
+            fullTime.add(position);
+        } else {
+            partTime.add(position);
+            if (((PartTimeStaffHire) staff).getTerminated()) {
+                terminated.add(position);
+            }
+        }
+        if (staff.getJoined()) {
+            joined.add(position);
+        }
+        jobTypes.computeIfAbsent(staff.getJobTypeCode(), code -> new StaffBitmap()).add(position);
+        designations.computeIfAbsent(staff.getDesignationCode(), code -> new StaffBitmap()).add(position);
+    }
+
+    /**
+     * Removes a staff member from every bitmap
+     * Call before changing any of the indexed fields, then add the staff member again
+     */
+    public void remove(StaffHire staff, int position) {
+        fullTime.remove(position);
+        partTime.remove(position);
+        joined.remove(position);
+        terminated.remove(position);
+        StaffBitmap jobType = jobTypes.get(staff.getJobTypeCode());
+        if (jobType != null) {
+            jobType.remove(position);
+        }
+        StaffBitmap designation = designations.get(staff.getDesignationCode());
+        if (designation != null) {
+            designation.remove(position);
+        }
+    }
+
+    public StaffBitmap fullTime() {
+        return fullTime;
+    }
+
+    public StaffBitmap partTime() {
+        return partTime;
+    }
+
+    public StaffBitmap joined() {
+        return joined;
+    }
+
+    public StaffBitmap terminated() {
+        return terminated;
+    }
+
+    /**
+     * Gets the staff with a job type, by its dictionary code
+     */
+    public StaffBitmap jobType(int code) {
+        return jobTypes.getOrDefault(code, EMPTY);
+    }
+
+    /**
+     * Gets the staff with a designation, by its dictionary code
+     */
+    public StaffBitmap designation(int code) {
+        return designations.getOrDefault(code, EMPTY);
+    }
+}
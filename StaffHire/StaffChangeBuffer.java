@@ -0,0 +1,128 @@
+import java.util.Arrays;                         // For growing the buffer
+import java.util.List;                           // For List interface
+import java.util.concurrent.ConcurrentLinkedQueue;  // For changes recorded without locking
+import java.util.concurrent.CopyOnWriteArrayList;  // For listeners added while a batch is delivered
+import java.util.concurrent.Executors;           // For the delivery thread
+import java.util.concurrent.ScheduledExecutorService;  // For delivering once per frame
+import java.util.concurrent.TimeUnit;            // For the frame delay
+import java.util.concurrent.atomic.AtomicBoolean;  // For starting one delivery per frame
+
+/**
+ * Buffers changes to the staff list and delivers them to the service's listeners
+ * as one StaffChanges batch per frame
+ * The first change after a delivery starts a FRAME_MS frame. Changes made during
+ * the frame are coalesced per staff member, so a burst of 10K salary changes
+ * reaches the table as one batch instead of 10K notices. Batches are delivered in
+ * order on one background thread, started when the first listener is added, and
+ * changes are not buffered at all while there are no listeners.
+ * Recording a change only adds it to a queue, boxed as a Long, and only the first
+ * change of a frame takes a lock, to schedule the delivery. So a change costs a
+ * small allocation and a queue node until the queue is coalesced when the frame ends.
+ * Thread-safe
+ */
+public class StaffChangeBuffer {
+    private static final int FRAME_MS = 16;  // About one screen refresh
+
+    private final List<RecruitmentService.Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Object deliveryLock = new Object();  // Keeps batches in order when flushed from two threads
+    private final ConcurrentLinkedQueue<Long> recorded = new ConcurrentLinkedQueue<>();  // Changes as position << 8 | kind
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();  // true while a delivery is waiting for the frame to end
+    private volatile ScheduledExecutorService dispatcher;  // Delivers batches, null until the first listener
+    private volatile boolean closed;                    // true once no more batches are delivered
+
+    // For coalescing the recorded changes into a batch, guarded by deliveryLock
+    private byte[] kindsByPosition = new byte[16];     // Kinds of change by position, 0 if not in the batch
+    private int[] positions = new int[16];             // Positions in the batch, in the order first changed
+
+    /**
+     * Adds a listener, which is called on the delivery thread
+     */
+    public synchronized void addListener(RecruitmentService.Listener listener) {
+        if (dispatcher == null) {
+            dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "staff-changes");
+                thread.setDaemon(true);  // Do not keep the application running
+                return thread;
+            });
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a change to the batch, delivered at the end of the frame
+     * May be called on any thread, including while holding the service's locks
+     *
+     * @param position The position of the staff member changed
+     * @param kind     The kind of change, see StaffChanges
+     */
+    public void record(int position, int kind) {
+        if (listeners.isEmpty() || closed) {
+            return;  // Nobody to deliver to
+        }
+        recorded.add((long) position << 8 | kind);  // Before checking for a delivery, which clears the flag before reading the queue
+        if (flushScheduled.get() || !flushScheduled.compareAndSet(false, true)) {
+            return;  // Delivered with the rest of the frame
+        }
+        synchronized (this) {
+            if (!closed) {
+                dispatcher.schedule(this::flush, FRAME_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Delivers the changes buffered so far without waiting for the frame to end
+     * Called on the delivery thread at the end of each frame
+     */
+    public void flush() {
+        synchronized (deliveryLock) {
+            flushScheduled.set(false);  // Changes recorded from here on start a new frame
+            int size = 0;
+            int events = 0;
+            for (Long change = recorded.poll(); change != null; change = recorded.poll()) {
+                int position = (int) (change >>> 8);
+                if (position >= kindsByPosition.length) {
+                    kindsByPosition = Arrays.copyOf(kindsByPosition, Math.max(position + 1, kindsByPosition.length * 2));
+                }
+                if (kindsByPosition[position] == 0) {
+                    if (size == positions.length) {
+                        positions = Arrays.copyOf(positions, size * 2);
+                    }
+                    positions[size++] = position;  // First change to this staff member in the frame
+                }
+                kindsByPosition[position] |= (byte) change.longValue();
+                events++;
+            }
+            if (size == 0) {
+                return;
+            }
+            int[] batch = Arrays.copyOf(positions, size);
+            byte[] kinds = new byte[size];
+            for (int i = 0; i < size; i++) {
+                kinds[i] = kindsByPosition[batch[i]];
+                kindsByPosition[batch[i]] = 0;  // Ready for the next frame
+            }
+            StaffChanges changes = new StaffChanges(batch, kinds, events);
+            for (RecruitmentService.Listener listener : listeners) {
+                try {
+                    listener.staffChanged(changes);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();  // Do not keep the batch from the other listeners
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers the changes still buffered and stops the delivery thread
+     */
+    public void close() {
+        flush();
+        synchronized (this) {
+            closed = true;
+            if (dispatcher != null) {
+                dispatcher.shutdown();
+            }
+        }
+    }
+}
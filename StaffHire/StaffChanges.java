@@ -0,0 +1,75 @@
+/**
+ * Batch of changes to the staff list, coalesced per staff member
+ * Each staff member changed during the batch appears once, with the kinds of
+ * change made to it ORed together, so a staff member whose salary was set a
+ * thousand times appears once with SALARY_CHANGED. Positions are in the order
+ * each staff member was first changed. Not changed once made
+ */
+public class StaffChanges {
+    public static final int INSERTED = 1;          // The staff member was added
+    public static final int SALARY_CHANGED = 2;    // A full-time staff member's salary was set
+    public static final int WAGES_CHANGED = 4;     // A part-time staff member's wages per hour were set
+    public static final int SHIFTS_CHANGED = 8;    // A part-time staff member's shifts were set
+    public static final int FIELDS_RESTORED = 16;  // Undo or redo put back the fields of a change
+    public static final int TERMINATED = 32;       // A part-time staff member was terminated
+
+    /** Any kind of change to the fields of an existing staff member */
+    public static final int FIELD_CHANGED = SALARY_CHANGED | WAGES_CHANGED | SHIFTS_CHANGED | FIELDS_RESTORED;
+
+    private final int[] positions;  // Staff list position of each staff member changed
+    private final byte[] kinds;     // Kinds of change made to each
+    private final int events;       // Changes made before coalescing
+
+    /**
+     * Constructor - creates a batch
+     *
+     * @param positions The positions of the staff changed
+     * @param kinds     The kinds of change made to each, ORed together
+     * @param events    The number of changes coalesced into the batch
+     */
+    public StaffChanges(int[] positions, byte[] kinds, int events) {
+        this.positions = positions;
+        this.kinds = kinds;
+        this.events = events;
+    }
+
+    /**
+     * Counts the staff changed
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Gets the staff list position of the i-th staff member changed
+     */
+    public int position(int i) {
+        return positions[i];
+    }
+
+    /**
+     * Gets the kinds of change made to the i-th staff member, such as INSERTED | SALARY_CHANGED
+     */
+    public int kinds(int i) {
+        return kinds[i];
+    }
+
+    public boolean isInserted(int i) {
+        return (kinds[i] & INSERTED) != 0;
+    }
+
+    public boolean isFieldChanged(int i) {
+        return (kinds[i] & FIELD_CHANGED) != 0;
+    }
+
+    public boolean isTerminated(int i) {
+        return (kinds[i] & TERMINATED) != 0;
+    }
+
+    /**
+     * Counts the changes made before they were coalesced, at least size()
+     */
+    public int getEvents() {
+        return events;
+    }
+}
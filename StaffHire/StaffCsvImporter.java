@@ -0,0 +1,281 @@
+import java.io.BufferedReader;                  // For reading the file line by line
+import java.io.IOException;                     // For file errors
+import java.nio.charset.StandardCharsets;       // For reading the file as UTF-8
+import java.nio.file.Files;                     // For opening the file
+import java.nio.file.Path;                      // For file paths
+import java.util.ArrayList;                     // For the chunk and batch lists
+import java.util.List;                          // For List interface
+import java.util.stream.IntStream;              // For parsing a chunk in parallel
+
+/**
+ * Bulk import of staff hires from a CSV file
+ * The file is read in chunks of CHUNK_SIZE lines, each chunk is parsed and validated
+ * in parallel with the same rules as the form, and the valid rows are handed over
+ * in one batch per chunk. Only one chunk is held in memory at a time, so files with
+ * millions of rows can be imported in bounded memory
+ */
+public class StaffCsvImporter {
+    // Columns of a staff CSV file, in order. Full-time rows leave the part-time columns empty and the other way round
+    public static final String[] COLUMNS = {
+        "type", "vacancyNumber", "designation", "jobType", "staffName", "joiningDate", "qualification",
+        "appointedBy", "joined", "salary", "weeklyFractionalHours", "workingHours", "wagesPerHour", "shifts"
+    };
+
+    private static final int CHUNK_SIZE = 10_000;   // Lines read and parsed together
+
+    /**
+     * Receives the valid rows of each chunk
+     * Called on the importing thread, once per chunk
+     */
+    public interface BatchHandler {
+        /**
+         * Inserts a batch of valid rows into the staff store
+         * Rows that cannot be inserted (for example duplicate vacancy numbers) should be rejected on the report
+         */
+        void insert(List<ImportedRow> rows, ImportReport report) throws IOException;
+
+        /**
+         * Reports how far through the file the import is
+         *
+         * @param percent Percentage of the file read so far
+         */
+        void progress(int percent);
+    }
+
+    /**
+     * A valid row read from the file
+     */
+    public static class ImportedRow {
+        public final int line;          // Line number in the file, starting at 1
+        public final StaffHire staff;   // Staff created from the row
+
+        ImportedRow(int line, StaffHire staff) {
+            this.line = line;
+            this.staff = staff;
+        }
+    }
+
+    /**
+     * Result of one parsed line, either a staff member or an error message
+     */
+    private static class ParsedRow {
+        final int line;
+        final StaffHire staff;
+        final String error;
+
+        ParsedRow(int line, StaffHire staff, String error) {
+            this.line = line;
+            this.staff = staff;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Imports every row of a CSV file
+     * A first line starting with "type" is treated as the header and skipped.
+     * The import stops early if the importing thread is interrupted
+     *
+     * @param file    The CSV file to read
+     * @param handler Receives the valid rows of each chunk
+     * @return        The report of imported and rejected rows
+     * @throws IOException If the file cannot be read or the handler fails
+     */
+    public ImportReport importFile(Path file, BatchHandler handler) throws IOException {
+        ImportReport report = new ImportReport();
+        long fileSize = Math.max(1, Files.size(file));
+        long bytesRead = 0;  // Approximate, for progress only
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            int lineNumber = 0;     // Number of the last line read
+            int chunkStart = 1;     // Line number of the first line in the chunk
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                bytesRead += line.length() + 1;
+                if (lineNumber == 1 && line.regionMatches(true, 0, "type", 0, 4)) {
+                    chunkStart = 2;  // Skip the header
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, chunkStart, handler, report);
+                    handler.progress((int) Math.min(99, bytesRead * 100 / fileSize));
+                    chunk.clear();
+                    chunkStart = lineNumber + 1;
+                    if (Thread.currentThread().isInterrupted()) {
+                        report.cancelled();
+                        return report;  // Import cancelled
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, chunkStart, handler, report);
+            }
+        }
+        handler.progress(100);
+        return report;
+    }
+
+    // Parses a chunk of lines in parallel and hands the valid rows to the handler
+    private void importChunk(List<String> chunk, int firstLine, BatchHandler handler, ImportReport report) throws IOException {
+        ParsedRow[] parsed = IntStream.range(0, chunk.size())
+            .parallel()
+            .mapToObj(i -> parseRow(firstLine + i, chunk.get(i)))
+            .toArray(ParsedRow[]::new);
+
+        List<ImportedRow> batch = new ArrayList<>(parsed.length);
+        for (ParsedRow row : parsed) {
+            report.rowRead();
+            if (row.staff == null) {
+                report.reject(row.line, row.error);
+            } else {
+                batch.add(new ImportedRow(row.line, row.staff));
+            }
+        }
+        if (!batch.isEmpty()) {
+            handler.insert(batch, report);
+        }
+    }
+
+    // Parses and validates one line, turning a validation error into an error row
+    private static ParsedRow parseRow(int line, String text) {
+        if (text.trim().isEmpty()) {
+            return new ParsedRow(line, null, "Empty line");
+        }
+        try {
+            return new ParsedRow(line, createStaff(splitLine(text)), null);
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(line, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a staff member from field values in COLUMNS order
+     * Uses the same rules as addFullTimeStaff/addPartTimeStaff and the form's document filters
+     *
+     * @param fields The field values, in COLUMNS order
+     * @return       The new staff member
+     * @throws IllegalArgumentException If a field is missing or invalid, with the reason as the message
+     */
+    static StaffHire createStaff(String[] fields) {
+        if (fields.length < COLUMNS.length) {
+            throw new IllegalArgumentException("Expected " + COLUMNS.length + " columns but found " + fields.length);
+        }
+
+        String type = fields[0].replace(" ", "").toLowerCase();
+        boolean fullTime;
+        if (type.equals("fulltime")) {
+            fullTime = true;
+        } else if (type.equals("parttime")) {
+            fullTime = false;
+        } else {
+            throw new IllegalArgumentException("Type must be Full Time or Part Time");
+        }
+
+        String designation = fields[2];
+        String jobType = fields[3];
+        String staffName = fields[4];
+        String joiningDate = fields[5];
+        String qualification = fields[6];
+        String appointedBy = fields[7];
+        String shifts = fields[13];
+
+        // Validate required fields
+        if (StaffValidation.hasMissingFields(designation, jobType, staffName, joiningDate, qualification, appointedBy)
+            || (!fullTime && shifts.isEmpty())) {
+            throw new IllegalArgumentException("All fields must be filled out");
+        }
+        if (!StaffValidation.isValidText(designation) || !StaffValidation.isValidText(jobType)
+            || !StaffValidation.isValidText(staffName) || !StaffValidation.isValidText(qualification)
+            || !StaffValidation.isValidText(appointedBy) || !StaffValidation.isValidText(shifts)) {
+            throw new IllegalArgumentException("Text fields may only contain letters and spaces");
+        }
+        if (!StaffValidation.isValidDate(joiningDate)) {
+            throw new IllegalArgumentException("Joining date must be a valid dd/mm/yyyy date");
+        }
+
+        Boolean joined = parseBoolean(fields[8]);
+        if (joined == null) {
+            throw new IllegalArgumentException("Joined must be true, false, yes or no");
+        }
+
+        try {
+            int vacancyNumber = parseInteger(fields[1]);
+            if (fullTime) {
+                double salary = parseDecimal(fields[9]);
+                int weeklyFractionalHours = parseInteger(fields[10]);
+                return new FullTimeStaffHire(vacancyNumber, designation, jobType, staffName,
+                    joiningDate, qualification, appointedBy, joined, salary, weeklyFractionalHours);
+            }
+            int workingHour = parseInteger(fields[11]);
+            double wagesPerHour = parseDecimal(fields[12]);
+            return new PartTimeStaffHire(vacancyNumber, designation, jobType, staffName,
+                joiningDate, qualification, appointedBy, joined, workingHour, wagesPerHour, shifts);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(fullTime
+                ? "Please enter valid numbers for Vacancy Number, Salary, and Weekly Hours."
+                : "Please enter valid numbers for Vacancy Number, Working Hour, and Wages Per Hour.");
+        }
+    }
+
+    // Parses a whole number, allowing only digits like the form's integer fields
+    private static int parseInteger(String text) {
+        if (!StaffValidation.isValidInteger(text)) {
+            throw new NumberFormatException(text);
+        }
+        return Integer.parseInt(text);
+    }
+
+    // Parses a decimal number, allowing only digits and one point like the form's decimal fields
+    private static double parseDecimal(String text) {
+        if (!StaffValidation.isValidDecimal(text)) {
+            throw new NumberFormatException(text);
+        }
+        return Double.parseDouble(text);
+    }
+
+    // Parses true/false/yes/no, returning null for anything else
+    private static Boolean parseBoolean(String text) {
+        String value = text.toLowerCase();
+        if (value.equals("true") || value.equals("yes")) {
+            return Boolean.TRUE;
+        }
+        if (value.equals("false") || value.equals("no")) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    /**
+     * Splits a CSV line into trimmed fields
+     * Fields may be wrapped in double quotes, with "" for a quote inside a field
+     */
+    static String[] splitLine(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS.length + 1);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');  // Escaped quote
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,216 @@
+import java.io.BufferedWriter;                  // For buffering the output
+import java.io.IOException;                     // For file errors
+import java.io.Writer;                          // For writing text
+import java.nio.channels.Channels;              // For writing text to the channel
+import java.nio.channels.FileChannel;           // For the output file
+import java.nio.charset.StandardCharsets;       // For writing the file as UTF-8
+import java.nio.file.Path;                      // For file paths
+import java.nio.file.StandardOpenOption;        // For creating the output file
+
+/**
+ * Streaming export of the staff list to CSV or JSON
+ * Each staff member is written straight to a buffered channel writer as it is read,
+ * so the whole document is never built in memory
+ */
+public class StaffExporter {
+    private static final int BUFFER_SIZE = 256 * 1024;     // Characters buffered before writing to the file
+    private static final int PROGRESS_STEP = 10_000;       // Rows between progress reports
+
+    /**
+     * Output formats
+     */
+    public enum Format {
+        CSV, JSON
+    }
+
+    /**
+     * Receives progress reports during an export
+     */
+    public interface ProgressListener {
+        /**
+         * Reports how far through the export is
+         *
+         * @param percent Percentage of the rows written so far
+         */
+        void progress(int percent);
+    }
+
+    /**
+     * Writes the first count staff members to a file
+     * The export stops early if the exporting thread is interrupted
+     *
+     * @param service   The service holding the staff to export
+     * @param count     The number of staff to export, read when the export started
+     * @param file      The file to write
+     * @param format    CSV or JSON
+     * @param listener  Receives progress reports
+     * @return          The number of staff written
+     * @throws IOException If the file cannot be written
+     */
+    public int export(RecruitmentService service, int count, Path file, Format format, ProgressListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (format == Format.CSV) {
+                writeCsvHeader(out);
+            } else {
+                out.write("[\n");
+            }
+
+            int written = 0;
+            for (int i = 0; i < count; i++) {
+                StaffHire staff = service.get(i);
+                if (format == Format.CSV) {
+                    writeCsvRow(out, staff);
+                } else {
+                    if (i > 0) {
+                        out.write(",\n");
+                    }
+                    writeJsonObject(out, staff);
+                }
+                written++;
+
+                if (written % PROGRESS_STEP == 0) {
+                    listener.progress((int) ((long) written * 100 / count));
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;  // Export cancelled
+                    }
+                }
+            }
+
+            if (format == Format.JSON) {
+                out.write("\n]\n");
+            }
+            listener.progress(100);
+            return written;
+        }
+    }
+
+    // Writes the CSV header, the import columns followed by terminated
+    private static void writeCsvHeader(Writer out) throws IOException {
+        for (String column : StaffCsvImporter.COLUMNS) {
+            out.write(column);
+            out.write(',');
+        }
+        out.write("terminated\n");
+    }
+
+    // Writes one staff member as a CSV row in the same column order as the import
+    private static void writeCsvRow(Writer out, StaffHire staff) throws IOException {
+        boolean fullTime = staff instanceof FullTimeStaffHire;
+        out.write(fullTime ? "Full Time" : "Part Time");
+        out.write(',');
+        out.write(Integer.toString(staff.getVacancyNumber()));
+        writeCsvText(out, staff.getDesignation());
+        writeCsvText(out, staff.getJobType());
+        writeCsvText(out, staff.getStaffName());
+        writeCsvText(out, staff.getJoiningDate());
+        writeCsvText(out, staff.getQualification());
+        writeCsvText(out, staff.getAppointedBy());
+        out.write(staff.getJoined() ? ",true" : ",false");
+        if (fullTime) {
+            FullTimeStaffHire fullTimeStaff = (FullTimeStaffHire) staff;
+            out.write(',');
+            out.write(Double.toString(fullTimeStaff.getSalary()));
+            out.write(',');
+            out.write(Integer.toString(fullTimeStaff.getWeeklyFractionalHours()));
+            out.write(",,,,false\n");  // No part-time fields, never terminated
+        } else {
+            PartTimeStaffHire partTimeStaff = (PartTimeStaffHire) staff;
+            out.write(",,,");  // No full-time fields
+            out.write(Integer.toString(partTimeStaff.getWorkingHour()));
+            out.write(',');
+            out.write(Double.toString(partTimeStaff.getWagesPerHour()));
+            writeCsvText(out, partTimeStaff.getShifts());
+            out.write(partTimeStaff.getTerminated() ? ",true\n" : ",false\n");
+        }
+    }
+
+    // Writes a comma then a text field, quoting it if it contains a comma, quote or line break
+    private static void writeCsvText(Writer out, String value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');  // Quotes are doubled inside a quoted field
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    // Writes one staff member as a JSON object, also used by the HTTP server
+    static void writeJsonObject(Writer out, StaffHire staff) throws IOException {
+        boolean fullTime = staff instanceof FullTimeStaffHire;
+        out.write("  {\"type\": ");
+        writeJsonText(out, fullTime ? "Full Time" : "Part Time");
+        out.write(", \"vacancyNumber\": ");
+        out.write(Integer.toString(staff.getVacancyNumber()));
+        out.write(", \"designation\": ");
+        writeJsonText(out, staff.getDesignation());
+        out.write(", \"jobType\": ");
+        writeJsonText(out, staff.getJobType());
+        out.write(", \"staffName\": ");
+        writeJsonText(out, staff.getStaffName());
+        out.write(", \"joiningDate\": ");
+        writeJsonText(out, staff.getJoiningDate());
+        out.write(", \"qualification\": ");
+        writeJsonText(out, staff.getQualification());
+        out.write(", \"appointedBy\": ");
+        writeJsonText(out, staff.getAppointedBy());
+        out.write(", \"joined\": ");
+        out.write(Boolean.toString(staff.getJoined()));
+        if (fullTime) {
+            FullTimeStaffHire fullTimeStaff = (FullTimeStaffHire) staff;
+            out.write(", \"salary\": ");
+            out.write(Double.toString(fullTimeStaff.getSalary()));
+            out.write(", \"weeklyFractionalHours\": ");
+            out.write(Integer.toString(fullTimeStaff.getWeeklyFractionalHours()));
+        } else {
+            PartTimeStaffHire partTimeStaff = (PartTimeStaffHire) staff;
+            out.write(", \"workingHours\": ");
+            out.write(Integer.toString(partTimeStaff.getWorkingHour()));
+            out.write(", \"wagesPerHour\": ");
+            out.write(Double.toString(partTimeStaff.getWagesPerHour()));
+            out.write(", \"shifts\": ");
+            writeJsonText(out, partTimeStaff.getShifts());
+            out.write(", \"terminated\": ");
+            out.write(Boolean.toString(partTimeStaff.getTerminated()));
+        }
+        out.write('}');
+    }
+
+    // Writes a JSON string, escaping quotes, backslashes and control characters
+    static void writeJsonText(Writer out, String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                out.write(String.format("\\u%04x", (int) c));
+            } else {
+                out.write(c);
+            }
+        }
+        out.write('"');
+    }
+}
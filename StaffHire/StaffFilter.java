@@ -0,0 +1,68 @@
+import java.util.function.Predicate;            // For the filters and combining them
+
+/**
+ * Filters choosing the staff a bulk change applies to
+ * Combine them with and, or and negate, for example
+ * StaffFilter.partTime().and(StaffFilter.joinedBefore(day)) for the part-time
+ * staff who joined before a date. The text filters compare dictionary codes, so
+ * checking a staff member does not build or compare any Strings
+ */
+public class StaffFilter {
+    private StaffFilter() {
+        // Only static methods
+    }
+
+    /**
+     * Matches every staff member
+     */
+    public static Predicate<StaffHire> all() {
+        return staff -> true;
+    }
+
+    /**
+     * Matches full-time staff
+     */
+    public static Predicate<StaffHire> fullTime() {
+        return staff -> staff instanceof FullTimeStaffHire;
+    }
+
+    /**
+     * Matches part-time staff
+     */
+    public static Predicate<StaffHire> partTime() {
+        return staff -> staff instanceof PartTimeStaffHire;
+    }
+
+    /**
+     * Matches part-time staff who have been terminated
+     */
+    public static Predicate<StaffHire> terminated() {
+        return staff -> staff instanceof PartTimeStaffHire && ((PartTimeStaffHire) staff).getTerminated();
+    }
+
+    /**
+     * Matches staff with exactly this designation, such as "Lecturer"
+     */
+    public static Predicate<StaffHire> designation(String designation) {
+        int code = FieldDictionary.encode(designation);
+        return staff -> staff.getDesignationCode() == code;
+    }
+
+    /**
+     * Matches staff with exactly this job type
+     */
+    public static Predicate<StaffHire> jobType(String jobType) {
+        int code = FieldDictionary.encode(jobType);
+        return staff -> staff.getJobTypeCode() == code;
+    }
+
+    /**
+     * Matches staff with a joining date before the given day
+     * Staff without a joining date, such as terminated staff, are not matched
+     *
+     * @param epochDay First day not matched, see JoiningDate
+     */
+    public static Predicate<StaffHire> joinedBefore(int epochDay) {
+        return staff -> staff.getJoiningDay() != JoiningDate.NO_DATE && staff.getJoiningDay() < epochDay;
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.IOException;                     // For errors writing to the Appendable
+
+/**
+ * Formats that staff details can be rendered in with StaffHire.render
+ * Each format writes straight into the caller's Appendable, so many staff can be
+ * rendered into one StringBuilder or Writer without building strings per field
+ */
+public enum StaffFormat {
+    /**
+     * "Label: value" lines, the same as display()
+     */
+    TEXT {
+        @Override
+        void begin(Appendable out, String type) {
+        }
+
+        @Override
+        void text(Appendable out, String label, String key, String value) throws IOException {
+            out.append(label).append(": ").append(value).append(LINE_SEPARATOR);
+        }
+
+        @Override
+        void number(Appendable out, String label, String key, String value) throws IOException {
+            text(out, label, key, value);
+        }
+
+        @Override
+        void flag(Appendable out, String label, String key, boolean value) throws IOException {
+            text(out, label, key, value ? "Yes" : "No");
+        }
+
+        @Override
+        void end(Appendable out) {
+        }
+    },
+
+    /**
+     * A two-column HTML table, one row per field
+     */
+    HTML {
+        @Override
+        void begin(Appendable out, String type) throws IOException {
+            out.append("<table class=\"staff\"><caption>");
+            appendHtml(out, type);
+            out.append("</caption>");
+        }
+
+        @Override
+        void text(Appendable out, String label, String key, String value) throws IOException {
+            out.append("<tr><th>").append(label).append("</th><td>");
+            appendHtml(out, value);
+            out.append("</td></tr>");
+        }
+
+        @Override
+        void number(Appendable out, String label, String key, String value) throws IOException {
+            text(out, label, key, value);
+        }
+
+        @Override
+        void flag(Appendable out, String label, String key, boolean value) throws IOException {
+            text(out, label, key, value ? "Yes" : "No");
+        }
+
+        @Override
+        void end(Appendable out) throws IOException {
+            out.append("</table>");
+        }
+    },
+
+    /**
+     * A JSON object with the staff type and one member per field
+     */
+    JSON {
+        @Override
+        void begin(Appendable out, String type) throws IOException {
+            out.append("{\"type\": ");
+            appendJson(out, type);
+        }
+
+        @Override
+        void text(Appendable out, String label, String key, String value) throws IOException {
+            out.append(", \"").append(key).append("\": ");
+            appendJson(out, value);
+        }
+
+        @Override
+        void number(Appendable out, String label, String key, String value) throws IOException {
+            out.append(", \"").append(key).append("\": ").append(value);
+        }
+
+        @Override
+        void flag(Appendable out, String label, String key, boolean value) throws IOException {
+            out.append(", \"").append(key).append("\": ").append(value ? "true" : "false");
+        }
+
+        @Override
+        void end(Appendable out) throws IOException {
+            out.append('}');
+        }
+    };
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();  // Same line ending as println
+
+    // Writes whatever comes before the first field
+    abstract void begin(Appendable out, String type) throws IOException;
+
+    // Writes a text field
+    abstract void text(Appendable out, String label, String key, String value) throws IOException;
+
+    // Writes a number field, already turned into text
+    abstract void number(Appendable out, String label, String key, String value) throws IOException;
+
+    // Writes a true/false field
+    abstract void flag(Appendable out, String label, String key, boolean value) throws IOException;
+
+    // Writes whatever comes after the last field
+    abstract void end(Appendable out) throws IOException;
+
+    // Writes text with the HTML special characters escaped
+    private static void appendHtml(Appendable out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<': out.append("&lt;"); break;
+                case '>': out.append("&gt;"); break;
+                case '&': out.append("&amp;"); break;
+                case '"': out.append("&quot;"); break;
+                default: out.append(c);
+            }
+        }
+    }
+
+    // Writes a JSON string, escaping quotes, backslashes and control characters
+    private static void appendJson(Appendable out, String value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -1,30 +1,37 @@
+import java.io.IOException;                                                         //for errors writing rendered details
+import java.io.UncheckedIOException;                                                //for rethrowing StringBuilder errors
 
 public class StaffHire {
     
     private int vacancyNumber;                                                      //shows the Staff's vacancy number
-    private String designation;                                                     //shows the Staff's designation
-    private String jobType;                                                         //shows the Staff's job type
+    private int designationCode;                                                     //shows the Staff's designation as a FieldDictionary code
+    private int jobTypeCode;                                                        //shows the Staff's job type as a FieldDictionary code
     private String staffName;                                                       //shows the Staff's name
-    private String joiningDate;                                                     //shows the Staff's joining date
-    private String qualification;                                                   //shows the Staff's qualification
-    private String appointedBy;                                                     //shows who the Staff has been appointed by
+    private int joiningDay;                                                         //shows the Staff's joining date as an epoch day
+    private int qualificationCode;                                                  //shows the Staff's qualification as a FieldDictionary code
+    private int appointedByCode;                                                    //shows who the Staff has been appointed by as a FieldDictionary code
     private boolean joined;                                                         //shows if a Staff has joined
     
-    // constructor of the StaffHire class taking user input, specifying the data types needed
+    /**
+     * constructor of the StaffHire class taking user input, specifying the data types needed
+     *
+     * @param joiningDate the joining date as dd/mm/yyyy, or null or "" for none
+     * @throws IllegalArgumentException if joiningDate is not a real dd/mm/yyyy date
+     */
     public StaffHire(int vacancyNumber, String designation, String jobType, String staffName, String joiningDate, String qualification, String appointedBy, boolean joined) {
         this.vacancyNumber = vacancyNumber;                                         // sets vacancyNumber to user input
-        this.designation = designation;                                             //sets designation to user input
-        this.jobType = jobType;                                                     //sets jobType to user input
+        this.designationCode = FieldDictionary.encode(designation);                 //sets designation to user input
+        this.jobTypeCode = FieldDictionary.encode(jobType);                         //sets jobType to user input
         this.staffName = staffName;                                                 //sets staffName to user input
-        this.joiningDate = joiningDate;                                             //sets joiningDate to user input
-        this.qualification = qualification;                                         //sets qualification to user input
-        this.appointedBy = appointedBy;                                             //sets appointedby to user input
+        this.joiningDay = JoiningDate.parse(joiningDate);                           //sets joiningDay to user input, throws if it is not a dd/mm/yyyy date
+        this.qualificationCode = FieldDictionary.encode(qualification);             //sets qualification to user input
+        this.appointedByCode = FieldDictionary.encode(appointedBy);                 //sets appointedby to user input
         this.joined = joined;                                                       //sets joined to user input
     }
     
     public void setVacancyNumber(int vacancyNumber) {                               //vacancyNumber setter
         this.vacancyNumber = vacancyNumber;                                         //changes vacancyNumber to user input
-        System.out.println("Vacancy number has been changed to: " + vacancyNumber); //displays the change in the terminal
+        ChangeLog.log(ChangeLog.Event.VACANCY_NUMBER_CHANGED, vacancyNumber, vacancyNumber); //logs the change
     }
     
     public int getVacancyNumber() {                                                 //vacancyNumber getter
@@ -32,62 +39,88 @@ public class StaffHire {
     }
     
     public void setDesignation(String designation) {                                //designation setter
-        this.designation = designation;                                             //changes designation to user input
-        System.out.println("Designation has been changed to: " + designation);      //displays the change in the terminal
+        this.designationCode = FieldDictionary.encode(designation);                 //changes designation to user input
+        ChangeLog.log(ChangeLog.Event.DESIGNATION_CHANGED, getVacancyNumber(), designation); //logs the change
     }
     
     public String getDesignation() {                                                //designation getter
-        return designation;                                                         //returns the value of designation
+        return FieldDictionary.decode(getDesignationCode());                        //returns the value of designation
+    }
+
+    public int getDesignationCode() {                                               //designation code getter
+        return designationCode;                                                     //equal codes mean equal designations
     }
     
     public void setJobType(String jobType) {                                        //jobType setter
-        this.jobType = jobType;                                                     //changes jobType to user input
-        System.out.println("Job type has been changed to: " + jobType);             //displays the change in the terminal
+        this.jobTypeCode = FieldDictionary.encode(jobType);                         //changes jobType to user input
+        ChangeLog.log(ChangeLog.Event.JOB_TYPE_CHANGED, getVacancyNumber(), jobType); //logs the change
     }
     
     public String getJobType() {                                                    //jobType getter
-        return jobType;                                                             //returns the value of jobType
+        return FieldDictionary.decode(getJobTypeCode());                            //returns the value of jobType
+    }
+
+    public int getJobTypeCode() {                                                   //jobType code getter
+        return jobTypeCode;                                                         //equal codes mean equal job types
     }
     
     public void setStaffName(String staffName) {                                    //staffName setter
         this.staffName = staffName;                                                 //changes staffName to user input
-        System.out.println("Staff name has been changed to: " + staffName);         //displays the change in the terminal
+        ChangeLog.log(ChangeLog.Event.STAFF_NAME_CHANGED, getVacancyNumber(), staffName); //logs the change
     }
     
     public String getStaffName() {                                                  //staffName getter
         return staffName;                                                           //displays staffName
     }
     
-    public void setJoiningDate(String joiningDate) {                                //joiningDate setter
-        this.joiningDate = joiningDate;                                             //changes joiningDate to user input
-        System.out.println("Join date has been changed to: " + joiningDate);        //displays the change in the terminal
+    /**
+     * joiningDate setter
+     *
+     * @param joiningDate the joining date as dd/mm/yyyy, or null or "" for none
+     * @throws IllegalArgumentException if joiningDate is not a real dd/mm/yyyy date
+     */
+    public void setJoiningDate(String joiningDate) {
+        this.joiningDay = JoiningDate.parse(joiningDate);                           //changes joiningDay to user input
+        ChangeLog.log(ChangeLog.Event.JOINING_DATE_CHANGED, getVacancyNumber(), joiningDate); //logs the change
     }
     
     public String getJoiningDate() {                                                //joiningDate getter
-        return joiningDate;                                                         //returns the value of joiningDate
+        return JoiningDate.format(getJoiningDay());                                 //returns joiningDay as dd/mm/yyyy, "" if there is none
+    }
+
+    public int getJoiningDay() {                                                    //joiningDay getter
+        return joiningDay;                                                          //returns the epoch day, JoiningDate.NO_DATE if there is none
     }
     
     public void setQualification(String qualification) {                            //qualification setter
-        this.qualification = qualification;                                         //changes qualification to user input
-        System.out.println("Qualification has been changed to: " + qualification);  //displays the change in the terminal
+        this.qualificationCode = FieldDictionary.encode(qualification);             //changes qualification to user input
+        ChangeLog.log(ChangeLog.Event.QUALIFICATION_CHANGED, getVacancyNumber(), qualification); //logs the change
     }
     
     public String getQualification() {                                              //qualification getter
-        return qualification;                                                       //returns the value of qualification
+        return FieldDictionary.decode(getQualificationCode());                      //returns the value of qualification
+    }
+
+    public int getQualificationCode() {                                             //qualification code getter
+        return qualificationCode;                                                   //equal codes mean equal qualifications
     }
     
     public void setAppointedBy(String appointedBy) {                                //appointedBy setter
-        this.appointedBy = appointedBy;                                             //changes appointedBy to user input
-        System.out.println("Appointed by has been changed to: " + appointedBy);     //displays the change in the terminal
+        this.appointedByCode = FieldDictionary.encode(appointedBy);                 //changes appointedBy to user input
+        ChangeLog.log(ChangeLog.Event.APPOINTED_BY_CHANGED, getVacancyNumber(), appointedBy); //logs the change
     }
     
     public String getAppointedBy() {                                                //appointedBy getter
-        return appointedBy;                                                         //returns the value of appointedBy
+        return FieldDictionary.decode(getAppointedByCode());                        //returns the value of appointedBy
+    }
+
+    public int getAppointedByCode() {                                               //appointedBy code getter
+        return appointedByCode;                                                     //equal codes mean equal appointers
     }
     
     public void setJoined(boolean joined) {                                         //joined boolean setter
         this.joined = joined;                                                       //changes joined to user input
-        System.out.println("Joined has been set to: " + joined);                    //displays the change in the terminal
+        ChangeLog.log(ChangeLog.Event.JOINED_CHANGED, getVacancyNumber(), joined);  //logs the change
     }
     
     public boolean getJoined() {                                                    //joined boolean getter
@@ -95,14 +128,51 @@ public class StaffHire {
     }
     
 
+    public String getStaffType() {                                                  //staff type getter
+        return "Staff";                                                             //overridden by the full-time and part-time classes
+    }
+
     public void display() {
-        System.out.println("Vacancy Number: " + vacancyNumber);     // displays the vacancy number in the terminal
-        System.out.println("Designation: " + designation);          // displays the designation in the terminal
-        System.out.println("Job Type: " + jobType);                 // displays job type in the terminal
-        System.out.println("Staff Name: " + staffName);             // displays staff name in the terminal
-        System.out.println("Joining Date: " + joiningDate);         // displays joining date in the terminal
-        System.out.println("Qualification: " + qualification);      // displays qualification in the terminal
-        System.out.println("Appointed By: " + appointedBy);         // displays appointed by in the terminal
-        System.out.println("Joined: " + (joined ? "Yes" : "No"));   // displays the boolean in the terminal
-    }
-}
\ No newline at end of file
+        System.out.print(render(new StringBuilder(), StaffFormat.TEXT));           // displays the details in the terminal
+    }
+
+    /**
+     * Renders the staff details into the caller's Appendable
+     * Nothing global is touched, so many staff can be rendered at once from any thread
+     *
+     * @param out    Where to write the details, for example a StringBuilder or Writer
+     * @param format TEXT, HTML or JSON
+     * @throws IOException If out cannot be written to
+     */
+    public void render(Appendable out, StaffFormat format) throws IOException {
+        format.begin(out, getStaffType());
+        renderFields(out, format);
+        format.end(out);
+    }
+
+    /**
+     * Renders the staff details into a StringBuilder
+     *
+     * @return out, for chaining
+     */
+    public StringBuilder render(StringBuilder out, StaffFormat format) {
+        try {
+            render((Appendable) out, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);                                      // a StringBuilder never throws
+        }
+        return out;
+    }
+
+    // Renders this class's fields, subclasses add their own after calling this
+    protected void renderFields(Appendable out, StaffFormat format) throws IOException {
+        format.number(out, "Vacancy Number", "vacancyNumber", Integer.toString(getVacancyNumber()));
+        format.text(out, "Designation", "designation", getDesignation());
+        format.text(out, "Job Type", "jobType", getJobType());
+        format.text(out, "Staff Name", "staffName", getStaffName());
+        format.text(out, "Joining Date", "joiningDate", getJoiningDate());
+        format.text(out, "Qualification", "qualification", getQualification());
+        format.text(out, "Appointed By", "appointedBy", getAppointedBy());
+        format.flag(out, "Joined", "joined", getJoined());
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.ArrayDeque;                    // For the undo and redo stacks
+import java.util.Arrays;                        // For growing the step arrays
+import java.util.concurrent.ConcurrentLinkedQueue;  // For steps recorded without locking
+import java.util.concurrent.atomic.AtomicInteger;  // For counting them
+
+/**
+ * Undo and redo history of changes to existing staff
+ * Each step keeps only the staff it changed, with their values and version stamps
+ * before and after the change, so a step never
+ * copies the staff list and undoing or redoing costs the staff in that step,
+ * whatever the size of the roster. Pay changes keep just two numbers per staff
+ * member, other changes keep a StaffState before and after.
+ *
+ * The service checks the version stamps before undoing or redoing a step, so a
+ * step is not applied over a change made since, such as one from the HTTP API,
+ * and puts the stamps back along with the values.
+ * Adding staff is not kept, as the stores cannot remove staff. The oldest steps
+ * are dropped past MAX_STEPS steps or MAX_EDITS changed staff in total.
+ * Recording a step only adds it to a queue, so changes to different staff on many
+ * threads record at the same time. The queued steps are moved onto the undo stack
+ * in order the next time the stacks are used, or once MAX_STEPS have queued up.
+ * Thread-safe
+ */
+public class StaffHistory {
+    private static final int MAX_STEPS = 10_000;      // Steps kept for undoing
+    private static final int MAX_EDITS = 1_000_000;   // Changed staff kept across all steps
+
+    private final ArrayDeque<Step> undoSteps = new ArrayDeque<>();  // Latest step last
+    private final ArrayDeque<Step> redoSteps = new ArrayDeque<>();  // Latest undone step last
+    private long edits;                     // Changed staff in both stacks
+    private final ConcurrentLinkedQueue<Step> recorded = new ConcurrentLinkedQueue<>();  // Steps not yet on the undo stack
+    private final AtomicInteger recordedCount = new AtomicInteger();  // Steps in recorded
+
+    /**
+     * One change to one or more staff members
+     * Built with the pay or state methods and add, and not changed once recorded
+     */
+    public static class Step {
+        final String description;   // Shown next to Undo and Redo, such as "Set salary of vacancy 12"
+        int[] positions;            // Positions of the changed staff
+        int[] versionsBefore;       // Version stamp of each staff member before and after the change
+        int[] versionsAfter;
+        double[] payBefore;         // Pay steps: salary or wages per hour before and after
+        double[] payAfter;
+        StaffState[] stateBefore;   // State steps: changeable fields before and after
+        StaffState[] stateAfter;
+        int size;                   // Staff in the step
+
+        private Step(String description, boolean pay) {
+            this.description = description;
+            positions = new int[1];
+            versionsBefore = new int[1];
+            versionsAfter = new int[1];
+            if (pay) {
+                payBefore = new double[1];
+                payAfter = new double[1];
+            } else {
+                stateBefore = new StaffState[1];
+                stateAfter = new StaffState[1];
+            }
+        }
+
+        /**
+         * Creates an empty step of salary or wages changes
+         */
+        public static Step pay(String description) {
+            return new Step(description, true);
+        }
+
+        /**
+         * Creates an empty step of changes to other fields
+         */
+        public static Step state(String description) {
+            return new Step(description, false);
+        }
+
+        /**
+         * Adds a pay change to the step
+         */
+        public void add(int position, int versionBefore, int versionAfter, double before, double after) {
+            grow();
+            positions[size] = position;
+            versionsBefore[size] = versionBefore;
+            versionsAfter[size] = versionAfter;
+            payBefore[size] = before;
+            payAfter[size] = after;
+            size++;
+        }
+
+        /**
+         * Adds a change to other fields to the step
+         */
+        public void add(int position, int versionBefore, int versionAfter, StaffState before, StaffState after) {
+            grow();
+            positions[size] = position;
+            versionsBefore[size] = versionBefore;
+            versionsAfter[size] = versionAfter;
+            stateBefore[size] = before;
+            stateAfter[size] = after;
+            size++;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        boolean isPay() {
+            return payBefore != null;
+        }
+
+        private void grow() {
+            if (size < positions.length) {
+                return;
+            }
+            int capacity = size * 2;
+            positions = Arrays.copyOf(positions, capacity);
+            versionsBefore = Arrays.copyOf(versionsBefore, capacity);
+            versionsAfter = Arrays.copyOf(versionsAfter, capacity);
+            if (payBefore != null) {
+                payBefore = Arrays.copyOf(payBefore, capacity);
+                payAfter = Arrays.copyOf(payAfter, capacity);
+            } else {
+                stateBefore = Arrays.copyOf(stateBefore, capacity);
+                stateAfter = Arrays.copyOf(stateAfter, capacity);
+            }
+        }
+    }
+
+    /**
+     * Records a change that was just made
+     * Anything that was undone can no longer be redone. Takes no lock unless
+     * MAX_STEPS steps are waiting to be moved onto the undo stack
+     */
+    public void record(Step step) {
+        if (step.size == 0) {
+            return;  // Nothing was changed
+        }
+        recorded.add(step);
+        if (recordedCount.incrementAndGet() >= MAX_STEPS) {
+            synchronized (this) {
+                addRecorded();  // Keep the queue from growing past the history's own limit
+            }
+        }
+    }
+
+    /**
+     * Gets the step Undo would undo, or null if there is none
+     */
+    public synchronized Step nextUndo() {
+        addRecorded();
+        return undoSteps.peekLast();
+    }
+
+    /**
+     * Gets the step Redo would redo, or null if there is none
+     */
+    public synchronized Step nextRedo() {
+        addRecorded();
+        return redoSteps.peekLast();
+    }
+
+    /**
+     * Moves the latest step to the redo stack once it has been undone
+     */
+    public synchronized void undone() {
+        redoSteps.addLast(undoSteps.removeLast());
+    }
+
+    /**
+     * Moves the latest undone step back to the undo stack once it has been redone
+     */
+    public synchronized void redone() {
+        undoSteps.addLast(redoSteps.removeLast());
+    }
+
+    /**
+     * Drops the next step to undo, when it can no longer be undone
+     * Earlier steps stay, but will usually fail their version check too
+     */
+    public synchronized void dropUndo() {
+        edits -= undoSteps.removeLast().size;
+    }
+
+    /**
+     * Drops the next step to redo, when it can no longer be redone
+     */
+    public synchronized void dropRedo() {
+        edits -= redoSteps.removeLast().size;
+    }
+
+    // Moves the recorded steps onto the undo stack, dropping the redo stack and the oldest steps
+    // Called while holding this, before the stacks are used
+    private void addRecorded() {
+        for (Step step = recorded.poll(); step != null; step = recorded.poll()) {
+            recordedCount.decrementAndGet();
+            for (Step undone : redoSteps) {
+                edits -= undone.size;
+            }
+            redoSteps.clear();
+            undoSteps.addLast(step);
+            edits += step.size;
+            while (undoSteps.size() > 1 && (undoSteps.size() > MAX_STEPS || edits > MAX_EDITS)) {
+                edits -= undoSteps.removeFirst().size;  // The latest step is kept even if it is larger
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+import java.io.BufferedInputStream;             // For buffered snapshot reading
+import java.io.BufferedOutputStream;            // For buffered snapshot writing
+import java.io.ByteArrayInputStream;            // For reading journal records from memory
+import java.io.ByteArrayOutputStream;           // For building journal records in memory
+import java.io.DataInputStream;                 // For reading binary records
+import java.io.DataOutputStream;                // For writing binary records
+import java.io.EOFException;                    // For detecting the end of the journal
+import java.io.FileOutputStream;                // For writing the snapshot file
+import java.io.IOException;                     // For file errors
+import java.io.InputStream;                     // For reading files
+import java.nio.ByteBuffer;                     // For writing records to the channel
+import java.nio.channels.Channels;              // For reading the journal as a stream
+import java.nio.channels.ClosedChannelException;  // For changes recorded after closing
+import java.nio.channels.FileChannel;           // For appending to and syncing the journal
+import java.nio.file.Files;                     // For file operations
+import java.nio.file.Path;                      // For file paths
+import java.nio.file.Paths;                     // For building file paths
+import java.nio.file.StandardCopyOption;        // For replacing the snapshot atomically
+import java.nio.file.StandardOpenOption;        // For opening the journal
+import java.util.HashMap;                       // For looking up staff during replay
+import java.util.List;                          // For List interface
+import java.util.Map;                           // For Map interface
+import java.util.concurrent.ConcurrentLinkedQueue;  // For records waiting to be written
+import java.util.concurrent.Executors;          // For the background sync thread
+import java.util.concurrent.ScheduledExecutorService;  // For syncing on a timer
+import java.util.concurrent.TimeUnit;           // For the sync interval
+import java.util.concurrent.atomic.AtomicInteger;  // For counting records without locking
+import java.util.zip.CRC32;                     // For detecting torn journal records
+
+/**
+ * Write-ahead journal and snapshot files that keep the staff list between runs
+ * Every change is queued as a journal record, and a background thread writes the
+ * queued records in one batch and syncs them to disk on a timer (group commit),
+ * instead of a write and sync per record. Recording a change only encodes it and
+ * adds it to the queue, so changes to different staff on many threads record at the
+ * same time and never wait for a sync. A change is on disk within SYNC_INTERVAL_MS.
+ * Once enough records build up the owner writes the whole staff list to a snapshot
+ * and the journal is emptied, so loading only has to replay the changes made since
+ * the last snapshot
+ */
+public class StaffJournal {
+    private static final int SNAPSHOT_MAGIC = 0x53544146;  // "STAF" at the start of a snapshot file
+    private static final int SNAPSHOT_VERSION = 1;         // Snapshot format version
+    private static final int SNAPSHOT_INTERVAL = 10_000;   // Least journal records between snapshots
+    private static final long SYNC_INTERVAL_MS = 50;       // Longest time a record waits before being written and synced
+    private static final int BATCH_BYTES = 64 * 1024;       // Most record bytes written at once
+
+    // Journal record types
+    private static final byte ADD_FULL_TIME = 1;
+    private static final byte ADD_PART_TIME = 2;
+    private static final byte SET_SALARY = 3;
+    private static final byte SET_SHIFTS = 4;
+    private static final byte TERMINATE = 5;
+    private static final byte SET_WAGES = 6;
+    private static final byte RESTORE = 7;
+
+    private final List<StaffHire> staffList;  // The staff list being persisted
+    private final Path snapshotFile;        // Latest snapshot of the whole staff list
+    private final Path journalFile;         // Changes made since the snapshot
+    private final FileChannel journal;      // Open journal channel, appended to
+    private final ScheduledExecutorService syncer;  // Writes and syncs the journal in batches
+    private final ConcurrentLinkedQueue<byte[]> pending = new ConcurrentLinkedQueue<>();  // Records not yet written, without their sequence numbers
+    private final AtomicInteger recordsSinceSnapshot = new AtomicInteger();  // Journal records since the last snapshot
+
+    // Guarded by this, which recording changes never takes
+    private long sequence;                  // Sequence number of the last record written
+    private boolean dirty;                  // true if records were written since the last sync
+
+    /**
+     * Constructor - opens (or creates) the journal in the given directory
+     *
+     * @param directory The directory holding the snapshot and journal files
+     * @param staffList The staff list being persisted
+     * @throws IOException If the files cannot be opened
+     */
+    public StaffJournal(Path directory, List<StaffHire> staffList) throws IOException {
+        this.staffList = staffList;
+        Files.createDirectories(directory);
+        snapshotFile = directory.resolve("staff.snapshot");
+        journalFile = directory.resolve("staff.journal");
+        journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "staff-journal-sync");
+            thread.setDaemon(true);  // Do not keep the application running
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the journal in the directory set by the recruitment.data property
+     * Defaults to a recruitment-data directory in the working directory
+     *
+     * @param staffList The staff list being persisted
+     * @return          The opened journal
+     * @throws IOException If the files cannot be opened
+     */
+    public static StaffJournal openDefault(List<StaffHire> staffList) throws IOException {
+        return new StaffJournal(dataDirectory(), staffList);
+    }
+
+    /**
+     * Gets the directory saved staff files are kept in
+     * Set with the recruitment.data property, defaults to recruitment-data in the working directory
+     *
+     * @return The data directory
+     */
+    public static Path dataDirectory() {
+        return Paths.get(System.getProperty("recruitment.data", "recruitment-data"));
+    }
+
+    /**
+     * Loads the latest snapshot and replays the journal on top of it
+     * A torn or corrupt record at the end of the journal (from a crash mid-write) is dropped.
+     * Must be called once, before any changes are recorded, while the staff list is empty
+     *
+     * @throws IOException If the files cannot be read
+     */
+    public synchronized void load() throws IOException {
+        Map<Integer, StaffHire> byVacancy = new HashMap<>();  // Staff loaded so far, for replaying updates
+        long snapshotSequence = loadSnapshot(byVacancy);
+        sequence = snapshotSequence;
+
+        long validLength = 0;  // Length of the journal up to the last good record
+        journal.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(journal)));
+        while (true) {
+            byte[] body;
+            try {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 9 || length > journal.size()) {
+                    break;  // Corrupt length, ignore it and everything after it
+                }
+                body = new byte[length];
+                in.readFully(body);
+                if (checksum(body) != checksum) {
+                    break;  // Corrupt record, ignore it and everything after it
+                }
+                validLength += 8 + length;
+            } catch (EOFException e) {
+                break;  // End of the journal, or a record cut short by a crash
+            }
+
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+            long recordSequence = record.readLong();
+            if (recordSequence <= snapshotSequence) {
+                continue;  // Already part of the snapshot
+            }
+            replay(record, byVacancy);
+            sequence = recordSequence;
+            recordsSinceSnapshot.incrementAndGet();
+        }
+
+        journal.truncate(validLength);  // Drop any torn record so new records follow the last good one
+        journal.position(validLength);
+    }
+
+    /**
+     * Records that a full-time staff member was added
+     */
+    public void recordAddFullTime(FullTimeStaffHire staff) throws IOException {
+        append(ADD_FULL_TIME, out -> writeFullTime(out, staff));
+    }
+
+    /**
+     * Records that a part-time staff member was added
+     */
+    public void recordAddPartTime(PartTimeStaffHire staff) throws IOException {
+        append(ADD_PART_TIME, out -> writePartTime(out, staff));
+    }
+
+    /**
+     * Records a salary change for a full-time staff member
+     */
+    public void recordSetSalary(int vacancyNumber, double salary) throws IOException {
+        append(SET_SALARY, out -> {
+            out.writeInt(vacancyNumber);
+            out.writeDouble(salary);
+        });
+    }
+
+    /**
+     * Records a shifts change for a part-time staff member
+     */
+    public void recordSetShifts(int vacancyNumber, String shifts) throws IOException {
+        append(SET_SHIFTS, out -> {
+            out.writeInt(vacancyNumber);
+            out.writeUTF(shifts);
+        });
+    }
+
+    /**
+     * Records a wages per hour change for a part-time staff member
+     */
+    public void recordSetWages(int vacancyNumber, double wagesPerHour) throws IOException {
+        append(SET_WAGES, out -> {
+            out.writeInt(vacancyNumber);
+            out.writeDouble(wagesPerHour);
+        });
+    }
+
+    /**
+     * Records that the changeable fields of a staff member were put back, when undoing or redoing
+     */
+    public void recordRestore(int vacancyNumber, StaffState state) throws IOException {
+        append(RESTORE, out -> {
+            out.writeInt(vacancyNumber);
+            out.writeUTF(state.getStaffName());
+            out.writeUTF(state.getJoiningDate());
+            out.writeUTF(state.getQualification());
+            out.writeUTF(state.getAppointedBy());
+            out.writeBoolean(state.getJoined());
+            out.writeDouble(state.getPay());
+            out.writeUTF(state.getShifts() == null ? "" : state.getShifts());  // Full-time staff have no shifts
+            out.writeBoolean(state.getTerminated());
+        });
+    }
+
+    /**
+     * Records that a part-time staff member was terminated
+     */
+    public void recordTerminate(int vacancyNumber) throws IOException {
+        append(TERMINATE, out -> out.writeInt(vacancyNumber));
+    }
+
+    /**
+     * Checks if enough records have built up for a snapshot
+     * Waiting for at least as many records as there are staff keeps snapshot cost constant per record
+     */
+    public boolean isSnapshotDue() {
+        return recordsSinceSnapshot.get() >= Math.max(SNAPSHOT_INTERVAL, staffList.size());
+    }
+
+    /**
+     * Writes the whole staff list to a snapshot and empties the journal
+     * Must only be called when every recorded change has been applied to the staff
+     * list and no other change is being made, or the snapshot would miss a change
+     * that the emptied journal no longer holds
+     */
+    public synchronized void snapshot() throws IOException {
+        writePending();  // So the snapshot's sequence number covers every recorded change
+        writeSnapshot();
+    }
+
+    /**
+     * Writes and syncs the records still queued and closes the journal
+     */
+    public synchronized void close() throws IOException {
+        syncer.shutdown();
+        if (!journal.isOpen()) {
+            return;
+        }
+        writePending();
+        journal.force(false);
+        journal.close();
+    }
+
+    // Writes the fields of a record body
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // Encodes one record and queues it for the background thread to write
+    // Takes no lock. Records of one staff member are queued in the order their changes are made
+    private void append(byte type, RecordWriter writer) throws IOException {
+        if (!journal.isOpen()) {
+            throw new ClosedChannelException();
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type);
+        writer.write(out);
+        pending.add(bytes.toByteArray());
+        recordsSinceSnapshot.incrementAndGet();
+    }
+
+    // Writes the queued records in order, giving each its sequence number and checksum
+    // Records are written BATCH_BYTES at a time with one write call
+    private synchronized void writePending() throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream(BATCH_BYTES);
+        DataOutputStream out = new DataOutputStream(batch);
+        ByteBuffer sequenceBytes = ByteBuffer.allocate(8);
+        CRC32 crc = new CRC32();
+        for (byte[] record = pending.poll(); record != null; record = pending.poll()) {
+            long recordSequence = ++sequence;
+            sequenceBytes.putLong(0, recordSequence);
+            crc.reset();
+            crc.update(sequenceBytes.array());  // The checksum covers the body: sequence number, type and fields
+            crc.update(record);
+            out.writeInt(8 + record.length);
+            out.writeInt((int) crc.getValue());
+            out.writeLong(recordSequence);
+            out.write(record);
+            if (batch.size() >= BATCH_BYTES) {
+                writeBatch(batch);
+            }
+        }
+        writeBatch(batch);
+    }
+
+    // Appends a batch of encoded records to the journal and empties the batch
+    private void writeBatch(ByteArrayOutputStream batch) throws IOException {
+        if (batch.size() == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        batch.reset();
+        dirty = true;
+    }
+
+    // Writes the queued records and syncs the journal if records were written since the last sync
+    // Runs on the background thread. Recording changes does not wait for it
+    private synchronized void syncQuietly() {
+        if (!journal.isOpen()) {
+            return;
+        }
+        try {
+            writePending();
+            if (dirty) {
+                journal.force(false);
+                dirty = false;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();  // Retried on the next tick
+        }
+    }
+
+    /**
+     * Writes the whole staff list to a new snapshot and empties the journal
+     * The snapshot is written to a temporary file first and then moved into place,
+     * so a crash leaves either the old or the new snapshot
+     */
+    private void writeSnapshot() throws IOException {
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(sequence);  // Journal records up to here are included
+            out.writeInt(staffList.size());
+            for (StaffHire staff : staffList) {
+                if (staff instanceof FullTimeStaffHire) {
+                    out.writeByte(ADD_FULL_TIME);
+                    writeFullTime(out, (FullTimeStaffHire) staff);
+                } else {
+                    PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+                    out.writeByte(ADD_PART_TIME);
+                    writePartTime(out, partTime);
+                    out.writeBoolean(partTime.getTerminated());
+                }
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        journal.truncate(0);  // Records are now in the snapshot
+        journal.position(0);
+        journal.force(false);
+        recordsSinceSnapshot.set(0);
+        dirty = false;
+    }
+
+    // Loads the snapshot if there is one and returns the last sequence number it includes
+    private long loadSnapshot(Map<Integer, StaffHire> byVacancy) throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return 0;
+        }
+        try (InputStream file = Files.newInputStream(snapshotFile);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a staff snapshot file: " + snapshotFile);
+            }
+            long snapshotSequence = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                StaffHire staff;
+                if (in.readByte() == ADD_FULL_TIME) {
+                    staff = readFullTime(in);
+                } else {
+                    PartTimeStaffHire partTime = readPartTime(in);
+                    if (in.readBoolean()) {
+                        partTime.setTerminated(true);
+                    }
+                    staff = partTime;
+                }
+                staffList.add(staff);
+                byVacancy.put(staff.getVacancyNumber(), staffList.get(staffList.size() - 1));  // The stored staff, not the copy read in
+            }
+            return snapshotSequence;
+        }
+    }
+
+    // Applies one journal record to the staff list
+    private void replay(DataInputStream in, Map<Integer, StaffHire> byVacancy) throws IOException {
+        byte type = in.readByte();
+        if (type == ADD_FULL_TIME || type == ADD_PART_TIME) {
+            StaffHire staff = type == ADD_FULL_TIME ? readFullTime(in) : readPartTime(in);
+            staffList.add(staff);
+            byVacancy.put(staff.getVacancyNumber(), staffList.get(staffList.size() - 1));
+            return;
+        }
+
+        StaffHire staff = byVacancy.get(in.readInt());
+        if (type == SET_SALARY) {
+            ((FullTimeStaffHire) staff).setSalary(in.readDouble());
+        } else if (type == SET_SHIFTS) {
+            ((PartTimeStaffHire) staff).setShifts(in.readUTF());
+        } else if (type == SET_WAGES) {
+            ((PartTimeStaffHire) staff).setWagesPerHour(in.readDouble());
+        } else if (type == TERMINATE) {
+            ((PartTimeStaffHire) staff).terminateStaff();
+        } else if (type == RESTORE) {
+            String staffName = in.readUTF();
+            String joiningDate = in.readUTF();
+            String qualification = in.readUTF();
+            String appointedBy = in.readUTF();
+            boolean joined = in.readBoolean();
+            double pay = in.readDouble();
+            String shifts = in.readUTF();
+            boolean terminated = in.readBoolean();
+            new StaffState(staffName, joiningDate, qualification, appointedBy, joined, pay,
+                staff instanceof PartTimeStaffHire ? shifts : null, terminated).applyTo(staff);
+        } else {
+            throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    // Writes the fields shared by all staff
+    private static void writeStaff(DataOutputStream out, StaffHire staff) throws IOException {
+        out.writeInt(staff.getVacancyNumber());
+        out.writeUTF(staff.getDesignation());
+        out.writeUTF(staff.getJobType());
+        out.writeUTF(staff.getStaffName());
+        out.writeUTF(staff.getJoiningDate());
+        out.writeUTF(staff.getQualification());
+        out.writeUTF(staff.getAppointedBy());
+        out.writeBoolean(staff.getJoined());
+    }
+
+    private static void writeFullTime(DataOutputStream out, FullTimeStaffHire staff) throws IOException {
+        writeStaff(out, staff);
+        out.writeDouble(staff.getSalary());
+        out.writeInt(staff.getWeeklyFractionalHours());
+    }
+
+    private static void writePartTime(DataOutputStream out, PartTimeStaffHire staff) throws IOException {
+        writeStaff(out, staff);
+        out.writeInt(staff.getWorkingHour());
+        out.writeDouble(staff.getWagesPerHour());
+        out.writeUTF(staff.getShifts());
+    }
+
+    private static FullTimeStaffHire readFullTime(DataInputStream in) throws IOException {
+        return new FullTimeStaffHire(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+            in.readUTF(), in.readUTF(), in.readBoolean(), in.readDouble(), in.readInt());
+    }
+
+    private static PartTimeStaffHire readPartTime(DataInputStream in) throws IOException {
+        return new PartTimeStaffHire(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+            in.readUTF(), in.readUTF(), in.readBoolean(), in.readInt(), in.readDouble(), in.readUTF());
+    }
+
+    // CRC32 of a record body
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
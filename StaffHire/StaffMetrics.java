@@ -0,0 +1,142 @@
+import java.lang.management.ManagementFactory;      // For the platform MBean server
+import java.util.concurrent.atomic.LongAdder;       // For the table refresh rows
+import java.util.function.IntSupplier;              // For reading the roster size
+import javax.management.JMException;                 // For errors registering the MBean
+import javax.management.MBeanServer;                 // For registering the MBean
+import javax.management.ObjectName;                  // For the MBean's name
+
+/**
+ * Latency histograms and counters of the recruitment operations, published as a
+ * platform MBean for JConsole
+ * Each operation is timed with System.nanoTime around the call and recorded into a
+ * LatencyHistogram, which takes well under 100ns and no locks.
+ * Thread-safe
+ */
+public class StaffMetrics implements StaffMetricsMXBean {
+    /** Name the metrics are registered under */
+    public static final String OBJECT_NAME = "StaffHire:type=StaffMetrics";
+
+    /**
+     * Operations that are timed
+     */
+    public enum Operation {
+        ADD_STAFF,
+        SET_SALARY,
+        SET_SHIFTS,
+        TERMINATE_STAFF,
+        DISPLAY_STAFF,
+        TABLE_REFRESH
+    }
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Operation.values().length];
+    private final IntSupplier rosterSize;                    // Reads the number of staff
+    private final LongAdder tableRefreshRows = new LongAdder();
+    private volatile int lastTableRefreshRows;
+
+    /**
+     * Constructor - creates empty metrics
+     *
+     * @param rosterSize Reads the number of staff in the roster
+     */
+    public StaffMetrics(IntSupplier rosterSize) {
+        this.rosterSize = rosterSize;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records an operation that started at the given time
+     *
+     * @param operation  The operation
+     * @param startNanos System.nanoTime when it started
+     */
+    public void record(Operation operation, long startNanos) {
+        histograms[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a table refresh that started at the given time and the rows it shows
+     */
+    public void tableRefreshed(long startNanos, int rows) {
+        record(Operation.TABLE_REFRESH, startNanos);
+        tableRefreshRows.add(rows);
+        lastTableRefreshRows = rows;
+    }
+
+    /**
+     * Gets the histogram of an operation
+     */
+    public LatencyHistogram histogram(Operation operation) {
+        return histograms[operation.ordinal()];
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under OBJECT_NAME
+     * Replaces metrics registered before, such as those of a service opened earlier
+     *
+     * @throws JMException If the metrics cannot be registered
+     */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+    }
+
+    @Override
+    public LatencySummary getAddStaff() {
+        return histogram(Operation.ADD_STAFF).summary();
+    }
+
+    @Override
+    public LatencySummary getSetSalary() {
+        return histogram(Operation.SET_SALARY).summary();
+    }
+
+    @Override
+    public LatencySummary getSetShifts() {
+        return histogram(Operation.SET_SHIFTS).summary();
+    }
+
+    @Override
+    public LatencySummary getTerminateStaff() {
+        return histogram(Operation.TERMINATE_STAFF).summary();
+    }
+
+    @Override
+    public LatencySummary getDisplayStaff() {
+        return histogram(Operation.DISPLAY_STAFF).summary();
+    }
+
+    @Override
+    public LatencySummary getTableRefresh() {
+        return histogram(Operation.TABLE_REFRESH).summary();
+    }
+
+    @Override
+    public int getRosterSize() {
+        return rosterSize.getAsInt();
+    }
+
+    @Override
+    public long getTableRefreshRows() {
+        return tableRefreshRows.sum();
+    }
+
+    @Override
+    public int getLastTableRefreshRows() {
+        return lastTableRefreshRows;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        tableRefreshRows.reset();
+        lastTableRefreshRows = 0;
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Management interface of StaffMetrics, shown in JConsole under StaffHire:type=StaffMetrics
+ * Each latency attribute is a composite of the count, operations per second since
+ * it was last read, and the p50, p99 and largest latency in microseconds
+ */
+public interface StaffMetricsMXBean {
+    LatencySummary getAddStaff();           // Adding a full-time or part-time staff member
+
+    LatencySummary getSetSalary();          // Setting a full-time staff member's salary
+
+    LatencySummary getSetShifts();          // Setting a part-time staff member's shifts
+
+    LatencySummary getTerminateStaff();     // Terminating a part-time staff member
+
+    LatencySummary getDisplayStaff();       // Looking up and rendering one staff member for display
+
+    LatencySummary getTableRefresh();       // Reloading the Staff List table after a change
+
+    int getRosterSize();                    // Staff in the roster
+
+    long getTableRefreshRows();             // Rows shown, added up over every table refresh
+
+    int getLastTableRefreshRows();          // Rows shown after the latest table refresh
+
+    void reset();                           // Forgets everything recorded so far
+}
@@ -0,0 +1,109 @@
+/**
+ * Filter over the service's bitmap indexes, built from staff type, status, job
+ * type and designation and combined with and, or and not
+ * For example StaffQuery.partTime().and(StaffQuery.terminated()) or
+ * StaffQuery.fullTime().and(StaffQuery.designation("Lecturer")). A query is
+ * answered by combining whole bitmaps, a chunk of 65536 staff at a time, instead
+ * of checking each staff member like StaffFilter does
+ */
+public class StaffQuery {
+    // Works out the positions matching a query from the indexes
+    private interface Evaluator {
+        StaffBitmap evaluate(StaffBitmapIndex index, int size);
+    }
+
+    private final Evaluator evaluator;
+    private final boolean shared;  // true if the result is one of the index's own bitmaps
+
+    private StaffQuery(Evaluator evaluator, boolean shared) {
+        this.evaluator = evaluator;
+        this.shared = shared;
+    }
+
+    /**
+     * Matches every staff member
+     */
+    public static StaffQuery all() {
+        return new StaffQuery((index, size) -> StaffBitmap.range(size), false);
+    }
+
+    /**
+     * Matches full-time staff
+     */
+    public static StaffQuery fullTime() {
+        return new StaffQuery((index, size) -> index.fullTime(), true);
+    }
+
+    /**
+     * Matches part-time staff
+     */
+    public static StaffQuery partTime() {
+        return new StaffQuery((index, size) -> index.partTime(), true);
+    }
+
+    /**
+     * Matches staff who have joined
+     */
+    public static StaffQuery joined() {
+        return new StaffQuery((index, size) -> index.joined(), true);
+    }
+
+    /**
+     * Matches part-time staff who have been terminated
+     */
+    public static StaffQuery terminated() {
+        return new StaffQuery((index, size) -> index.terminated(), true);
+    }
+
+    /**
+     * Matches staff with exactly this job type
+     */
+    public static StaffQuery jobType(String jobType) {
+        int code = FieldDictionary.encode(jobType);
+        return new StaffQuery((index, size) -> index.jobType(code), true);
+    }
+
+    /**
+     * Matches staff with exactly this designation, such as "Lecturer"
+     */
+    public static StaffQuery designation(String designation) {
+        int code = FieldDictionary.encode(designation);
+        return new StaffQuery((index, size) -> index.designation(code), true);
+    }
+
+    /**
+     * Matches staff matching both this query and the other
+     */
+    public StaffQuery and(StaffQuery other) {
+        return new StaffQuery((index, size) -> evaluator.evaluate(index, size).and(other.evaluator.evaluate(index, size)),
+            false);
+    }
+
+    /**
+     * Matches staff matching this query, the other or both
+     */
+    public StaffQuery or(StaffQuery other) {
+        return new StaffQuery((index, size) -> evaluator.evaluate(index, size).or(other.evaluator.evaluate(index, size)),
+            false);
+    }
+
+    /**
+     * Matches staff not matching this query
+     */
+    public StaffQuery not() {
+        return new StaffQuery((index, size) -> StaffBitmap.range(size).andNot(evaluator.evaluate(index, size)), false);
+    }
+
+    /**
+     * Works out the staff matching the query
+     * Must be called while the indexes cannot change
+     *
+     * @param index The service's bitmap indexes
+     * @param size  The number of staff
+     * @return      A new set of positions, which does not change with the indexes
+     */
+    StaffBitmap evaluate(StaffBitmapIndex index, int size) {
+        StaffBitmap result = evaluator.evaluate(index, size);
+        return shared ? result.copy() : result;
+    }
+}
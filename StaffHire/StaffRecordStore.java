@@ -0,0 +1,47 @@
+/**
+ * Interface for storage engines that keep staff fields outside of StaffHire objects
+ * Fields are read and written by row, and StaffHire views are built on top of it
+ * so the rest of the system can keep working with normal staff objects
+ */
+public interface StaffRecordStore {
+    // Text field numbers used with getText and setText
+    int DESIGNATION = 0;        // Staff's designation
+    int JOB_TYPE = 1;           // Staff's job type
+    int STAFF_NAME = 2;         // Staff's name
+    int QUALIFICATION = 3;      // Staff's qualification
+    int APPOINTED_BY = 4;       // Who the staff has been appointed by
+    int SHIFTS = 5;             // Part-time staff's shifts
+    int TEXT_FIELD_COUNT = 6;   // Number of text fields per record
+
+    int size();                                             // Number of records in the store
+
+    boolean isFullTime(int row);                            // true for full-time, false for part-time records
+
+    int getVacancyNumber(int row);
+    void setVacancyNumber(int row, int vacancyNumber);
+
+    String getText(int row, int field);
+    void setText(int row, int field, String value);
+    int getCode(int row, int field);                        // FieldDictionary code of any text field but STAFF_NAME
+
+    int getJoiningDay(int row);                             // Epoch day, JoiningDate.NO_DATE if there is none
+    void setJoiningDay(int row, int joiningDay);
+
+    boolean getJoined(int row);
+    void setJoined(int row, boolean joined);
+
+    double getSalary(int row);                              // Full-time only
+    void setSalary(int row, double salary);
+
+    int getWeeklyFractionalHours(int row);                  // Full-time only
+    void setWeeklyFractionalHours(int row, int weeklyFractionalHours);
+
+    int getWorkingHours(int row);                           // Part-time only
+    void setWorkingHours(int row, int workingHours);
+
+    double getWagesPerHour(int row);                        // Part-time only
+    void setWagesPerHour(int row, double wagesPerHour);
+
+    boolean getTerminated(int row);                         // Part-time only
+    void setTerminated(int row, boolean terminated);
+}
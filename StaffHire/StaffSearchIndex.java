@@ -0,0 +1,308 @@
+import java.util.ArrayList;                     // For the search terms
+import java.util.Arrays;                        // For growing and sorting positions
+import java.util.HashSet;                       // For skipping staff already found
+import java.util.List;                          // For List interface
+import java.util.Locale;                        // For lower-casing words the same in every locale
+import java.util.Set;                           // For Set interface
+import java.util.SortedMap;                     // For the words starting with a prefix
+import java.util.TreeMap;                       // For the sorted word index
+
+/**
+ * Prefix index over the words of each staff member's name, designation,
+ * qualification and appointed by fields, for search-as-you-type
+ * Words are lower-cased and kept in a sorted map, each with the sorted list of
+ * staff positions using it, so the words starting with what has been typed are
+ * one subMap of the tree. A query matches staff where every query word starts
+ * one of their words, in any of the four fields.
+ * Not thread-safe, the service locks around it
+ */
+public class StaffSearchIndex {
+    private static final int MAX_COUNT = 100_000;  // Stop counting a query word's matches past this
+    private static final int MAX_LISTS = 16;       // Most words a query word can start and still be stepped through
+
+    private final List<StaffHire> staffList;                    // Staff the positions refer to
+    private final TreeMap<String, Postings> words = new TreeMap<>();  // Word to staff positions using it
+
+    // Sorted staff positions using one word
+    private static class Postings {
+        int[] positions = new int[1];
+        int size;
+
+        // Adds a position, keeping the list sorted. Staff are usually added in order, so this appends
+        void add(int position) {
+            if (size > 0 && positions[size - 1] >= position) {
+                int found = Arrays.binarySearch(positions, 0, size, position);
+                if (found >= 0) {
+                    return;  // The word is used twice by the same staff member
+                }
+                insert(-found - 1, position);
+                return;
+            }
+            insert(size, position);
+        }
+
+        // Removes a position if it is there
+        void remove(int position) {
+            int found = Arrays.binarySearch(positions, 0, size, position);
+            if (found >= 0) {
+                System.arraycopy(positions, found + 1, positions, found, size - found - 1);
+                size--;
+            }
+        }
+
+        // Finds the first index from start holding a position of at least target,
+        // jumping ahead in growing steps and then searching back, so short moves are cheap
+        int seek(int start, int target) {
+            int step = 1;
+            int low = start;
+            int high = start;
+            while (high < size && positions[high] < target) {
+                low = high + 1;
+                high = start + step;
+                step *= 2;
+            }
+            high = Math.min(high, size);
+            int found = Arrays.binarySearch(positions, low, high, target);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        private void insert(int at, int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            System.arraycopy(positions, at, positions, at + 1, size - at);
+            positions[at] = position;
+            size++;
+        }
+    }
+
+    /**
+     * Constructor - creates an empty index over a staff list
+     *
+     * @param staffList The staff list that indexed positions refer to
+     */
+    public StaffSearchIndex(List<StaffHire> staffList) {
+        this.staffList = staffList;
+    }
+
+    /**
+     * Adds the words of a staff member to the index
+     *
+     * @param staff    The staff member
+     * @param position The staff member's position in the staff list
+     */
+    public void add(StaffHire staff, int position) {
+        addWords(staff.getStaffName(), position);
+        addWords(staff.getDesignation(), position);
+        addWords(staff.getQualification(), position);
+        addWords(staff.getAppointedBy(), position);
+    }
+
+    /**
+     * Removes the words of a staff member from the index
+     * Call before changing any of the indexed fields, then add the staff member again
+     */
+    public void remove(StaffHire staff, int position) {
+        removeWords(staff.getStaffName(), position);
+        removeWords(staff.getDesignation(), position);
+        removeWords(staff.getQualification(), position);
+        removeWords(staff.getAppointedBy(), position);
+    }
+
+    /**
+     * Finds staff where every word of the query starts one of their words, ignoring case
+     * Candidates are read in order from the query word with the fewest matches. The
+     * other words step through their own sorted position lists alongside and both
+     * sides jump over positions the other cannot match, so a query costs O(log n) to
+     * find the words plus the steps taken before the limit is reached
+     *
+     * @param query The text typed into the search box
+     * @param limit The most positions to return
+     * @return      Positions in the staff list, in ascending order, empty if the query has no words
+     */
+    public int[] search(String query, int limit) {
+        List<String> queryWords = new ArrayList<>();
+        splitWords(query, queryWords);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        // Read candidates from the most selective term
+        Term[] terms = new Term[queryWords.size()];
+        int driver = 0;
+        long fewest = Long.MAX_VALUE;
+        for (int t = 0; t < terms.length; t++) {
+            terms[t] = new Term(queryWords.get(t));
+            if (terms.length > 1 && terms[t].matches < fewest) {
+                fewest = terms[t].matches;
+                driver = t;
+            }
+        }
+
+        Set<Integer> found = new HashSet<>();  // A staff member can use several words starting with the driver
+        int[] results = new int[Math.min(limit, 64)];
+        int count = 0;
+        for (Postings postings : withPrefix(terms[driver].prefix).values()) {
+            for (Term term : terms) {
+                term.restart();  // Positions go back to the start with each word
+            }
+            int i = 0;
+            while (i < postings.size) {
+                int position = postings.positions[i];
+                int next = nextMatch(terms, driver, position);
+                if (next != position) {
+                    i = postings.seek(i + 1, next);  // Skip candidates the other terms cannot match
+                    continue;
+                }
+                i++;
+                if (!found.add(position)) {
+                    continue;  // Already found under an earlier word
+                }
+                if (count == results.length) {
+                    results = Arrays.copyOf(results, Math.min(limit, count * 2));
+                }
+                results[count++] = position;
+                if (count == limit) {
+                    Arrays.sort(results, 0, count);
+                    return results;
+                }
+            }
+        }
+        results = Arrays.copyOf(results, count);
+        Arrays.sort(results);
+        return results;
+    }
+
+    /**
+     * Gets the number of distinct words in the index
+     */
+    public int wordCount() {
+        return words.size();
+    }
+
+    // Gets the words starting with a prefix
+    private SortedMap<String, Postings> withPrefix(String prefix) {
+        return words.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    // Gets the first position from the given one that every term other than the driver may match
+    // Returns the position itself if they all match it
+    private int nextMatch(Term[] terms, int driver, int position) {
+        for (int t = 0; t < terms.length; t++) {
+            if (t != driver) {
+                int next = terms[t].next(position);
+                if (next != position) {
+                    return next;
+                }
+            }
+        }
+        return position;
+    }
+
+    // One word of a query and the position lists of the indexed words it starts
+    private class Term {
+        final String prefix;
+        final long matches;       // Positions under its words, counted up to MAX_COUNT
+        final Postings[] lists;   // Lists to step through, null if it starts too many words
+        final int[] cursors;      // Index reached in each list
+
+        Term(String prefix) {
+            this.prefix = prefix;
+            SortedMap<String, Postings> range = withPrefix(prefix);
+            List<Postings> found = new ArrayList<>();
+            long count = 0;
+            for (Postings postings : range.values()) {
+                count += postings.size;
+                if (found.size() <= MAX_LISTS) {
+                    found.add(postings);
+                }
+                if (count > MAX_COUNT && found.size() > MAX_LISTS) {
+                    break;  // Counted enough, and too many words to step through
+                }
+            }
+            matches = count;
+            lists = found.size() <= MAX_LISTS ? found.toArray(new Postings[0]) : null;
+            cursors = new int[MAX_LISTS];
+        }
+
+        void restart() {
+            Arrays.fill(cursors, 0);
+        }
+
+        // Gets the first position from the given one using a word starting with the prefix,
+        // or Integer.MAX_VALUE if there is none. Positions must be asked for in ascending order between restarts
+        int next(int position) {
+            if (lists == null) {
+                StaffHire staff = staffList.get(position);  // Too many words to step through, check the fields
+                boolean match = hasWordStarting(staff.getStaffName(), prefix) || hasWordStarting(staff.getDesignation(), prefix)
+                    || hasWordStarting(staff.getQualification(), prefix) || hasWordStarting(staff.getAppointedBy(), prefix);
+                return match ? position : position + 1;
+            }
+            int next = Integer.MAX_VALUE;
+            for (int k = 0; k < lists.length; k++) {
+                cursors[k] = lists[k].seek(cursors[k], position);
+                if (cursors[k] < lists[k].size) {
+                    next = Math.min(next, lists[k].positions[cursors[k]]);
+                }
+            }
+            return next;
+        }
+    }
+
+    // Checks if any word of the text starts with the lower-case prefix, ignoring case
+    private static boolean hasWordStarting(String text, String prefix) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i + prefix.length() <= text.length(); i++) {
+            boolean wordStart = isWordChar(text.charAt(i)) && (i == 0 || !isWordChar(text.charAt(i - 1)));
+            if (wordStart && text.regionMatches(true, i, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addWords(String text, int position) {
+        List<String> textWords = new ArrayList<>();
+        splitWords(text, textWords);
+        for (String word : textWords) {
+            words.computeIfAbsent(word, w -> new Postings()).add(position);
+        }
+    }
+
+    private void removeWords(String text, int position) {
+        List<String> textWords = new ArrayList<>();
+        splitWords(text, textWords);
+        for (String word : textWords) {
+            Postings postings = words.get(word);
+            if (postings != null) {
+                postings.remove(position);
+                if (postings.size == 0) {
+                    words.remove(word);  // Keep prefix ranges free of unused words
+                }
+            }
+        }
+    }
+
+    // Splits text into lower-case words of letters and digits
+    private static void splitWords(String text, List<String> into) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;  // Start of the current word, -1 between words
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && isWordChar(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                into.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * The fields of a staff member that changes can alter, copied at one moment
+ * Used to undo and redo changes that blank or replace text fields, such as
+ * terminating, by putting every one of these fields back at once. The vacancy
+ * number, designation, job type and hours never change, so they are not kept
+ */
+public class StaffState {
+    private final String staffName;
+    private final String joiningDate;     // dd/mm/yyyy, "" if there is none
+    private final int qualificationCode;  // See FieldDictionary
+    private final int appointedByCode;
+    private final boolean joined;
+    private final double pay;             // Salary for full-time staff, wages per hour for part-time staff
+    private final int shiftsCode;         // Part-time staff only
+    private final boolean terminated;     // Part-time staff only
+
+    /**
+     * Constructor - creates a state from its fields, such as when read back from the journal
+     */
+    public StaffState(String staffName, String joiningDate, String qualification, String appointedBy, boolean joined,
+        double pay, String shifts, boolean terminated) {
+        this.staffName = staffName;
+        this.joiningDate = joiningDate;
+        this.qualificationCode = FieldDictionary.encode(qualification);
+        this.appointedByCode = FieldDictionary.encode(appointedBy);
+        this.joined = joined;
+        this.pay = pay;
+        this.shiftsCode = FieldDictionary.encode(shifts);
+        this.terminated = terminated;
+    }
+
+    /**
+     * Copies the changeable fields of a staff member
+     */
+    public static StaffState of(StaffHire staff) {
+        if (staff instanceof FullTimeStaffHire) {
+            return new StaffState(staff.getStaffName(), staff.getJoiningDate(), staff.getQualification(),
+                staff.getAppointedBy(), staff.getJoined(), ((FullTimeStaffHire) staff).getSalary(), null, false);
+        }
+        PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+        return new StaffState(staff.getStaffName(), staff.getJoiningDate(), staff.getQualification(),
+            staff.getAppointedBy(), staff.getJoined(), partTime.getWagesPerHour(), partTime.getShifts(),
+            partTime.getTerminated());
+    }
+
+    /**
+     * Puts these fields back on a staff member
+     * Only fields that differ are set, so the change log shows what was put back
+     */
+    public void applyTo(StaffHire staff) {
+        if (!equal(staff.getStaffName(), staffName)) {
+            staff.setStaffName(staffName);
+        }
+        if (!equal(staff.getJoiningDate(), joiningDate)) {
+            staff.setJoiningDate(joiningDate);
+        }
+        if (staff.getQualificationCode() != qualificationCode) {
+            staff.setQualification(getQualification());
+        }
+        if (staff.getAppointedByCode() != appointedByCode) {
+            staff.setAppointedBy(getAppointedBy());
+        }
+        if (staff instanceof PartTimeStaffHire) {
+            PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+            if (partTime.getTerminated() != terminated) {
+                partTime.setTerminated(terminated);  // Before the shifts, which cannot change while terminated
+            }
+            if (staff.getJoined() != joined) {
+                staff.setJoined(joined);
+            }
+            if (partTime.getWagesPerHour() != pay) {
+                partTime.setWagesPerHour(pay);
+            }
+            if (partTime.getShiftsCode() != shiftsCode) {
+                partTime.setShifts(getShifts());
+            }
+        } else {
+            if (staff.getJoined() != joined) {
+                staff.setJoined(joined);  // Before the salary, which cannot change until joined
+            }
+            FullTimeStaffHire fullTime = (FullTimeStaffHire) staff;
+            if (fullTime.getSalary() != pay) {
+                fullTime.setSalary(pay);
+            }
+        }
+    }
+
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public String getJoiningDate() {
+        return joiningDate;
+    }
+
+    public String getQualification() {
+        return FieldDictionary.decode(qualificationCode);
+    }
+
+    public String getAppointedBy() {
+        return FieldDictionary.decode(appointedByCode);
+    }
+
+    public boolean getJoined() {
+        return joined;
+    }
+
+    public double getPay() {
+        return pay;
+    }
+
+    public String getShifts() {
+        return FieldDictionary.decode(shiftsCode);
+    }
+
+    public boolean getTerminated() {
+        return terminated;
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,257 @@
+import java.util.Arrays;                     // For trimming the positions kept by a staff query
+import java.util.LinkedHashMap;              // For the least recently used page cache
+import java.util.Map;                        // For Map interface
+import javax.swing.SwingUtilities;           // For moving change notices onto the Event Dispatch Thread
+import javax.swing.table.AbstractTableModel;  // For building a custom table model
+
+/**
+ * Table model for the Staff List table
+ * Reads rows straight from the recruitment service instead of keeping its own copy,
+ * so only the rows that actually changed need to be repainted.
+ * Rows are built a page at a time when the table first paints them, and only the
+ * most recently painted pages are kept, so memory stays the same however long the roster is.
+ * It listens to the service, so changes made by the HTTP server or an import show up too,
+ * a batch per frame however many staff changed.
+ * The rows can be filtered to a joining date range, which is looked up in the service's date index,
+ * or to the results of a search, which are looked up in its search index. On top of either, or on
+ * its own, a query over staff type and status keeps only the staff in the service's bitmap indexes
+ */
+public class StaffTableModel extends AbstractTableModel implements RecruitmentService.Listener {
+    private static final long serialVersionUID = 1L;
+
+    // Column names shown in the table header
+    private static final String[] COLUMN_NAMES = {"Index", "Vacancy #", "Staff Name", "Designation", "Job Type", "Status"};
+    private static final int PAGE_SIZE = 64;      // Rows built at once, about two screens of the table
+    private static final int CACHED_PAGES = 16;   // Pages kept, enough to scroll back and forth without rebuilding
+    private static final int MAX_ROW_UPDATES = 256;  // Changed staff repainted row by row, more reload the table
+
+    private final RecruitmentService service;  // The service the table reads from
+    private int rowCount;                      // Rows the table has been told about, only used on the Event Dispatch Thread
+
+    // Joining date, search and query filters, only changed on the Event Dispatch Thread
+    private volatile boolean filtered;         // true while only some staff are shown
+    private boolean dateFiltered;              // true while a joining date range is shown
+    private int filterFromDay;                 // First epoch day shown
+    private int filterToDay;                   // Last epoch day shown
+    private String searchQuery;                // Search shown instead of the date range, null if none
+    private int searchLimit;                   // Most search results shown
+    private StaffQuery staffQuery;             // Staff type and status query, null if none
+    private int[] filteredPositions;           // Staff list positions of the rows shown
+
+    // Built rows by page number, least recently painted first, only used on the Event Dispatch Thread
+    private final Map<Integer, Object[][]> pages = new LinkedHashMap<Integer, Object[][]>(CACHED_PAGES * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    /**
+     * Constructor - creates a model backed by the given service
+     *
+     * @param service The service holding the staff to show in the table
+     */
+    public StaffTableModel(RecruitmentService service) {
+        this.service = service;
+        this.rowCount = service.size();
+    }
+
+    @Override
+    public int getRowCount() {
+        return filtered ? filteredPositions.length : rowCount;  // One row per staff member shown
+    }
+
+    /**
+     * Shows only staff joining between two dates, inclusive
+     * Must be called on the Event Dispatch Thread
+     *
+     * @param fromDay First epoch day to show, see JoiningDate
+     * @param toDay   Last epoch day to show
+     */
+    public void setJoiningDateFilter(int fromDay, int toDay) {
+        filterFromDay = fromDay;
+        filterToDay = toDay;
+        dateFiltered = true;
+        searchQuery = null;
+        filtered = true;
+        refresh();
+    }
+
+    /**
+     * Shows only the results of a search, in place of any joining date filter
+     * The results are searched again when staff change, so they stay current
+     * Must be called on the Event Dispatch Thread
+     *
+     * @param query     The search that was run
+     * @param limit     The most results to show
+     * @param positions The results, already found off the Event Dispatch Thread
+     */
+    public void setSearchResults(String query, int limit, int[] positions) {
+        searchQuery = query;
+        searchLimit = limit;
+        dateFiltered = false;
+        filteredPositions = staffQuery == null ? positions : keepMatching(positions, service.select(staffQuery));
+        filtered = true;
+        pages.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Shows only staff matching a query over staff type and status, along with any
+     * joining date filter or search
+     * Must be called on the Event Dispatch Thread
+     *
+     * @param query The query, or null to stop filtering by it
+     */
+    public void setStaffQuery(StaffQuery query) {
+        staffQuery = query;
+        filtered = dateFiltered || searchQuery != null || query != null;
+        refresh();
+    }
+
+    /**
+     * Clears the joining date filter and search, keeping any staff query
+     * Must be called on the Event Dispatch Thread
+     */
+    public void clearFilter() {
+        dateFiltered = false;
+        searchQuery = null;
+        filtered = staffQuery != null;
+        refresh();
+    }
+
+    /**
+     * Gets the position in the staff list of a table row
+     */
+    public int positionAt(int row) {
+        return filtered ? filteredPositions[row] : row;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;  // Staff can only be changed through the form
+    }
+
+    /**
+     * Gets the value of a single cell
+     * Read from the cached page holding the row, building the page if it is not cached
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        int pageNumber = row / PAGE_SIZE;
+        Object[][] page = pages.get(pageNumber);
+        if (page == null || row % PAGE_SIZE >= page.length) {
+            page = buildPage(pageNumber);  // Not painted recently, or rows were added to it since
+            pages.put(pageNumber, page);
+        }
+        return page[row % PAGE_SIZE][column];
+    }
+
+    // Builds the rows of one page from the staff shown at them
+    private Object[][] buildPage(int pageNumber) {
+        int first = pageNumber * PAGE_SIZE;
+        Object[][] page = new Object[Math.min(PAGE_SIZE, getRowCount() - first)][];
+        for (int i = 0; i < page.length; i++) {
+            int position = positionAt(first + i);
+            StaffHire staff = service.get(position);  // Get staff shown at this row
+            page[i] = new Object[] {
+                position,                   // Index in the list
+                staff.getVacancyNumber(),   // Vacancy number
+                staff.getStaffName(),       // Staff name
+                staff.getDesignation(),     // Designation
+                staff.getJobType(),         // Job type
+                getStatus(staff)            // Status (Full Time/Part Time/Terminated)
+            };
+        }
+        return page;
+    }
+
+    /**
+     * Determines the status text based on staff type
+     *
+     * @param staff The staff member to check
+     * @return      "Full Time", "Part Time" or "Terminated"
+     */
+    private String getStatus(StaffHire staff) {
+        if (staff instanceof FullTimeStaffHire) {
+            return "Full Time";  // Full-time staff
+        }
+        PartTimeStaffHire partTime = (PartTimeStaffHire) staff;
+        return partTime.getTerminated() ? "Terminated" : "Part Time";  // Part-time status
+    }
+
+    /**
+     * Shows a batch of changes from the service
+     * A small batch repaints only the rows changed and adds the rows inserted, while
+     * a filtered table or a batch of more than MAX_ROW_UPDATES staff reloads the table
+     * once. Called on the service's delivery thread
+     *
+     * @param changes The staff added or changed since the last batch
+     */
+    @Override
+    public void staffChanged(StaffChanges changes) {
+        SwingUtilities.invokeLater(() -> {
+            if (filtered || changes.size() > MAX_ROW_UPDATES) {
+                refresh();  // The changes may move staff in or out of the filters
+                return;
+            }
+            int lastInserted = -1;
+            for (int i = 0; i < changes.size(); i++) {
+                int row = changes.position(i);
+                pages.remove(row / PAGE_SIZE);  // Rebuild the page when the row is painted again
+                if (changes.isInserted(i)) {
+                    lastInserted = Math.max(lastInserted, row);
+                } else if (row < rowCount) {
+                    fireTableRowsUpdated(row, row);
+                }
+            }
+            if (lastInserted >= rowCount) {
+                int firstNew = rowCount;
+                rowCount = lastInserted + 1;
+                fireTableRowsInserted(firstNew, lastInserted);
+            }
+        });
+    }
+
+    // Reloads the row count and filter, then repaints every row, and records how long it took. Runs on the Event Dispatch Thread
+    private void refresh() {
+        long start = System.nanoTime();
+        rowCount = service.size();
+        pages.clear();
+        int[] positions = null;  // Staff shown by the date filter or search, null for everyone
+        if (searchQuery != null) {
+            positions = service.search(searchQuery, searchLimit);
+        } else if (dateFiltered) {
+            positions = service.positionsJoiningBetween(filterFromDay, filterToDay);
+        }
+        if (staffQuery != null) {
+            StaffBitmap matching = service.select(staffQuery);
+            positions = positions == null ? matching.toArray() : keepMatching(positions, matching);
+        }
+        filteredPositions = positions;
+        fireTableDataChanged();
+        service.getMetrics().tableRefreshed(start, getRowCount());  // Includes the table laying out the new rows
+    }
+
+    // Keeps the positions in the bitmap, in the same order
+    private static int[] keepMatching(int[] positions, StaffBitmap matching) {
+        int[] kept = new int[positions.length];
+        int count = 0;
+        for (int position : positions) {
+            if (matching.contains(position)) {
+                kept[count++] = position;
+            }
+        }
+        return count == kept.length ? kept : Arrays.copyOf(kept, count);
+    }
+}
@@ -0,0 +1,267 @@
+import java.util.ArrayDeque;                    // For the tasks waiting on each vacancy number
+import java.util.HashMap;                       // For the waiting tasks by vacancy number
+import java.util.LinkedHashSet;                 // For the tasks not yet finished
+import java.util.Map;                           // For Map interface
+import java.util.Set;                           // For Set interface
+import java.util.concurrent.CancellationException;  // For tasks cancelled before they ran
+import java.util.concurrent.ConcurrentLinkedQueue;  // For results waiting for the Event Dispatch Thread
+import java.util.concurrent.ExecutorService;    // For the worker threads
+import java.util.concurrent.Executors;          // For creating the worker threads
+import java.util.concurrent.TimeUnit;           // For waiting at shutdown
+import java.util.concurrent.atomic.AtomicBoolean;  // For scheduling one Event Dispatch Thread update at a time
+import java.util.concurrent.atomic.AtomicInteger;  // For naming the worker threads
+import javax.swing.SwingUtilities;              // For running results on the Event Dispatch Thread
+
+/**
+ * Runs the window's staff operations on background threads
+ * Tasks for the same vacancy number run one at a time in the order they were
+ * submitted, so two changes to one staff member are always applied in order.
+ * Tasks for different vacancy numbers may run at the same time.
+ * Results are handed back on the Event Dispatch Thread, and results that finish
+ * close together are handed back in one callback, along with one activity update.
+ * Tasks can be cancelled: a task that has not started is skipped, and a running
+ * task sees isCancelled() and can stop early, such as a bulk change between staff
+ */
+public class StaffTaskRunner {
+    /** Key for tasks that do not need to wait for any other task */
+    public static final int NO_KEY = Integer.MIN_VALUE;
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());  // Changes to different staff run at once
+
+    /**
+     * Work to run in the background
+     */
+    public interface Task<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    /**
+     * Lets a task report progress and check if it was cancelled
+     */
+    public interface Progress {
+        void update(int done, int total);   // Reports how much of a bulk task is done
+        boolean isCancelled();              // true once the task should stop
+    }
+
+    /**
+     * Receives the result of a task on the Event Dispatch Thread
+     * error is null on success, a CancellationException if the task was cancelled
+     * before it ran, or what the task threw
+     */
+    public interface Callback<T> {
+        void done(T result, Exception error);
+    }
+
+    /**
+     * Receives the number of unfinished tasks and the progress of bulk tasks
+     * on the Event Dispatch Thread, whenever they change
+     */
+    public interface ActivityListener {
+        void activityChanged(int pending, int done, int total);  // total is 0 if no bulk task reports progress
+    }
+
+    /**
+     * A submitted task, which can be cancelled
+     */
+    public final class Handle<T> implements Progress, Runnable {
+        private final int key;
+        private final Task<T> task;
+        private final Callback<T> callback;
+        private volatile boolean cancelled;
+        private volatile int done;
+        private volatile int total;
+
+        private Handle(int key, Task<T> task, Callback<T> callback) {
+            this.key = key;
+            this.task = task;
+            this.callback = callback;
+        }
+
+        /**
+         * Cancels the task
+         * If it has not started it is skipped, otherwise it stops when it next checks isCancelled()
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void update(int done, int total) {
+            this.done = done;
+            this.total = total;
+            scheduleFlush();
+        }
+
+        // Runs the task on a worker thread, then starts the next task waiting on the same key
+        // The callback is queued first, so results for one key reach the Event Dispatch Thread in order
+        @Override
+        public void run() {
+            T result = null;
+            Exception error = null;
+            try {
+                if (cancelled) {
+                    error = new CancellationException("Cancelled before it started");
+                } else {
+                    result = task.run(this);
+                }
+            } catch (Exception e) {
+                error = e;
+            }
+            T finalResult = result;
+            Exception finalError = error;
+            results.add(() -> callback.done(finalResult, finalError));
+            finished(this);
+            scheduleFlush();
+        }
+    }
+
+    private final ExecutorService workers;
+    private final Map<Integer, ArrayDeque<Handle<?>>> waiting = new HashMap<>();  // Tasks per key, the first is running
+    private final Set<Handle<?>> pending = new LinkedHashSet<>();                 // Submitted tasks not yet finished
+    private final ConcurrentLinkedQueue<Runnable> results = new ConcurrentLinkedQueue<>();  // Callbacks for the next flush
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile ActivityListener activityListener;
+
+    /**
+     * Constructor - starts the worker threads
+     * They are daemon threads, so call shutdown to finish waiting tasks before exiting
+     */
+    public StaffTaskRunner() {
+        AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "staff-task-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the listener told about unfinished tasks and bulk progress
+     */
+    public void setActivityListener(ActivityListener listener) {
+        activityListener = listener;
+    }
+
+    /**
+     * Runs a task after every earlier task with the same key has finished
+     *
+     * @param key      The vacancy number the task changes, or NO_KEY
+     * @param task     The work to run in the background
+     * @param callback Receives the result on the Event Dispatch Thread
+     * @return         A handle for cancelling the task
+     */
+    public <T> Handle<T> submit(int key, Task<T> task, Callback<T> callback) {
+        Handle<T> handle = new Handle<>(key, task, callback);
+        boolean start;
+        synchronized (this) {
+            pending.add(handle);
+            if (key == NO_KEY) {
+                start = true;
+            } else {
+                ArrayDeque<Handle<?>> queue = waiting.computeIfAbsent(key, k -> new ArrayDeque<>());
+                queue.add(handle);
+                start = queue.size() == 1;  // Otherwise it starts when the tasks before it finish
+            }
+        }
+        if (start) {
+            workers.execute(handle);
+        }
+        scheduleFlush();
+        return handle;
+    }
+
+    /**
+     * Cancels every unfinished task
+     */
+    public synchronized void cancelAll() {
+        for (Handle<?> handle : pending) {
+            handle.cancel();
+        }
+    }
+
+    /**
+     * Gets the number of submitted tasks that have not finished
+     */
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Lets running and waiting tasks finish, then stops the worker threads
+     * Called before the service is closed, so no change is lost
+     *
+     * @param timeoutMillis How long to wait for the tasks
+     * @return              true if every task finished in time
+     */
+    public boolean shutdown(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this) {
+            while (!pending.isEmpty() && System.currentTimeMillis() < deadline) {
+                wait(Math.max(1, deadline - System.currentTimeMillis()));  // Waiting tasks are not in the executor yet
+            }
+        }
+        workers.shutdown();
+        return workers.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+            && pendingCount() == 0;
+    }
+
+    // Removes a finished task and starts the next one waiting on its key
+    private void finished(Handle<?> handle) {
+        Handle<?> next = null;
+        synchronized (this) {
+            pending.remove(handle);
+            if (handle.key != NO_KEY) {
+                ArrayDeque<Handle<?>> queue = waiting.get(handle.key);
+                queue.poll();
+                next = queue.peek();
+                if (next == null) {
+                    waiting.remove(handle.key);
+                }
+            }
+            notifyAll();  // For shutdown
+        }
+        if (next != null) {
+            workers.execute(next);
+        }
+    }
+
+    // Schedules a flush unless one is already waiting to run
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    // Runs every waiting callback and tells the activity listener once. Runs on the Event Dispatch Thread
+    private void flush() {
+        flushScheduled.set(false);  // Results posted from now on schedule another flush
+        Runnable callback;
+        while ((callback = results.poll()) != null) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();  // Do not hold up the other results
+            }
+        }
+
+        ActivityListener listener = activityListener;
+        if (listener != null) {
+            int count;
+            int done = 0;
+            int total = 0;
+            synchronized (this) {
+                count = pending.size();
+                for (Handle<?> handle : pending) {
+                    done += handle.done;     // Progress of every bulk task added together
+                    total += handle.total;
+                }
+            }
+            listener.activityChanged(count, done, total);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+import java.util.List;                          // For List interface
+import java.util.concurrent.atomic.LongAdder;   // For totals changed on many stripes at once
+
+/**
+ * Running headcounts and pay totals of the staff list, for the dashboard
+ * The service adds each change's difference as it makes it, so reading the totals
+ * never scans the staff list. Money is kept in whole pence, so the running totals
+ * and a full recount with count() agree exactly instead of drifting apart through
+ * rounding. Pay is only counted for staff the payroll pays, as in PayrollEngine: the
+ * salary of full-time staff who have joined, and wages per hour times working hours
+ * of part-time staff who have joined and are not terminated.
+ * Thread-safe. Totals are read without the roster lock, so a reading taken during
+ * a change may include only part of it
+ */
+public class StaffTotals {
+    private final LongAdder fullTime = new LongAdder();
+    private final LongAdder partTime = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder terminated = new LongAdder();
+    private final LongAdder salaryPence = new LongAdder();      // Salaries of full-time staff who have joined
+    private final LongAdder dailyWagePence = new LongAdder();   // Daily wages of part-time staff joined and not terminated
+
+    /**
+     * Headcounts and pay totals at one moment, not changed once made
+     */
+    public static final class Snapshot {
+        private final long fullTime;
+        private final long partTime;
+        private final long joined;
+        private final long terminated;
+        private final long salaryPence;
+        private final long dailyWagePence;
+
+        private Snapshot(long fullTime, long partTime, long joined, long terminated, long salaryPence,
+            long dailyWagePence) {
+            this.fullTime = fullTime;
+            this.partTime = partTime;
+            this.joined = joined;
+            this.terminated = terminated;
+            this.salaryPence = salaryPence;
+            this.dailyWagePence = dailyWagePence;
+        }
+
+        public long getFullTime() {
+            return fullTime;
+        }
+
+        public long getPartTime() {
+            return partTime;
+        }
+
+        public long getJoined() {
+            return joined;
+        }
+
+        /**
+         * Gets the staff who have not joined, not counting terminated staff
+         */
+        public long getNotJoined() {
+            return fullTime + partTime - joined - terminated;
+        }
+
+        public long getTerminated() {
+            return terminated;
+        }
+
+        /**
+         * Gets the total salary of full-time staff who have joined
+         */
+        public double getTotalSalary() {
+            return salaryPence / 100.0;
+        }
+
+        /**
+         * Gets what the part-time staff who have joined and are not terminated cost in wages each day
+         */
+        public double getDailyWageCost() {
+            return dailyWagePence / 100.0;
+        }
+
+        /**
+         * Checks if two snapshots hold the same totals
+         */
+        public boolean matches(Snapshot other) {
+            return fullTime == other.fullTime && partTime == other.partTime && joined == other.joined
+                && terminated == other.terminated && salaryPence == other.salaryPence
+                && dailyWagePence == other.dailyWagePence;
+        }
+
+        @Override
+        public String toString() {
+            return "full time " + fullTime + ", part time " + partTime + ", joined " + joined + ", terminated "
+                + terminated + ", salary " + salaryPence + "p, daily wages " + dailyWagePence + "p";
+        }
+    }
+
+    /**
+     * Counts the totals of a staff list by checking every staff member
+     * Used to check the running totals, the staff list must not change meanwhile
+     */
+    public static Snapshot count(List<StaffHire> staffList) {
+        StaffTotals totals = new StaffTotals();
+        for (StaffHire staff : staffList) {
+            totals.add(staff);
+        }
+        return totals.snapshot();
+    }
+
+    /**
+     * Adds a staff member's headcount and pay to the totals
+     */
+    public void add(StaffHire staff) {
+        change(staff, 1);
+    }
+
+    /**
+     * Takes a staff member's headcount and pay away from the totals
+     * Call before changing its status, then add it again
+     */
+    public void remove(StaffHire staff) {
+        change(staff, -1);
+    }
+
+    /**
+     * Adds the difference a salary change made
+     * Salaries only change for staff who have joined, so the difference is always counted
+     */
+    public void salaryChanged(double oldSalary, double newSalary) {
+        salaryPence.add(pence(newSalary) - pence(oldSalary));
+    }
+
+    /**
+     * Adds the difference a wages per hour change made
+     *
+     * @param staff    The staff member, with the new wages already set
+     * @param oldWages The wages per hour before the change
+     */
+    public void wagesChanged(PartTimeStaffHire staff, double oldWages) {
+        if (staff.getJoined() && !staff.getTerminated()) {
+            dailyWagePence.add(pence(staff.getWagesPerHour() * staff.getWorkingHour())
+                - pence(oldWages * staff.getWorkingHour()));
+        }
+    }
+
+    /**
+     * Reads the current totals
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(fullTime.sum(), partTime.sum(), joined.sum(), terminated.sum(), salaryPence.sum(),
+            dailyWagePence.sum());
+    }
+
+    /**
+     * Replaces the running totals with recounted ones
+     * Must be called while no change is being made
+     */
+    public void reset(Snapshot counted) {
+        set(fullTime, counted.fullTime);
+        set(partTime, counted.partTime);
+        set(joined, counted.joined);
+        set(terminated, counted.terminated);
+        set(salaryPence, counted.salaryPence);
+        set(dailyWagePence, counted.dailyWagePence);
+    }
+
+    // Adds or takes away one staff member's share of the totals
+    private void change(StaffHire staff, int sign) {
+        if (staff.getJoined()) {
+            joined.add(sign);
+        }
+        if (staff instanceof FullTimeStaffHire) {
+            fullTime.add(sign);
+            if (staff.getJoined()) {
+                salaryPence.add(sign * pence(((FullTimeStaffHire) staff).getSalary()));
+            }
+        } else {
+            PartTimeStaffHire partTimeStaff = (PartTimeStaffHire) staff;
+            partTime.add(sign);
+            if (partTimeStaff.getTerminated()) {
+                terminated.add(sign);
+            } else if (partTimeStaff.getJoined()) {
+                dailyWagePence.add(sign * pence(partTimeStaff.getWagesPerHour() * partTimeStaff.getWorkingHour()));
+            }
+        }
+    }
+
+    private static long pence(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static void set(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Validation rules for staff fields
+ * Shared by the form's document filters and add methods and by the CSV import,
+ * so staff entered either way follow the same rules.
+ * Every check scans the characters once without creating any objects, so the
+ * document filters can run them on every keystroke and paste. The methods keep
+ * no state, so they are safe to call from any thread
+ */
+public class StaffValidation {
+    private static final int DATE_LENGTH = 10;                  // dd/mm/yyyy
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private StaffValidation() {
+        // Only static methods
+    }
+
+    /**
+     * Checks if text only contains letters and spaces
+     * The same characters as the regular expression [a-zA-Z\s]*
+     */
+    public static boolean isValidText(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            boolean space = c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if (!letter && !space) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if text only contains digits
+     */
+    public static boolean isValidInteger(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if text only contains digits and at most one decimal point
+     */
+    public static boolean isValidDecimal(CharSequence text) {
+        boolean point = false;  // true once a decimal point has been seen
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any of the given required fields is empty
+     *
+     * @param values The field values to check
+     * @return       true if at least one field is empty
+     */
+    public static boolean hasMissingFields(String... values) {
+        for (String value : values) {
+            if (value == null || value.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if text could be the start of a dd/mm/yyyy date while it is being typed
+     * Up to two parts of at most 2 digits each ending in '/', then a last part of
+     * at most 4 digits. Once all 10 characters are there the date must be real
+     */
+    public static boolean isValidPartialDate(CharSequence text) {
+        int length = text.length();
+        if (length > DATE_LENGTH) {
+            return false;
+        }
+        int slashes = 0;    // Parts finished so far
+        int digits = 0;     // Digits in the current part
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '/') {
+                if (slashes == 2 || digits > 2) {
+                    return false;  // Only day and month end in '/', and they have at most 2 digits
+                }
+                slashes++;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (++digits > 4) {
+                    return false;  // No part is longer than the year
+                }
+            } else {
+                return false;
+            }
+        }
+        return length < DATE_LENGTH || isValidDate(text);
+    }
+
+    /**
+     * Checks if text is a valid complete date
+     * Validates the actual date (day, month, year) in dd/mm/yyyy format,
+     * including the number of days in the month and leap years
+     */
+    public static boolean isValidDate(CharSequence text) {
+        if (text.length() != DATE_LENGTH || text.charAt(2) != '/' || text.charAt(5) != '/') {
+            return false;  // dd/mm/yyyy is always 10 characters
+        }
+        int day = digits(text, 0, 2);
+        int month = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        if (day < 1 || month < 1 || month > 12 || year < 1) {
+            return false;  // Also catches parts that are not digits, which return -1
+        }
+        return day <= daysInMonth(month, year);
+    }
+
+    // Gets the number of days in a month of the Gregorian calendar
+    private static int daysInMonth(int month, int year) {
+        if (month == 2 && year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+
+    // Reads the digits between start and end as a number, or -1 if any is not a digit
+    private static int digits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking nothing was dropped
+import static org.junit.jupiter.api.Assertions.assertFalse;   // For levels that are not logged
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For levels that are logged
+
+import org.junit.jupiter.api.AfterEach;   // For putting the level back
+import org.junit.jupiter.api.Test;        // For test methods
+
+/**
+ * Tests that the change log only logs events at or above its level
+ */
+class ChangeLogTest {
+    private final ChangeLog.Level before = ChangeLog.getLevel();
+
+    @AfterEach
+    void restoreLevel() {
+        ChangeLog.setLevel(before);
+    }
+
+    @Test
+    void infoLogsEverything() {
+        ChangeLog.setLevel(ChangeLog.Level.INFO);
+        assertTrue(ChangeLog.isEnabled(ChangeLog.Level.INFO));
+        assertTrue(ChangeLog.isEnabled(ChangeLog.Level.WARN));
+    }
+
+    @Test
+    void warnOnlyLogsRefusals() {
+        ChangeLog.setLevel(ChangeLog.Level.WARN);
+        assertFalse(ChangeLog.isEnabled(ChangeLog.Level.INFO));
+        assertTrue(ChangeLog.isEnabled(ChangeLog.Level.WARN));
+    }
+
+    @Test
+    void offLogsNothing() {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        assertFalse(ChangeLog.isEnabled(ChangeLog.Level.INFO));
+        assertFalse(ChangeLog.isEnabled(ChangeLog.Level.WARN));
+        assertFalse(ChangeLog.isEnabled(ChangeLog.Level.OFF));
+    }
+
+    @Test
+    void eventsBelowTheLevelAreNotQueued() {
+        ChangeLog.setLevel(ChangeLog.Level.WARN);
+        long dropped = ChangeLog.getDropped();
+        for (int i = 0; i < 200_000; i++) {
+            ChangeLog.log(ChangeLog.Event.SALARY_CHANGED, i, 30000.0);  // More than the queue holds
+        }
+        ChangeLog.flush();
+        assertEquals(dropped, ChangeLog.getDropped(), "INFO events were queued while the level was WARN");
+    }
+}
@@ -0,0 +1,164 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking results
+import static org.junit.jupiter.api.Assertions.assertFalse;   // For checking staff are back
+import static org.junit.jupiter.api.Assertions.assertNull;    // For checking nothing is left to undo
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For checking conditions
+
+import java.io.IOException;     // For service calls that may save to a journal
+import java.nio.file.Files;     // For the size of the journal file
+import java.nio.file.Path;      // For the journal directory
+import java.util.ArrayList;     // For the staff list
+import java.util.List;          // For List interface
+import org.junit.jupiter.api.BeforeEach;  // For a new service per test
+import org.junit.jupiter.api.Test;        // For test methods
+import org.junit.jupiter.api.io.TempDir;  // For a journal directory per test
+
+/**
+ * Tests undo and redo through the service
+ * Undoing must put back the values, versions and indexes of every staff member in
+ * a step, and a change the service refuses must leave the history and journal alone
+ */
+class RecruitmentServiceHistoryTest {
+    private static final int MAX_STEPS = 10_000;  // StaffHistory.MAX_STEPS
+
+    private RecruitmentService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        service = new RecruitmentService(new ArrayList<>(), null);
+        service.addFullTimeStaff(RecruitmentServiceTest.fullTime(1, true));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(2, true));
+    }
+
+    @Test
+    void salaryChangeIsUndoneAndRedone() throws IOException {
+        int before = service.versionOf(1);
+        service.setSalary(1, 32000);
+        int after = service.versionOf(1);
+
+        assertEquals("Set salary of vacancy 1", service.undoDescription());
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        assertEquals(30000, salaryOf(1));
+        assertEquals(before, service.versionOf(1));
+        assertEquals("Set salary of vacancy 1", service.redoDescription());
+
+        assertEquals(RecruitmentService.Result.SUCCESS, service.redo());
+        assertEquals(32000, salaryOf(1));
+        assertEquals(after, service.versionOf(1));
+        assertNull(service.redoDescription());
+        assertTrue(service.checkTotals());
+    }
+
+    @Test
+    void shiftsChangeIsUndoneAndRedone() throws IOException {
+        service.setShifts(2, "Evening");
+
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        assertEquals("Morning", partTime(2).getShifts());
+        assertEquals(RecruitmentService.Result.SUCCESS, service.redo());
+        assertEquals("Evening", partTime(2).getShifts());
+    }
+
+    @Test
+    void terminationIsUndoneAndRedone() throws IOException {
+        service.terminateStaff(2);
+        assertEquals(1, service.count(StaffQuery.terminated()));
+
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        assertFalse(partTime(2).getTerminated());
+        assertEquals("Bob Ray", partTime(2).getStaffName());
+        assertEquals("01/09/2024", partTime(2).getJoiningDate());
+        assertTrue(partTime(2).getJoined());
+        assertEquals(0, service.count(StaffQuery.terminated()));
+        assertEquals(2, service.count(StaffQuery.joined()));
+
+        assertEquals(RecruitmentService.Result.SUCCESS, service.redo());
+        assertTrue(partTime(2).getTerminated());
+        assertEquals("", partTime(2).getStaffName());
+        assertEquals(1, service.count(StaffQuery.terminated()));
+        assertTrue(service.checkTotals());
+    }
+
+    @Test
+    void undoIsRefusedAfterAConcurrentChange() throws IOException {
+        for (int i = 3; i <= 5000; i++) {  // More than one chunk of a bulk change
+            service.addFullTimeStaff(RecruitmentServiceTest.fullTime(i, true));
+        }
+        // Vacancy 1 is changed between the chunks of the raise, as through the HTTP API,
+        // so its change is recorded before the raise that it comes after
+        BulkReport raise = service.raisePay(StaffFilter.fullTime(), 10, new StaffTaskRunner.Progress() {
+            private boolean changed;
+
+            @Override
+            public void update(int done, int total) {
+                if (!changed) {
+                    changed = true;
+                    try {
+                        assertEquals(RecruitmentService.Result.SUCCESS, service.setSalary(1, 50000));
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+        });
+
+        assertEquals(raise.getAction(), service.undoDescription());
+        assertEquals(RecruitmentService.Result.CONFLICT, service.undo());
+        assertEquals(50000, salaryOf(1));
+        assertEquals(33000, salaryOf(5000), 1e-9);  // The raise is left in place
+
+        assertEquals("Set salary of vacancy 1", service.undoDescription());  // The raise was dropped
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        assertEquals(33000, salaryOf(1), 1e-9);
+        assertTrue(service.checkTotals());
+    }
+
+    @Test
+    void oldestStepsAreDroppedPastMaxSteps() throws IOException {
+        for (int i = 1; i <= MAX_STEPS + 1; i++) {
+            service.setSalary(1, 30000 + i);
+        }
+        for (int i = 0; i < MAX_STEPS; i++) {
+            assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        }
+        assertEquals(RecruitmentService.Result.NOT_FOUND, service.undo());
+        assertEquals(30001, salaryOf(1));  // The first change was dropped, so it cannot be undone
+    }
+
+    @Test
+    void refusedChangesLeaveTheHistoryAndJournalAlone(@TempDir Path directory) throws IOException {
+        List<StaffHire> staffList = new ArrayList<>();
+        StaffJournal journal = new StaffJournal(directory, staffList);
+        journal.load();
+        service = new RecruitmentService(staffList, journal);
+        service.addFullTimeStaff(RecruitmentServiceTest.fullTime(1, false));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(2, false));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(3, true));
+        service.terminateStaff(3);
+        journal.snapshot();  // Empties the journal
+        String undo = service.undoDescription();
+
+        assertEquals(RecruitmentService.Result.NOT_JOINED, service.setSalary(1, 32000));
+        assertEquals(RecruitmentService.Result.NOT_JOINED, service.setShifts(2, "Evening"));
+        assertEquals(RecruitmentService.Result.ALREADY_TERMINATED, service.setShifts(3, "Evening"));
+        assertEquals(RecruitmentService.Result.ALREADY_TERMINATED, service.terminateStaff(3));
+        assertEquals(undo, service.undoDescription());
+        assertNull(service.redoDescription());
+
+        service.close();  // Writes any records still queued
+        assertEquals(0, Files.size(directory.resolve("staff.journal")));
+    }
+
+    private double salaryOf(int vacancyNumber) {
+        return ((FullTimeStaffHire) service.findStaff(vacancyNumber)).getSalary();
+    }
+
+    private PartTimeStaffHire partTime(int vacancyNumber) {
+        return (PartTimeStaffHire) service.findStaff(vacancyNumber);
+    }
+}
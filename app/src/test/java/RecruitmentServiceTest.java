@@ -0,0 +1,220 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking results
+import static org.junit.jupiter.api.Assertions.assertNull;    // For staff that are not there
+import static org.junit.jupiter.api.Assertions.assertSame;    // For finding the staff that was added
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For checking conditions
+
+import java.io.IOException;     // For service calls that may save to a journal
+import java.util.ArrayList;     // For the staff list
+import java.util.List;          // For List interface
+import java.util.concurrent.CopyOnWriteArrayList;  // For batches delivered on another thread
+import java.util.concurrent.CountDownLatch;        // For holding up delivery
+import java.util.concurrent.TimeUnit;              // For the wait limit
+import org.junit.jupiter.api.BeforeEach;  // For a new service per test
+import org.junit.jupiter.api.Test;        // For test methods
+
+/**
+ * Tests the headless recruitment service without a window or a journal
+ */
+class RecruitmentServiceTest {
+    private RecruitmentService service;
+
+    @BeforeEach
+    void setUp() {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        service = new RecruitmentService(new ArrayList<>(), null);
+    }
+
+    @Test
+    void addedStaffCanBeFound() throws IOException {
+        FullTimeStaffHire staff = fullTime(1, true);
+        assertEquals(RecruitmentService.Result.SUCCESS, service.addFullTimeStaff(staff));
+        assertSame(staff, service.findStaff(1));
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    void vacancyNumbersCannotBeReused() throws IOException {
+        service.addFullTimeStaff(fullTime(1, true));
+        assertEquals(RecruitmentService.Result.DUPLICATE, service.addPartTimeStaff(partTime(1, true)));
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    void missingAndInvalidFieldsAreRejected() throws IOException {
+        assertEquals(RecruitmentService.Result.MISSING_FIELDS, service.addFullTimeStaff(new FullTimeStaffHire(1,
+            "Lecturer", "Teaching", "", "01/09/2024", "Masters", "Head of School", true, 30000, 37)));
+        assertEquals(RecruitmentService.Result.INVALID_FIELDS, service.addFullTimeStaff(new FullTimeStaffHire(-1,
+            "Lecturer", "Teaching", "Ann Lee", "01/09/2024", "Masters", "Head of School", true, 30000, 37)));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void changesCheckTheStaffType() throws IOException {
+        service.addFullTimeStaff(fullTime(1, true));
+        service.addPartTimeStaff(partTime(2, true));
+        assertEquals(RecruitmentService.Result.NOT_FULL_TIME, service.setSalary(2, 32000));
+        assertEquals(RecruitmentService.Result.NOT_PART_TIME, service.setShifts(1, "Evening"));
+        assertEquals(RecruitmentService.Result.NOT_PART_TIME, service.terminateStaff(1));
+        assertEquals(RecruitmentService.Result.NOT_FOUND, service.setSalary(3, 32000));
+        assertNull(service.findStaff(3));
+    }
+
+    @Test
+    void changesCanBeUndoneAndRedone() throws IOException {
+        service.addFullTimeStaff(fullTime(1, true));
+        service.setSalary(1, 32000);
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        assertEquals(30000, ((FullTimeStaffHire) service.findStaff(1)).getSalary());
+        assertEquals(RecruitmentService.Result.SUCCESS, service.redo());
+        assertEquals(32000, ((FullTimeStaffHire) service.findStaff(1)).getSalary());
+    }
+
+    @Test
+    void salaryOfStaffNotJoinedIsRefused() throws IOException {
+        service.addFullTimeStaff(fullTime(1, false));
+        int version = service.versionOf(1);
+        assertEquals(RecruitmentService.Result.NOT_JOINED, service.setSalary(1, 32000));
+        assertEquals(30000, ((FullTimeStaffHire) service.findStaff(1)).getSalary());
+        assertEquals(version, service.versionOf(1));
+        assertNull(service.undoDescription());
+    }
+
+    @Test
+    void shiftsOfStaffNotJoinedOrTerminatedAreRefused() throws IOException {
+        service.addPartTimeStaff(partTime(1, false));
+        service.addPartTimeStaff(partTime(2, true));
+        assertEquals(RecruitmentService.Result.NOT_JOINED, service.setShifts(1, "Evening"));
+        assertEquals(RecruitmentService.Result.SUCCESS, service.terminateStaff(2));
+        int version = service.versionOf(2);
+        assertEquals(RecruitmentService.Result.ALREADY_TERMINATED, service.setShifts(2, "Evening"));
+        assertEquals("Morning", ((PartTimeStaffHire) service.findStaff(1)).getShifts());
+        assertEquals(version, service.versionOf(2));
+        assertEquals("Terminate vacancy 2", service.undoDescription());
+    }
+
+    @Test
+    void terminatingTwiceIsRefused() throws IOException {
+        service.addPartTimeStaff(partTime(1, true));
+        assertEquals(RecruitmentService.Result.SUCCESS, service.terminateStaff(1));
+        int version = service.versionOf(1);
+        assertEquals(RecruitmentService.Result.ALREADY_TERMINATED, service.terminateStaff(1));
+        assertEquals(version, service.versionOf(1));
+
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());  // Only the first termination is undone
+        assertEquals("Bob Ray", service.findStaff(1).getStaffName());
+        assertNull(service.undoDescription());
+    }
+
+    @Test
+    void bulkRaiseChangesOnlyTheStaffMatched() throws IOException {
+        service.addFullTimeStaff(fullTime(1, true));
+        service.addFullTimeStaff(new FullTimeStaffHire(2, "Professor", "Teaching", "Cat Kim", "01/09/2024",
+            "Doctorate", "Head of School", true, 50000, 37));
+        service.addPartTimeStaff(partTime(3, true));
+        BulkReport report = service.raisePay(StaffFilter.designation("Lecturer"), 10, null);
+        assertEquals(33000, ((FullTimeStaffHire) service.findStaff(1)).getSalary(), 1e-9);
+        assertEquals(50000, ((FullTimeStaffHire) service.findStaff(2)).getSalary());
+        assertEquals(13.5, ((PartTimeStaffHire) service.findStaff(3)).getWagesPerHour());
+        assertEquals(3, report.getChecked());
+        assertEquals(1, report.getMatched());
+        assertEquals(1, report.getChanged());
+        assertEquals(0, report.getSkipped());
+    }
+
+    @Test
+    void bulkRaiseAppliesThePercentToSalaryAndWages() throws IOException {
+        service.addFullTimeStaff(fullTime(1, true));
+        service.addPartTimeStaff(partTime(2, true));
+        BulkReport report = service.raisePay(StaffFilter.all(), 10, null);
+        assertEquals(33000, ((FullTimeStaffHire) service.findStaff(1)).getSalary(), 1e-9);
+        assertEquals(14.85, ((PartTimeStaffHire) service.findStaff(2)).getWagesPerHour(), 1e-9);
+        assertEquals(2, report.getChanged());
+        assertTrue(service.checkTotals());
+    }
+
+    @Test
+    void bulkChangesSkipStaffNotJoinedOrTerminated() throws IOException {
+        service.addFullTimeStaff(fullTime(1, true));
+        service.addFullTimeStaff(fullTime(2, false));
+        service.addPartTimeStaff(partTime(3, true));
+        service.addPartTimeStaff(partTime(4, true));
+        service.terminateStaff(4);
+
+        BulkReport raise = service.raisePay(StaffFilter.all(), 10, null);
+        assertEquals(4, raise.getMatched());
+        assertEquals(2, raise.getChanged());
+        assertEquals(2, raise.getSkipped());
+        assertEquals(30000, ((FullTimeStaffHire) service.findStaff(2)).getSalary());
+        assertEquals(13.5, ((PartTimeStaffHire) service.findStaff(4)).getWagesPerHour());
+
+        BulkReport terminate = service.terminateAll(StaffFilter.all(), null);
+        assertEquals(4, terminate.getMatched());
+        assertEquals(1, terminate.getChanged());  // Only vacancy 3, as 1 and 2 are full-time and 4 is already terminated
+        assertEquals(3, terminate.getSkipped());
+        assertTrue(((PartTimeStaffHire) service.findStaff(3)).getTerminated());
+    }
+
+    @Test
+    void bulkChangeIsOneStepAndOneBatch() throws Exception {
+        int staff = 10_000;  // Several chunks of the roster lock
+        for (int i = 1; i <= staff; i++) {
+            if (i % 2 == 0) {
+                service.addFullTimeStaff(fullTime(i, true));
+            } else {
+                service.addPartTimeStaff(partTime(i, true));
+            }
+        }
+        // Hold up delivery of the first batch, so every change the raise makes waits for the same delivery
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<StaffChanges> batches = new CopyOnWriteArrayList<>();
+        service.addListener(changes -> {
+            batches.add(changes);
+            if (batches.size() == 1) {
+                delivering.countDown();
+                awaitQuietly(release);
+            }
+        });
+        service.addPartTimeStaff(partTime(staff + 1, true));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        BulkReport report = service.raisePay(StaffFilter.all(), 5, null);
+        release.countDown();
+        service.flushChanges();
+        assertEquals(staff + 1, report.getChanged());
+
+        assertEquals(2, batches.size());
+        StaffChanges raise = batches.get(1);
+        assertEquals(staff + 1, raise.size());
+        assertEquals(staff + 1, raise.getEvents());
+        for (int i = 0; i < raise.size(); i++) {
+            assertEquals(raise.position(i) % 2 == 0 ? StaffChanges.WAGES_CHANGED : StaffChanges.SALARY_CHANGED,
+                raise.kinds(i));  // Odd vacancy numbers, at even positions, are part-time
+        }
+
+        assertEquals(report.getAction(), service.undoDescription());
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());  // One undo puts back the whole change
+        assertEquals(30000, ((FullTimeStaffHire) service.findStaff(2)).getSalary(), 1e-9);
+        assertEquals(13.5, ((PartTimeStaffHire) service.findStaff(staff - 1)).getWagesPerHour(), 1e-9);
+        assertNull(service.undoDescription());
+    }
+
+    static FullTimeStaffHire fullTime(int vacancyNumber, boolean joined) {
+        return new FullTimeStaffHire(vacancyNumber, "Lecturer", "Teaching", "Ann Lee", "01/09/2024", "Masters",
+            "Head of School", joined, 30000, 37);
+    }
+
+    static PartTimeStaffHire partTime(int vacancyNumber, boolean joined) {
+        return new PartTimeStaffHire(vacancyNumber, "Tutor", "Teaching", "Bob Ray", "01/09/2024", "Degree",
+            "Head of School", joined, 6, 13.5, "Morning");
+    }
+
+    // Waits for the latch, for a listener that cannot throw InterruptedException
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
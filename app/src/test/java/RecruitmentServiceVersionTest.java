@@ -0,0 +1,110 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;      // For checking results
+import static org.junit.jupiter.api.Assertions.assertNotEquals;   // For checking versions moved on
+import static org.junit.jupiter.api.Assertions.assertNull;        // For checking nothing is left to undo
+
+import java.io.IOException;     // For service calls that may save to a journal
+import java.util.ArrayList;     // For the staff list
+import java.util.concurrent.atomic.AtomicReference;  // For failures on the worker threads
+import org.junit.jupiter.api.BeforeEach;  // For a new service per test
+import org.junit.jupiter.api.Test;        // For test methods
+
+/**
+ * Tests the per-staff versions and the compare-and-set salary and shift changes
+ * A change made with a stale expected version must return CONFLICT and leave the staff member alone
+ */
+class RecruitmentServiceVersionTest {
+    private RecruitmentService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        service = new RecruitmentService(new ArrayList<>(), null);
+        service.addFullTimeStaff(new FullTimeStaffHire(1, "Lecturer", "Teaching", "Ann Lee", "01/09/2024",
+            "Masters", "Head of School", true, 30000, 37));
+        service.addPartTimeStaff(new PartTimeStaffHire(2, "Tutor", "Teaching", "Bob Ray", "01/09/2024",
+            "Degree", "Head of School", true, 6, 13.5, "Morning"));
+    }
+
+    @Test
+    void changeWithCurrentVersionIsApplied() throws IOException {
+        int version = service.versionOf(1);
+        assertEquals(RecruitmentService.Result.SUCCESS, service.setSalary(1, 32000, version));
+        assertEquals(32000, salaryOf(1));
+        assertNotEquals(version, service.versionOf(1));
+    }
+
+    @Test
+    void staleSalaryChangeConflicts() throws IOException {
+        int stale = service.versionOf(1);
+        assertEquals(RecruitmentService.Result.SUCCESS, service.setSalary(1, 31000));  // Someone else changes it
+        int current = service.versionOf(1);
+
+        assertEquals(RecruitmentService.Result.CONFLICT, service.setSalary(1, 40000, stale));
+        assertEquals(31000, salaryOf(1));
+        assertEquals(current, service.versionOf(1));
+    }
+
+    @Test
+    void staleShiftsChangeConflicts() throws IOException {
+        int stale = service.versionOf(2);
+        assertEquals(RecruitmentService.Result.SUCCESS, service.setShifts(2, "Evening"));
+        int current = service.versionOf(2);
+
+        assertEquals(RecruitmentService.Result.CONFLICT, service.setShifts(2, "Night", stale));
+        assertEquals("Evening", ((PartTimeStaffHire) service.findStaff(2)).getShifts());
+        assertEquals(current, service.versionOf(2));
+    }
+
+    @Test
+    void conflictIsNotAddedToUndo() throws IOException {
+        int stale = service.versionOf(1);
+        service.setSalary(1, 31000);
+        service.setSalary(1, 40000, stale);
+
+        assertEquals("Set salary of vacancy 1", service.undoDescription());
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        assertEquals(30000, salaryOf(1));
+        assertEquals(stale, service.versionOf(1));  // Undo puts the old version back
+        assertNull(service.undoDescription());
+    }
+
+    @Test
+    void concurrentVersionedAdditionsAreNotLost() throws Exception {
+        int threads = 4;
+        int additions = 5000;
+        service.setSalary(1, 0);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < additions; i++) {
+                        RecruitmentService.Result result;
+                        do {  // Read the salary and its version, and read again if someone else added first
+                            int version = service.versionOf(1);
+                            result = service.setSalary(1, salaryOf(1) + 1, version);
+                        } while (result == RecruitmentService.Result.CONFLICT);
+                    }
+                } catch (Exception e) {
+                    failure.set(e);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(threads * additions, salaryOf(1));
+    }
+
+    @Test
+    void unknownVacancyHasNoVersion() {
+        assertEquals(-1, service.versionOf(99));
+    }
+
+    private double salaryOf(int vacancyNumber) {
+        return ((FullTimeStaffHire) service.findStaff(vacancyNumber)).getSalary();
+    }
+}
@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking results
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For checking conditions
+
+import java.util.List;          // For List interface
+import java.util.concurrent.CopyOnWriteArrayList;  // For batches delivered on another thread
+import java.util.concurrent.CountDownLatch;        // For holding up delivery
+import java.util.concurrent.TimeUnit;              // For the wait limit
+import org.junit.jupiter.api.AfterEach;   // For stopping the delivery thread
+import org.junit.jupiter.api.BeforeEach;  // For a new buffer per test
+import org.junit.jupiter.api.Test;        // For test methods
+
+/**
+ * Tests coalescing changes into batches for the listeners
+ * The first batch is held up in the listener, so every change recorded meanwhile
+ * waits for the same delivery however slowly the test runs
+ */
+class StaffChangeBufferTest {
+    private final StaffChangeBuffer buffer = new StaffChangeBuffer();
+    private final List<StaffChanges> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch delivering = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        buffer.addListener(changes -> {
+            batches.add(changes);
+            if (batches.size() == 1) {
+                delivering.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        buffer.record(100, StaffChanges.INSERTED);
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        buffer.close();
+    }
+
+    @Test
+    void manyChangesToFewStaffAreOneBatch() {
+        int changes = 100_000;
+        int[] kinds = {StaffChanges.SALARY_CHANGED, StaffChanges.SHIFTS_CHANGED, StaffChanges.TERMINATED};
+        for (int i = 0; i < changes; i++) {
+            buffer.record(i % 4, kinds[i % kinds.length]);  // Each position gets every kind, as 3 and 4 share no factor
+        }
+        release.countDown();
+        buffer.flush();
+
+        assertEquals(2, batches.size());
+        StaffChanges batch = batches.get(1);
+        assertEquals(4, batch.size());
+        assertEquals(changes, batch.getEvents());
+        int all = StaffChanges.SALARY_CHANGED | StaffChanges.SHIFTS_CHANGED | StaffChanges.TERMINATED;
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(i, batch.position(i));  // In the order first changed
+            assertEquals(all, batch.kinds(i));
+        }
+    }
+
+    @Test
+    void positionsAreClearedForTheNextBatch() {
+        buffer.record(1, StaffChanges.SALARY_CHANGED);
+        release.countDown();
+        buffer.flush();
+        buffer.record(1, StaffChanges.WAGES_CHANGED);
+        buffer.flush();
+
+        assertEquals(3, batches.size());
+        assertEquals(StaffChanges.WAGES_CHANGED, batches.get(2).kinds(0));  // Not ORed with the last batch
+        assertEquals(1, batches.get(2).getEvents());
+    }
+}
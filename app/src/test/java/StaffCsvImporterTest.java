@@ -0,0 +1,95 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking results
+import static org.junit.jupiter.api.Assertions.assertNull;    // For rows that were not imported
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For checking the report text
+
+import java.io.IOException;     // For file errors
+import java.nio.charset.StandardCharsets;  // For writing the CSV as UTF-8
+import java.nio.file.Files;     // For writing the CSV file
+import java.nio.file.Path;      // For the CSV file
+import java.util.ArrayList;     // For the staff list
+import java.util.List;          // For List interface
+import org.junit.jupiter.api.BeforeEach;  // For a new service per test
+import org.junit.jupiter.api.Test;        // For test methods
+import org.junit.jupiter.api.io.TempDir;  // For a directory to write the CSV to
+
+/**
+ * Tests importing staff from CSV files into the service
+ * Each rejected row must be counted and reported with its line number and reason
+ */
+class StaffCsvImporterTest {
+    private static final String HEADER = String.join(",", StaffCsvImporter.COLUMNS);
+    private static final String FULL_TIME = "Full Time,1,Lecturer,Teaching,Ann Lee,01/09/2024,Masters,Head of School,true,30000,37,,,";
+    private static final String PART_TIME = "Part Time,2,Tutor,Teaching,Bob Ray,01/09/2024,Degree,Head of School,yes,,,6,13.5,Morning";
+
+    @TempDir
+    Path directory;
+
+    private RecruitmentService service;
+
+    @BeforeEach
+    void setUp() {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        service = new RecruitmentService(new ArrayList<>(), null);
+    }
+
+    @Test
+    void goodRowsAreImported() throws IOException {
+        ImportReport report = importLines(HEADER, FULL_TIME, PART_TIME);
+        assertEquals(2, report.getRowsRead());
+        assertEquals(2, report.getImported());
+        assertEquals(0, report.getRejected());
+        assertEquals(30000, ((FullTimeStaffHire) service.findStaff(1)).getSalary());
+        assertEquals("Morning", ((PartTimeStaffHire) service.findStaff(2)).getShifts());
+    }
+
+    @Test
+    void rowMissingAFieldIsRejected() throws IOException {
+        ImportReport report = importLines(HEADER, FULL_TIME.replace("Ann Lee", ""), PART_TIME);
+        assertRejected(report, 2, "Line 2: All fields must be filled out");
+        assertNull(service.findStaff(1));
+    }
+
+    @Test
+    void rowWithABadDateIsRejected() throws IOException {
+        ImportReport report = importLines(HEADER, FULL_TIME.replace("01/09/2024", "31/02/2024"), PART_TIME);
+        assertRejected(report, 2, "Line 2: Joining date must be a valid dd/mm/yyyy date");
+    }
+
+    @Test
+    void duplicateVacancyNumberIsRejected() throws IOException {
+        ImportReport report = importLines(HEADER, FULL_TIME, PART_TIME, PART_TIME.replace("Bob Ray", "Cat Kim"));
+        assertRejected(report, 3, "Line 4: Staff with vacancy number 2 already exists.");
+        assertEquals("Bob Ray", service.findStaff(2).getStaffName());  // The first row with the number is kept
+    }
+
+    @Test
+    void rowWithTooFewColumnsIsRejected() throws IOException {
+        ImportReport report = importLines(HEADER, "Full Time,3,Lecturer,Teaching,Ann Lee", PART_TIME);
+        assertRejected(report, 2, "Line 2: Expected " + StaffCsvImporter.COLUMNS.length + " columns but found 5");
+    }
+
+    // Checks one of the rows read was rejected with the message and the others imported
+    private void assertRejected(ImportReport report, int rowsRead, String message) {
+        assertEquals(rowsRead, report.getRowsRead());
+        assertEquals(rowsRead - 1, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertTrue(report.getSummary().contains(message + "\n"), report.getSummary());
+        assertEquals(rowsRead - 1, service.size());
+    }
+
+    // Writes the lines to a CSV file and imports it into the service
+    private ImportReport importLines(String... lines) throws IOException {
+        Path file = directory.resolve("staff.csv");
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return new StaffCsvImporter().importFile(file, new StaffCsvImporter.BatchHandler() {
+            @Override
+            public void insert(List<StaffCsvImporter.ImportedRow> rows, ImportReport report) throws IOException {
+                service.addImported(rows, report);
+            }
+
+            @Override
+            public void progress(int percent) {
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking results
+import static org.junit.jupiter.api.Assertions.assertFalse;   // For checking staff are back
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For checking conditions
+
+import java.io.IOException;     // For file errors
+import java.nio.file.Files;     // For reading and damaging the journal file
+import java.nio.file.Path;      // For the journal directory
+import java.nio.file.StandardOpenOption;  // For appending to the journal file
+import java.util.ArrayList;     // For the staff list
+import java.util.List;          // For List interface
+import org.junit.jupiter.api.BeforeEach;  // For a new directory per test
+import org.junit.jupiter.api.Test;        // For test methods
+import org.junit.jupiter.api.io.TempDir;  // For a journal directory per test
+
+/**
+ * Tests saving the staff list with the journal and loading it back
+ * Changes are made through the service, which applies and records them, and the
+ * files are then loaded into a new staff list as on the next run
+ */
+class StaffJournalTest {
+    @TempDir
+    Path directory;
+
+    private Path journalFile;
+
+    @BeforeEach
+    void setUp() {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        journalFile = directory.resolve("staff.journal");
+    }
+
+    @Test
+    void recordedChangesAreReplayed() throws IOException {
+        RecruitmentService service = open(new ArrayList<>());
+        service.addFullTimeStaff(RecruitmentServiceTest.fullTime(1, true));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(2, true));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(3, true));
+        service.setSalary(1, 32000);
+        service.setShifts(2, "Evening");
+        service.raisePay(StaffFilter.partTime(), 10, null);
+        service.terminateStaff(3);
+        service.close();
+
+        List<StaffHire> loaded = load();
+        assertEquals(3, loaded.size());
+        assertEquals(32000, ((FullTimeStaffHire) loaded.get(0)).getSalary());
+        PartTimeStaffHire evening = (PartTimeStaffHire) loaded.get(1);
+        assertEquals("Evening", evening.getShifts());
+        assertEquals(14.85, evening.getWagesPerHour(), 1e-9);
+        PartTimeStaffHire terminated = (PartTimeStaffHire) loaded.get(2);
+        assertTrue(terminated.getTerminated());
+        assertEquals("", terminated.getStaffName());
+    }
+
+    @Test
+    void tornFinalRecordIsTruncated() throws IOException {
+        RecruitmentService service = open(new ArrayList<>());
+        service.addFullTimeStaff(RecruitmentServiceTest.fullTime(1, true));
+        service.setSalary(1, 32000);
+        service.close();
+        long goodLength = Files.size(journalFile);
+        // A record cut short by a crash: its length and checksum, then only part of its body
+        Files.write(journalFile, new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        List<StaffHire> staffList = new ArrayList<>();
+        service = open(staffList);
+        assertEquals(goodLength, Files.size(journalFile));
+        assertEquals(1, staffList.size());
+        assertEquals(32000, ((FullTimeStaffHire) staffList.get(0)).getSalary());
+        service.setSalary(1, 34000);  // Follows the last good record, not the torn one
+        service.close();
+
+        assertEquals(34000, ((FullTimeStaffHire) load().get(0)).getSalary());
+    }
+
+    @Test
+    void recordsInTheSnapshotAreSkipped() throws IOException {
+        List<StaffHire> staffList = new ArrayList<>();
+        StaffJournal journal = new StaffJournal(directory, staffList);
+        journal.load();
+        RecruitmentService service = new RecruitmentService(staffList, journal);
+        service.addFullTimeStaff(RecruitmentServiceTest.fullTime(1, true));
+        service.setSalary(1, 32000);
+        journal.close();  // Writes the records so they can be copied
+        byte[] records = Files.readAllBytes(journalFile);
+
+        staffList = new ArrayList<>();
+        journal = new StaffJournal(directory, staffList);
+        journal.load();
+        service = new RecruitmentService(staffList, journal);
+        journal.snapshot();
+        service.setSalary(1, 34000);
+        service.close();
+        // As if the snapshot was written but the run crashed before the journal was emptied,
+        // so the journal still starts with records the snapshot already includes
+        byte[] newer = Files.readAllBytes(journalFile);
+        byte[] both = new byte[records.length + newer.length];
+        System.arraycopy(records, 0, both, 0, records.length);
+        System.arraycopy(newer, 0, both, records.length, newer.length);
+        Files.write(journalFile, both);
+
+        List<StaffHire> loaded = load();
+        assertEquals(1, loaded.size());  // The add is not replayed a second time
+        assertEquals(34000, ((FullTimeStaffHire) loaded.get(0)).getSalary());
+    }
+
+    @Test
+    void undoneTerminationIsReplayedAsARestore() throws IOException {
+        RecruitmentService service = open(new ArrayList<>());
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(1, true));
+        service.terminateStaff(1);
+        service.undo();  // Records the fields put back
+        service.close();
+
+        PartTimeStaffHire loaded = (PartTimeStaffHire) load().get(0);
+        assertFalse(loaded.getTerminated());
+        assertEquals("Bob Ray", loaded.getStaffName());
+        assertEquals("01/09/2024", loaded.getJoiningDate());
+        assertEquals("Degree", loaded.getQualification());
+        assertTrue(loaded.getJoined());
+    }
+
+    // Loads the saved staff into the list and returns a service saving changes to the same files
+    private RecruitmentService open(List<StaffHire> staffList) throws IOException {
+        StaffJournal journal = new StaffJournal(directory, staffList);
+        journal.load();
+        return new RecruitmentService(staffList, journal);
+    }
+
+    // Loads the saved staff into a new list, as on the next run
+    private List<StaffHire> load() throws IOException {
+        List<StaffHire> staffList = new ArrayList<>();
+        StaffJournal journal = new StaffJournal(directory, staffList);
+        journal.load();
+        journal.close();
+        return staffList;
+    }
+}
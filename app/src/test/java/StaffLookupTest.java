@@ -0,0 +1,69 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking results
+import static org.junit.jupiter.api.Assertions.assertNull;    // For vacancy numbers not in use
+import static org.junit.jupiter.api.Assertions.assertSame;    // For finding the staff that was added
+
+import java.io.IOException;     // For service calls that may save to a journal
+import java.util.ArrayList;     // For the staff list
+import java.util.List;          // For List interface
+import org.junit.jupiter.api.BeforeEach;  // For a new service per test
+import org.junit.jupiter.api.Test;        // For test methods
+
+/**
+ * Tests looking staff up by vacancy number through the service's index
+ * Staff are added in an order unrelated to their vacancy numbers, so a lookup
+ * that assumed positions follow vacancy numbers would find the wrong staff
+ */
+class StaffLookupTest {
+    private static final int STAFF = 10_000;
+
+    private RecruitmentService service;
+    private final List<StaffHire> added = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        service = new RecruitmentService(new ArrayList<>(), null);
+        for (int i = 0; i < STAFF; i++) {
+            int vacancyNumber = vacancyNumber(i);
+            StaffHire staff = i % 2 == 0
+                ? RecruitmentServiceTest.fullTime(vacancyNumber, true)
+                : RecruitmentServiceTest.partTime(vacancyNumber, true);
+            RecruitmentService.Result result = staff instanceof FullTimeStaffHire
+                ? service.addFullTimeStaff((FullTimeStaffHire) staff)
+                : service.addPartTimeStaff((PartTimeStaffHire) staff);
+            assertEquals(RecruitmentService.Result.SUCCESS, result);
+            added.add(staff);
+        }
+    }
+
+    @Test
+    void everyStaffMemberIsFound() {
+        for (int i = 0; i < STAFF; i++) {
+            assertSame(added.get(i), service.findStaff(vacancyNumber(i)));
+            assertEquals(i, service.positionOf(vacancyNumber(i)));
+        }
+    }
+
+    @Test
+    void unusedVacancyNumbersAreNotFound() throws IOException {
+        assertNull(service.findStaff(-1));
+        assertNull(service.findStaff(STAFF * 7));
+        assertNull(service.findStaff(Integer.MAX_VALUE));
+        assertEquals(-1, service.positionOf(STAFF * 7));
+        assertEquals(RecruitmentService.Result.NOT_FOUND, service.setSalary(STAFF * 7, 1));
+    }
+
+    @Test
+    void duplicateVacancyNumbersAreRejected() throws IOException {
+        int taken = vacancyNumber(1234);
+        assertEquals(RecruitmentService.Result.DUPLICATE, service.addFullTimeStaff(RecruitmentServiceTest.fullTime(taken, true)));
+        assertEquals(RecruitmentService.Result.DUPLICATE, service.addPartTimeStaff(RecruitmentServiceTest.partTime(taken, true)));
+        assertEquals(STAFF, service.size());
+        assertSame(added.get(1234), service.findStaff(taken));  // Still the first staff member with it
+    }
+
+    // Vacancy numbers in a scrambled order, all different as 7919 is prime and does not divide STAFF * 7
+    private static int vacancyNumber(int i) {
+        return (int) ((i * 7919L) % (STAFF * 7));
+    }
+}
@@ -0,0 +1,95 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;  // For comparing positions
+import static org.junit.jupiter.api.Assertions.assertEquals;       // For checking results
+
+import java.io.IOException;     // For service calls that may save to a journal
+import java.util.ArrayList;     // For the staff list
+import java.util.List;          // For List interface
+import java.util.Random;        // For a mixed roster
+import java.util.function.Predicate;  // For the scan each query is checked against
+import org.junit.jupiter.api.BeforeEach;  // For a new service per test
+import org.junit.jupiter.api.Test;        // For test methods
+
+/**
+ * Tests that queries answered from the bitmap indexes match a scan of the staff list
+ * The roster spans more than one 65536-staff chunk and is changed by adds, single and
+ * bulk terminations and undo, each of which must keep the indexes up to date
+ */
+class StaffQueryTest {
+    private static final int STAFF = 70_000;  // Past the first chunk of the bitmaps
+    private static final String[] DESIGNATIONS = {"Lecturer", "Tutor", "Professor"};
+    private static final String[] JOB_TYPES = {"Teaching", "Research"};
+
+    private RecruitmentService service;
+    private final Random random = new Random(42);  // Fixed, so a failure can be repeated
+    private int nextVacancy = 1;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        service = new RecruitmentService(new ArrayList<>(), null);
+        addStaff(STAFF);
+    }
+
+    @Test
+    void queriesMatchAScanAfterMixedChanges() throws IOException {
+        for (int vacancyNumber = 3; vacancyNumber < STAFF; vacancyNumber += 97) {
+            service.terminateStaff(vacancyNumber);  // Full-time staff are refused and left alone
+        }
+        service.terminateAll(StaffFilter.designation("Tutor").and(StaffFilter.jobType("Research")), null);
+        checkQueries();
+
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());  // The bulk termination
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());  // The last single termination
+        checkQueries();
+
+        addStaff(10_000);  // Staff added after the undo go on the end
+        service.terminateAll(StaffFilter.designation("Professor"), null);
+        assertEquals(RecruitmentService.Result.SUCCESS, service.undo());
+        assertEquals(RecruitmentService.Result.SUCCESS, service.redo());
+        checkQueries();
+    }
+
+    // Compares each query with the same filter checked against every staff member
+    private void checkQueries() {
+        check(StaffQuery.all(), staff -> true);
+        check(StaffQuery.fullTime(), StaffFilter.fullTime());
+        check(StaffQuery.partTime(), StaffFilter.partTime());
+        check(StaffQuery.joined(), StaffHire::getJoined);
+        check(StaffQuery.terminated(), StaffFilter.terminated());
+        check(StaffQuery.designation("Tutor"), StaffFilter.designation("Tutor"));
+        check(StaffQuery.jobType("Research"), StaffFilter.jobType("Research"));
+        check(StaffQuery.partTime().and(StaffQuery.terminated().not()),
+            StaffFilter.partTime().and(StaffFilter.terminated().negate()));
+        check(StaffQuery.designation("Professor").or(StaffQuery.joined()).and(StaffQuery.jobType("Teaching")),
+            StaffFilter.designation("Professor").or(StaffHire::getJoined).and(StaffFilter.jobType("Teaching")));
+    }
+
+    private void check(StaffQuery query, Predicate<StaffHire> filter) {
+        List<Integer> scanned = new ArrayList<>();
+        for (int position = 0; position < service.size(); position++) {
+            if (filter.test(service.get(position))) {
+                scanned.add(position);
+            }
+        }
+        int[] expected = scanned.stream().mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(expected, service.select(query).toArray());
+        assertEquals(expected.length, service.count(query));
+    }
+
+    // Adds staff of every type, designation, job type and joined status
+    private void addStaff(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            int vacancyNumber = nextVacancy++;
+            String designation = DESIGNATIONS[random.nextInt(DESIGNATIONS.length)];
+            String jobType = JOB_TYPES[random.nextInt(JOB_TYPES.length)];
+            boolean joined = random.nextInt(4) != 0;
+            if (vacancyNumber % 2 == 0) {
+                service.addFullTimeStaff(new FullTimeStaffHire(vacancyNumber, designation, jobType, "Ann Lee",
+                    "01/09/2024", "Masters", "Head of School", joined, 30000, 37));
+            } else {
+                service.addPartTimeStaff(new PartTimeStaffHire(vacancyNumber, designation, jobType, "Bob Ray",
+                    "01/09/2024", "Degree", "Head of School", joined, 6, 13.5, "Morning"));
+            }
+        }
+    }
+}
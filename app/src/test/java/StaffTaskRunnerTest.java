@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For checking the order tasks ran in
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For checking tasks finished
+
+import java.util.ArrayList;                     // For the expected order
+import java.util.Collections;                   // For a list the workers can share
+import java.util.List;                          // For List interface
+import java.util.concurrent.CountDownLatch;     // For holding tasks until all are submitted
+import java.util.concurrent.TimeUnit;           // For the wait timeout
+import org.junit.jupiter.api.Test;              // For test methods
+
+/**
+ * Tests that tasks for one vacancy number run one at a time in the order they were submitted
+ */
+class StaffTaskRunnerTest {
+    private static final int TASKS = 200;
+
+    @Test
+    void tasksWithTheSameKeyRunInOrder() throws InterruptedException {
+        StaffTaskRunner runner = new StaffTaskRunner();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            int number = i;
+            expected.add(number);
+            runner.submit(7, progress -> {
+                release.await(5, TimeUnit.SECONDS);  // Queue every task before any runs
+                ran.add(number);
+                return null;
+            }, (result, error) -> { });
+        }
+        release.countDown();
+
+        assertTrue(runner.shutdown(10_000));
+        assertEquals(expected, ran);
+    }
+
+    @Test
+    void tasksWithTheSameKeyNeverOverlap() throws InterruptedException {
+        StaffTaskRunner runner = new StaffTaskRunner();
+        int[] running = new int[1];
+        int[] most = new int[1];
+        for (int i = 0; i < TASKS; i++) {
+            runner.submit(7, progress -> {
+                synchronized (running) {
+                    running[0]++;
+                    most[0] = Math.max(most[0], running[0]);
+                }
+                Thread.sleep(1);
+                synchronized (running) {
+                    running[0]--;
+                }
+                return null;
+            }, (result, error) -> { });
+        }
+
+        assertTrue(runner.shutdown(10_000));
+        assertEquals(1, most[0]);
+    }
+
+    @Test
+    void tasksWithDifferentKeysRunAtOnce() throws InterruptedException {
+        StaffTaskRunner runner = new StaffTaskRunner();
+        CountDownLatch both = new CountDownLatch(2);
+        List<Boolean> overlapped = Collections.synchronizedList(new ArrayList<>());
+        for (int key = 1; key <= 2; key++) {
+            runner.submit(key, progress -> {
+                both.countDown();
+                overlapped.add(both.await(5, TimeUnit.SECONDS));  // Only true if the other task starts meanwhile
+                return null;
+            }, (result, error) -> { });
+        }
+
+        assertTrue(runner.shutdown(20_000));
+        assertEquals(List.of(true, true), overlapped);
+    }
+}
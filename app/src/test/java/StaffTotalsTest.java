@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;  // For comparing totals
+import static org.junit.jupiter.api.Assertions.assertTrue;    // For checking the running totals
+
+import java.io.IOException;     // For service calls that may save to a journal
+import java.util.ArrayList;     // For the staff list
+import org.junit.jupiter.api.BeforeEach;  // For a new service per test
+import org.junit.jupiter.api.Test;        // For test methods
+
+/**
+ * Tests that the dashboard totals count the same pay as the payroll
+ * Staff who have not joined and terminated staff are not paid, so neither counts them
+ */
+class StaffTotalsTest {
+    private RecruitmentService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);
+        service = new RecruitmentService(new ArrayList<>(), null);
+        service.addFullTimeStaff(RecruitmentServiceTest.fullTime(1, true));
+        service.addFullTimeStaff(RecruitmentServiceTest.fullTime(2, false));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(3, true));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(4, false));
+        service.addPartTimeStaff(RecruitmentServiceTest.partTime(5, true));
+        service.terminateStaff(5);
+    }
+
+    @Test
+    void onlyPaidStaffAreCounted() {
+        StaffTotals.Snapshot totals = service.totals();
+        assertEquals(30000, totals.getTotalSalary());
+        assertEquals(6 * 13.5, totals.getDailyWageCost());
+        assertEquals(2, totals.getJoined());
+        assertEquals(2, totals.getNotJoined());
+        assertEquals(1, totals.getTerminated());
+    }
+
+    @Test
+    void totalsMatchThePayroll() throws IOException {
+        service.raisePay(StaffFilter.all(), 10, null);
+        assertPayrollMatches();
+    }
+
+    @Test
+    void runningTotalsMatchARecount() throws IOException {
+        service.setSalary(1, 35000);
+        service.raisePay(StaffFilter.partTime(), 5, null);
+        service.terminateStaff(3);
+        service.undo();
+        assertTrue(service.checkTotals());
+        assertPayrollMatches();
+    }
+
+    private void assertPayrollMatches() {
+        StaffTotals.Snapshot totals = service.totals();
+        PayrollEngine.Run run = new PayrollEngine().run(service.payrollRoster());
+        assertEquals(run.getFullTimeDailyCost(), totals.getTotalSalary() / PayrollEngine.WORKING_DAYS_PER_YEAR, 0.01);
+        assertEquals(run.getPartTimeDailyCost(), totals.getDailyWageCost(), 0.01);
+    }
+}
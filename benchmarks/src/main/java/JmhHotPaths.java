@@ -0,0 +1,210 @@
+import java.io.IOException;                     // For errors writing the journal
+import java.nio.file.Path;                      // For the journal's directory
+import java.util.ArrayList;                     // For rosters kept on the heap
+import java.util.List;                          // For List interface
+import java.util.function.Predicate;            // For the staff filters checked one by one
+import javax.swing.text.BadLocationException;   // For the keystroke field
+import javax.swing.text.PlainDocument;          // For a document like the form's fields
+import org.openjdk.jmh.infra.Blackhole;         // For consuming every cell of the painted rows
+import staffhire.jmh.HotPaths;                  // The interface the benchmarks call
+
+/**
+ * The recruitment hot paths for the JMH benchmarks in staffhire.jmh
+ * Lives in the default package with the recruitment system so it can reach it,
+ * including the package-private keystroke check.
+ * Rosters up to 1M use an ArrayList, larger ones the ColumnarStaffStore so they fit in memory
+ */
+public class JmhHotPaths implements HotPaths {
+    private static final int ARRAY_LIST_LIMIT = 1_000_000;  // Largest roster kept in an ArrayList
+
+    private final PlainDocument dateField = new PlainDocument();  // A date field with all but the last digit typed
+    private final RecruitmentSystem.EditedText edited = new RecruitmentSystem.EditedText();
+    private final StaffMetrics metrics = new StaffMetrics(() -> 0);
+    private final StringBuilder text = new StringBuilder(512);
+    private final Predicate<StaffHire> lecturers = StaffFilter.fullTime().and(StaffFilter.designation("Lecturer"));
+    private final Predicate<StaffHire> terminated = StaffFilter.partTime().and(StaffFilter.terminated());
+    private final StaffQuery lecturerQuery = StaffQuery.fullTime().and(StaffQuery.designation("Lecturer"));
+    private final StaffQuery terminatedQuery = StaffQuery.partTime().and(StaffQuery.terminated());
+    private final PayrollEngine engine = new PayrollEngine();
+
+    private List<StaffHire> staffList;
+    private RecruitmentService service;
+    private StaffTableModel tableModel;
+    private StaffJournal journal;           // Journal of the salary changes, null if kept only in memory
+
+    public JmhHotPaths() throws BadLocationException {
+        ChangeLog.setLevel(ChangeLog.Level.OFF);  // Keep setter logging out of the timings
+        dateField.insertString(0, "01/02/202", null);
+    }
+
+    @Override
+    public void setUp(int size) {
+        staffList = size <= ARRAY_LIST_LIMIT ? new ArrayList<>(size) : new ColumnarStaffStore();
+        SyntheticRoster.fill(staffList, size);
+        service = new RecruitmentService(staffList, null);
+        tableModel = new StaffTableModel(service);
+    }
+
+    @Override
+    public Object linearScan(int vacancyNumber) {
+        for (StaffHire staff : staffList) {
+            if (staff.getVacancyNumber() == vacancyNumber) {
+                return staff;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object findStaff(int vacancyNumber) {
+        return service.findStaff(vacancyNumber);
+    }
+
+    @Override
+    public Object refreshAllRows() {
+        Object[][] rows = new Object[staffList.size()][];
+        for (int row = 0; row < rows.length; row++) {
+            StaffHire staff = staffList.get(row);
+            rows[row] = new Object[] {row, staff.getVacancyNumber(), staff.getStaffName(), staff.getDesignation(),
+                staff.getJobType(), staff.getStaffType()};
+        }
+        return rows;
+    }
+
+    @Override
+    public void paintRows(int firstRow, Blackhole rows) {
+        for (int row = firstRow; row < firstRow + VISIBLE_ROWS && row < tableModel.getRowCount(); row++) {
+            for (int column = 0; column < tableModel.getColumnCount(); column++) {
+                rows.consume(tableModel.getValueAt(row, column));
+            }
+        }
+    }
+
+    @Override
+    public Object search(String query) {
+        return service.search(query, SEARCH_RESULTS);
+    }
+
+    @Override
+    public String syntheticName(int position) {
+        return SyntheticRoster.name(position);
+    }
+
+    @Override
+    public Object renderText(int position) {
+        text.setLength(0);
+        return service.get(position).render(text, StaffFormat.TEXT);
+    }
+
+    @Override
+    public Object renderJson(int position) {
+        text.setLength(0);
+        return service.get(position).render(text, StaffFormat.JSON);
+    }
+
+    @Override
+    public Object payrollTotals() {
+        return engine.run(service.payrollRoster());
+    }
+
+    @Override
+    public int scanLecturers() {
+        return scanCount(lecturers);
+    }
+
+    @Override
+    public int countLecturers() {
+        return service.count(lecturerQuery);
+    }
+
+    @Override
+    public int scanTerminated() {
+        return scanCount(terminated);
+    }
+
+    @Override
+    public int countTerminated() {
+        return service.count(terminatedQuery);
+    }
+
+    @Override
+    public Object recountTotals() {
+        return StaffTotals.count(staffList);
+    }
+
+    @Override
+    public Object runningTotals() {
+        return service.totals();
+    }
+
+    @Override
+    public boolean dateKeystroke() {
+        try {
+            return StaffValidation.isValidPartialDate(edited.set(dateField, 9, 0, "4"));
+        } catch (BadLocationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean isValidText(String text) {
+        return StaffValidation.isValidText(text);
+    }
+
+    @Override
+    public boolean isValidDecimal(String text) {
+        return StaffValidation.isValidDecimal(text);
+    }
+
+    @Override
+    public void recordLatency(long startNanos) {
+        metrics.record(StaffMetrics.Operation.SET_SALARY, startNanos);
+    }
+
+    @Override
+    public Object buildHeapRoster(int size) {
+        List<StaffHire> roster = new ArrayList<>();
+        SyntheticRoster.fill(roster, size);
+        return roster;
+    }
+
+    @Override
+    public Object buildColumnarRoster(int size) {
+        ColumnarStaffStore roster = new ColumnarStaffStore();
+        SyntheticRoster.fill(roster, size);
+        return roster;
+    }
+
+    @Override
+    public void setUpUpdates(int size, Path directory) throws IOException {
+        staffList = new ArrayList<>(size);
+        SyntheticRoster.fill(staffList, size);
+        if (directory != null) {
+            journal = new StaffJournal(directory, staffList);
+            journal.snapshot();  // Save the roster, so the journal only holds the changes
+        }
+        service = new RecruitmentService(staffList, journal);
+    }
+
+    @Override
+    public Object setSalary(int vacancyNumber, double salary) throws IOException {
+        return service.setSalary(vacancyNumber, salary);
+    }
+
+    @Override
+    public void closeUpdates() throws IOException {
+        service.close();
+    }
+
+    // Counts the staff matching a filter by checking each one in turn
+    private int scanCount(Predicate<StaffHire> filter) {
+        int count = 0;
+        int size = service.size();
+        for (int position = 0; position < size; position++) {
+            if (filter.test(service.get(position))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
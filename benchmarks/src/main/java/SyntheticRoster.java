@@ -0,0 +1,52 @@
+import java.util.List;                          // For List interface
+
+/**
+ * Synthetic rosters for the JMH benchmarks
+ * Staff alternate full-time and part-time, all joined, with letters-only names like
+ * names typed into the form, 2400 combinations. Every record gets its own string
+ * copies, the same as text typed into the form fields
+ */
+final class SyntheticRoster {
+    private static final String[] FIRST_NAMES = {"Aisha", "Ben", "Chloe", "Daniel", "Emma", "Farah", "George", "Hannah",
+        "Isaac", "Jade", "Kiran", "Laura", "Mohammed", "Nina", "Oliver", "Priya", "Quentin", "Rosa", "Samuel", "Tara",
+        "Usman", "Vera", "William", "Yasmin", "Zach", "Amir", "Bethany", "Callum", "Dina", "Ethan", "Fiona", "Gareth",
+        "Holly", "Imran", "Jack", "Katie", "Liam", "Megan", "Nathan", "Olivia"};
+    private static final String[] LAST_NAMES = {"Adams", "Baker", "Clarke", "Davies", "Evans", "Fisher", "Green", "Hughes",
+        "Iqbal", "Jones", "Khan", "Lewis", "Morgan", "Nolan", "Owen", "Patel", "Quinn", "Roberts", "Shah", "Taylor",
+        "Usher", "Vaughan", "Walker", "Young", "Ahmed", "Brown", "Campbell", "Dixon", "Edwards", "Foster", "Gill", "Hall",
+        "Ingram", "Jenkins", "Kaur", "Lloyd", "Mason", "Nash", "Osborne", "Price", "Reid", "Singh", "Thomas", "Turner",
+        "Vickers", "Ward", "Wilson", "Wright", "Ali", "Bell", "Cole", "Day", "Ellis", "Ford", "Grant", "Hill", "Jordan",
+        "King", "Lane", "Moore"};
+
+    private SyntheticRoster() {
+    }
+
+    /**
+     * Fills a list with count staff, with vacancy numbers from 0
+     * Even vacancy numbers are full-time, odd ones part-time
+     */
+    static void fill(List<StaffHire> list, int count) {
+        for (int i = 0; i < count; i++) {
+            String date = String.format("%02d/%02d/%d", i % 28 + 1, i % 12 + 1, 2020 + i % 5);
+            if (i % 2 == 0) {
+                list.add(new FullTimeStaffHire(i, copy("Lecturer"), copy("Teaching"), name(i), date,
+                    copy("Masters"), copy("Head of School"), true, 30000 + i % 1000, 37));
+            } else {
+                list.add(new PartTimeStaffHire(i, copy("Tutor"), copy("Teaching"), name(i), date,
+                    copy("Degree"), copy("Head of School"), true, 6, 13.5, copy("Morning")));
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the staff member at a position
+     */
+    static String name(int i) {
+        return FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    // Makes a new String object with the same characters
+    private static String copy(String text) {
+        return new String(text.toCharArray());
+    }
+}
@@ -0,0 +1,117 @@
+package staffhire.jmh;
+
+import java.io.IOException;                     // For errors writing or deleting the journal
+import java.nio.file.Files;                     // For the journal's temporary directory
+import java.nio.file.Path;                      // For file paths
+import java.util.List;                          // For List interface
+import java.util.concurrent.TimeUnit;           // For the time units of the results
+import java.util.stream.Collectors;             // For listing the journal's files
+import java.util.stream.Stream;                 // For listing the journal's files
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Salary changes from many threads at once
+ * Each thread changes the salaries of its own full-time staff, once through the
+ * service's striped locks and once with every call behind one lock, the way the
+ * service was locked before, so the two can be compared. Striped changes should
+ * scale with the cores until the shared roster lock becomes the limit, while the
+ * single lock stays flat. Both run with the roster only in memory and with every
+ * change saved to a StaffJournal in a temporary directory, as the application does.
+ * Runs on 4 threads; pass -t to compare other thread counts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentUpdateBenchmark {
+    private static final int SIZE = 100_000;
+
+    @Param({"false", "true"})
+    private boolean journal;
+
+    private final Object singleLock = new Object();
+    private HotPaths hotPaths;
+    private Path directory;             // The journal's temporary directory, null without a journal
+
+    /**
+     * The staff one thread changes: every thread count'th full-time staff member
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int first;
+        private int step;
+        private int next;
+        private long count;             // Changes made, for varying the salary
+
+        @Setup
+        public void setUp(ThreadParams thread) {
+            first = thread.getThreadIndex() * 2;  // Even vacancy numbers are full-time
+            step = thread.getThreadCount() * 2;
+            next = first;
+        }
+
+        int nextVacancy() {
+            int vacancy = next;
+            next += step;
+            if (next >= SIZE) {
+                next = first;
+            }
+            return vacancy;
+        }
+
+        double nextSalary() {
+            return 30000 + count++ % 1000;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException, IOException {
+        hotPaths = HotPaths.load();
+        directory = journal ? Files.createTempDirectory("staff-journal") : null;
+        hotPaths.setUpUpdates(SIZE, directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        hotPaths.closeUpdates();
+        if (directory != null) {
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Benchmark
+    public Object setSalaryStriped(Cursor cursor) throws IOException {
+        return hotPaths.setSalary(cursor.nextVacancy(), cursor.nextSalary());
+    }
+
+    @Benchmark
+    public Object setSalarySingleLock(Cursor cursor) throws IOException {
+        synchronized (singleLock) {
+            return hotPaths.setSalary(cursor.nextVacancy(), cursor.nextSalary());
+        }
+    }
+}
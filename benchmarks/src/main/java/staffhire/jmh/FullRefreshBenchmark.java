@@ -0,0 +1,43 @@
+package staffhire.jmh;
+
+import java.util.concurrent.TimeUnit;           // For the time units of the results
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the old refreshTable, which built a row for every staff member
+ * Stops at 1M, as the rows of a 10M roster do not fit in memory. Compare with
+ * RosterBenchmark.tableVisibleRows, which only builds the rows on screen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FullRefreshBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private HotPaths hotPaths;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        hotPaths = HotPaths.load();
+        hotPaths.setUp(size);
+    }
+
+    @Benchmark
+    public Object tableRefreshAllRows() {
+        return hotPaths.refreshAllRows();
+    }
+}
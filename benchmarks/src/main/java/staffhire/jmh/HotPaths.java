@@ -0,0 +1,66 @@
+package staffhire.jmh;
+
+import java.io.IOException;              // For errors writing the journal
+import java.nio.file.Path;               // For the journal's directory
+import org.openjdk.jmh.infra.Blackhole;  // For consuming every cell of the painted rows
+
+/**
+ * The recruitment hot paths, as called by the benchmarks
+ * The recruitment system is in the default package, which classes in a named
+ * package (as JMH requires of benchmarks) cannot refer to. JmhHotPaths, in the
+ * default package, implements this interface over the system's classes and is
+ * loaded by name, so the benchmarks only make one interface call per operation
+ */
+public interface HotPaths {
+    int VISIBLE_ROWS = 30;       // Rows on screen in the Staff List table
+    int SEARCH_RESULTS = 1000;   // Most search results the table shows
+
+    /**
+     * Loads the implementation in the default package
+     */
+    static HotPaths load() throws ReflectiveOperationException {
+        return (HotPaths) Class.forName("JmhHotPaths").getDeclaredConstructor().newInstance();
+    }
+
+    void setUp(int size);  // Builds a synthetic roster of size staff and the service over it
+
+    Object linearScan(int vacancyNumber);  // The old setSalaryFullTimeStaff lookup, scanning the whole list
+    Object findStaff(int vacancyNumber);   // The service's vacancy index
+
+    Object refreshAllRows();                         // The old refreshTable, building every row
+    void paintRows(int firstRow, Blackhole rows);    // Reads every cell on screen, as the table model paints them
+
+    Object search(String query);            // The search box, up to SEARCH_RESULTS staff
+    String syntheticName(int position);     // Full name of the staff member at a position of the roster
+
+    Object renderText(int position);        // display() of a staff member, into a reused buffer
+    Object renderJson(int position);        // The same details as JSON
+
+    Object payrollTotals();                 // A payroll run over the whole roster
+
+    int scanLecturers();                    // Counts full-time Lecturers by checking each staff member
+    int countLecturers();                   // The same through the bitmap indexes
+    int scanTerminated();                   // Counts terminated part-time staff by checking each staff member
+    int countTerminated();                  // The same through the bitmap indexes
+
+    Object recountTotals();                 // Dashboard headcounts and pay, counted from every staff member
+    Object runningTotals();                 // The same from the service's running totals
+
+    boolean dateKeystroke();                // The date field's check of the last keystroke of a date
+    boolean isValidText(String text);       // The text fields' check of pasted text
+    boolean isValidDecimal(String text);    // The decimal fields' check of pasted text
+    void recordLatency(long startNanos);    // StaffMetrics recording one operation's latency
+
+    Object buildHeapRoster(int size);       // A synthetic roster of size staff objects in an ArrayList
+    Object buildColumnarRoster(int size);   // The same roster in a ColumnarStaffStore
+
+    /**
+     * Builds a synthetic roster and the service over it for salary changes from many threads
+     *
+     * @param size      The number of staff, even vacancy numbers are full-time
+     * @param directory The directory to journal the changes in, or null to keep them only in memory
+     */
+    void setUpUpdates(int size, Path directory) throws IOException;
+    Object setSalary(int vacancyNumber, double salary) throws IOException;  // Through the service's striped locks
+    void closeUpdates() throws IOException;  // Closes the service and its journal
+}
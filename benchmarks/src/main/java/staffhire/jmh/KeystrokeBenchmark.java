@@ -0,0 +1,77 @@
+package staffhire.jmh;
+
+import java.util.concurrent.TimeUnit;           // For the time units of the results
+import javax.swing.text.BadLocationException;   // For the old keystroke check
+import javax.swing.text.PlainDocument;          // For a date field for the old keystroke check
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks that do not depend on the roster size
+ * The form's field checks, the date field's check of one keystroke and the text and
+ * decimal checks of a pasted block, each against the old regular expression checks
+ * in OldValidation, and the overhead StaffMetrics adds to each timed operation.
+ * Run with -prof gc to also see the bytes each check allocates
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeystrokeBenchmark {
+    private static final String PASTED_TEXT = "Senior Lecturer in Computer Science and Software Engineering ".repeat(16);
+    private static final String PASTED_DECIMAL = "1234567890".repeat(50) + ".25";
+
+    private final PlainDocument dateField = new PlainDocument();  // All but the last digit typed, as in HotPaths
+    private HotPaths hotPaths;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException, BadLocationException {
+        hotPaths = HotPaths.load();
+        dateField.insertString(0, "01/02/202", null);
+    }
+
+    @Benchmark
+    public boolean validationDateKeystroke() {
+        return hotPaths.dateKeystroke();
+    }
+
+    @Benchmark
+    public boolean validationDateKeystrokeOld() throws BadLocationException {
+        return OldValidation.dateKeystroke(dateField, "4");
+    }
+
+    @Benchmark
+    public boolean validationPastedText() {
+        return hotPaths.isValidText(PASTED_TEXT);
+    }
+
+    @Benchmark
+    public boolean validationPastedTextOld() {
+        return OldValidation.isValidText(PASTED_TEXT);
+    }
+
+    @Benchmark
+    public boolean validationPastedDecimal() {
+        return hotPaths.isValidDecimal(PASTED_DECIMAL);
+    }
+
+    @Benchmark
+    public boolean validationPastedDecimalOld() {
+        return OldValidation.isValidDecimal(PASTED_DECIMAL);
+    }
+
+    @Benchmark
+    public void metricsRecord() {
+        hotPaths.recordLatency(System.nanoTime());
+    }
+}
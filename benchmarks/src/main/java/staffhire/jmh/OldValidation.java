@@ -0,0 +1,55 @@
+package staffhire.jmh;
+
+import java.text.ParseException;                // For the old date check
+import java.text.SimpleDateFormat;              // For the old date check
+import java.util.regex.Pattern;                 // For the old field checks
+import javax.swing.text.BadLocationException;   // For reading the field
+import javax.swing.text.PlainDocument;          // For a document like the form's fields
+
+/**
+ * The form's field checks as they were before StaffValidation scanned characters
+ * The DocumentFilters rebuilt the whole field text for every keystroke and matched it
+ * against regular expressions, and a complete date was parsed with a new SimpleDateFormat.
+ * Kept here only so the benchmarks can compare against them
+ */
+final class OldValidation {
+    private static final Pattern TEXT = Pattern.compile("[a-zA-Z\\s]*");
+    private static final Pattern DECIMAL = Pattern.compile("\\d*\\.?\\d*");
+    private static final Pattern PARTIAL_DATE = Pattern.compile("([0-9]{0,2}/)?([0-9]{0,2}/)?([0-9]{0,4})");
+
+    private OldValidation() {
+    }
+
+    static boolean isValidText(String text) {
+        return TEXT.matcher(text).matches();
+    }
+
+    static boolean isValidDecimal(String text) {
+        return DECIMAL.matcher(text).matches();
+    }
+
+    /**
+     * Checks a keystroke typed at the end of a date field, the way the old date filter did
+     */
+    static boolean dateKeystroke(PlainDocument field, String key) throws BadLocationException {
+        String currentText = field.getText(0, field.getLength());
+        String resultingText = new StringBuilder(currentText).insert(currentText.length(), key).toString();
+        return PARTIAL_DATE.matcher(resultingText).matches()
+            && (resultingText.length() < 10 || isValidDate(resultingText));
+    }
+
+    // The old complete date check
+    private static boolean isValidDate(String dateStr) {
+        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
+        sdf.setLenient(false);
+        try {
+            sdf.parse(dateStr);
+            String[] parts = dateStr.split("/");
+            int day = Integer.parseInt(parts[0]);
+            int month = Integer.parseInt(parts[1]);
+            return day >= 1 && day <= 31 && month >= 1 && month <= 12;
+        } catch (ParseException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+}
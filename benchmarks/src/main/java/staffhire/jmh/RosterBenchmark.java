@@ -0,0 +1,128 @@
+package staffhire.jmh;
+
+import java.util.concurrent.TimeUnit;           // For the time units of the results
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the recruitment hot paths at roster sizes from 1K to 10M
+ * Covers vacancy lookup (the old linear scan and the service's index), table rows
+ * on screen when jumping and scrolling, search-as-you-type, staff rendering, payroll
+ * totals, staff type filters (checking each staff member against the bitmap indexes)
+ * and dashboard totals (a full recount against the running totals).
+ * Operations that pick a staff member spread their picks over the whole roster
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RosterBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private HotPaths hotPaths;
+    private long next;  // Counts operations, for picking different staff each time
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        hotPaths = HotPaths.load();
+        hotPaths.setUp(size);
+    }
+
+    // Picks a staff member, spread over the roster
+    private int pick(int range) {
+        return (int) ((next++ * 2654435761L) % range);
+    }
+
+    @Benchmark
+    public Object lookupLinearScan() {
+        return hotPaths.linearScan(pick(size));
+    }
+
+    @Benchmark
+    public Object lookupIndex() {
+        return hotPaths.findStaff(pick(size));
+    }
+
+    @Benchmark
+    public void tableVisibleRows(Blackhole rows) {
+        hotPaths.paintRows(pick(Math.max(1, size - HotPaths.VISIBLE_ROWS)), rows);
+    }
+
+    @Benchmark
+    public void tableScroll(Blackhole rows) {
+        hotPaths.paintRows((int) ((next++ * 3) % Math.max(1, size - HotPaths.VISIBLE_ROWS)), rows);  // Three rows a mouse wheel step
+    }
+
+    @Benchmark
+    public Object searchPrefix() {
+        return hotPaths.search("lect");
+    }
+
+    @Benchmark
+    public Object searchName() {
+        return hotPaths.search(hotPaths.syntheticName(pick(size)));
+    }
+
+    @Benchmark
+    public Object searchNoMatch() {
+        return hotPaths.search("tutor masters");  // Two frequent words that never occur together
+    }
+
+    @Benchmark
+    public Object renderText() {
+        return hotPaths.renderText(pick(size));
+    }
+
+    @Benchmark
+    public Object renderJson() {
+        return hotPaths.renderJson(pick(size));
+    }
+
+    @Benchmark
+    public Object payrollTotals() {
+        return hotPaths.payrollTotals();
+    }
+
+    @Benchmark
+    public int filterScan() {
+        return hotPaths.scanLecturers();
+    }
+
+    @Benchmark
+    public int filterBitmap() {
+        return hotPaths.countLecturers();
+    }
+
+    @Benchmark
+    public int filterScanTerminated() {
+        return hotPaths.scanTerminated();
+    }
+
+    @Benchmark
+    public int filterBitmapTerminated() {
+        return hotPaths.countTerminated();
+    }
+
+    @Benchmark
+    public Object dashboardRecount() {
+        return hotPaths.recountTotals();
+    }
+
+    @Benchmark
+    public Object dashboardTotals() {
+        return hotPaths.runningTotals();
+    }
+}
@@ -0,0 +1,98 @@
+package staffhire.jmh;
+
+import java.lang.management.BufferPoolMXBean;   // For measuring off-heap buffer memory
+import java.lang.management.ManagementFactory;  // For looking up the buffer pools
+import java.util.concurrent.TimeUnit;           // For the time units of the results
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Memory kept by a roster of staff objects in an ArrayList and by the same roster in
+ * the ColumnarStaffStore
+ * Each run builds a roster and reports the heap and off-heap bytes it keeps, measured
+ * after garbage collections, as the heapBytes and offHeapBytes counters. The time
+ * includes those collections, so only the counters are worth comparing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)  // The counters add up over iterations, so one gives the bytes of one roster
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RosterMemoryBenchmark {
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private HotPaths hotPaths;
+
+    /**
+     * Memory kept by the roster built in the run
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long heapBytes;
+        public long offHeapBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapBytes = 0;
+            offHeapBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        hotPaths = HotPaths.load();
+    }
+
+    @Benchmark
+    public Object heapRoster(Footprint footprint) {
+        long heapBefore = usedHeap();
+        long offHeapBefore = usedOffHeap();
+        Object roster = hotPaths.buildHeapRoster(size);
+        footprint.heapBytes = usedHeap() - heapBefore;
+        footprint.offHeapBytes = usedOffHeap() - offHeapBefore;
+        return roster;
+    }
+
+    @Benchmark
+    public Object columnarRoster(Footprint footprint) {
+        long heapBefore = usedHeap();
+        long offHeapBefore = usedOffHeap();
+        Object roster = hotPaths.buildColumnarRoster(size);
+        footprint.heapBytes = usedHeap() - heapBefore;
+        footprint.offHeapBytes = usedOffHeap() - offHeapBefore;
+        return roster;
+    }
+
+    // Heap memory in use after garbage collections
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Memory used by direct (off-heap) byte buffers
+    private static long usedOffHeap() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+}